@@ -0,0 +1,209 @@
+package com.eventflow.contracts;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary wire format for the registered events, selected per record by the
+ * {@value #CONTENT_TYPE_HEADER} header. Encoding and decoding follow each type's
+ * {@link EventType#fields()}, so a new field needs no codec change. Layout, big-endian:
+ *
+ * <pre>
+ * byte    format version (2)
+ * byte    event tag            {@link EventType#tag()}
+ * byte    schema version       {@link EventType#version()} of the writer
+ * varint  body length          unsigned
+ * body    fields in registry order, each as documented on {@link EventField.Kind}
+ * </pre>
+ *
+ * A reader decodes the fields it knows, up to the writer's schema version, and skips the rest of
+ * the body, so producers can add fields before every consumer is upgraded. Fields the writer's
+ * version predates decode as {@code null}.
+ *
+ * <p>Format 1, written by earlier releases, had no schema version or body length: its body is
+ * the version 1 fields and runs to the end of the record. It is always read, and written on
+ * request, so producers can keep writing it until every consumer reads format 2. Fields added
+ * after version 1 cannot be carried in it and are dropped.
+ */
+public final class BinaryEventCodec {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String BINARY_CONTENT_TYPE = "application/x-eventflow-binary";
+    public static final byte FORMAT_VERSION = 2;
+    public static final byte LEGACY_FORMAT_VERSION = 1;
+
+    private BinaryEventCodec() {}
+
+    public static byte[] encode(Object event) {
+        return encode(event, FORMAT_VERSION);
+    }
+
+    /** Encodes in {@link #FORMAT_VERSION} or {@link #LEGACY_FORMAT_VERSION}. */
+    public static byte[] encode(Object event, int format) {
+        if (format != FORMAT_VERSION && format != LEGACY_FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported binary event format version: " + format);
+        }
+        return encode(EventRegistry.typeOf(event), event, format);
+    }
+
+    public static OrderEvent decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte format = buffer.get();
+        if (format == LEGACY_FORMAT_VERSION) {
+            return decodeBody(EventRegistry.byTag(buffer.get()), 1, buffer);
+        }
+        if (format != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported binary event format version: " + format);
+        }
+        EventType<?> type = EventRegistry.byTag(buffer.get());
+        int version = Byte.toUnsignedInt(buffer.get());
+        int length = getVarint(buffer);
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("Truncated " + type.typeId() + " record: body of " + length
+                    + " bytes, " + buffer.remaining() + " present");
+        }
+        return decodeBody(type, version, buffer.limit(buffer.position() + length));
+    }
+
+    // Strings are encoded once, for both sizing and writing; other values are written as read.
+    // Format 1 carries only the version 1 fields.
+    @SuppressWarnings("unchecked")
+    private static <E extends OrderEvent> byte[] encode(EventType<E> type, Object event, int format) {
+        boolean legacy = format == LEGACY_FORMAT_VERSION;
+        int version = legacy ? 1 : type.version();
+        List<EventField<E>> fields = legacy
+                ? type.fields().stream().filter(field -> field.since() <= version).toList()
+                : type.fields();
+        Object[] values = new Object[fields.size()];
+        int bodySize = 0;
+        for (int i = 0; i < values.length; i++) {
+            EventField<E> field = fields.get(i);
+            Object value = field.getter().apply((E) event);
+            if (value == null) {
+                throw new IllegalArgumentException(type.typeId() + "." + field.name() + " must not be null");
+            }
+            if (field.kind() == EventField.Kind.STRING) {
+                value = ((String) value).getBytes(StandardCharsets.UTF_8);
+            }
+            values[i] = value;
+            bodySize += size(field.kind(), value);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((legacy ? 2 : 3 + varintSize(bodySize)) + bodySize);
+        buffer.put((byte) format);
+        buffer.put(type.tag());
+        if (!legacy) {
+            buffer.put((byte) version);
+            putVarint(buffer, bodySize);
+        }
+        for (int i = 0; i < values.length; i++) {
+            put(buffer, fields.get(i), values[i]);
+        }
+        return buffer.array();
+    }
+
+    // Fields past the reader's schema version, up to the buffer's limit, are left unread
+    private static <E extends OrderEvent> E decodeBody(EventType<E> type, int version, ByteBuffer buffer) {
+        List<EventField<E>> fields = type.fields();
+        Object[] values = new Object[fields.size()];
+        for (int i = 0; i < values.length && fields.get(i).since() <= version; i++) {
+            values[i] = get(buffer, fields.get(i).kind());
+        }
+        return type.create(values);
+    }
+
+    private static int size(EventField.Kind kind, Object value) {
+        return switch (kind) {
+            case UUID -> 16;
+            case STRING -> {
+                int length = ((byte[]) value).length;
+                yield varintSize(length) + length;
+            }
+            case INT -> 4;
+            case DECIMAL -> 8 + 1;
+            case INSTANT -> 8 + 4;
+        };
+    }
+
+    private static void put(ByteBuffer buffer, EventField<?> field, Object value) {
+        switch (field.kind()) {
+            case UUID -> {
+                UUID uuid = (UUID) value;
+                buffer.putLong(uuid.getMostSignificantBits());
+                buffer.putLong(uuid.getLeastSignificantBits());
+            }
+            case STRING -> {
+                byte[] bytes = (byte[]) value;
+                putVarint(buffer, bytes.length);
+                buffer.put(bytes);
+            }
+            case INT -> buffer.putInt((Integer) value);
+            case DECIMAL -> {
+                BigDecimal decimal = (BigDecimal) value;
+                if (decimal.scale() < 0 || decimal.scale() > Byte.MAX_VALUE) {
+                    throw new IllegalArgumentException(field.name() + " scale out of range: " + decimal);
+                }
+                BigInteger unscaled = decimal.unscaledValue();
+                if (unscaled.bitLength() > 63) {
+                    throw new IllegalArgumentException(field.name() + " does not fit in a long: " + decimal);
+                }
+                buffer.putLong(unscaled.longValue());
+                buffer.put((byte) decimal.scale());
+            }
+            case INSTANT -> {
+                Instant instant = (Instant) value;
+                buffer.putLong(instant.getEpochSecond());
+                buffer.putInt(instant.getNano());
+            }
+        }
+    }
+
+    private static Object get(ByteBuffer buffer, EventField.Kind kind) {
+        return switch (kind) {
+            case UUID -> new UUID(buffer.getLong(), buffer.getLong());
+            case STRING -> {
+                int length = getVarint(buffer);
+                String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                        StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+                yield value;
+            }
+            case INT -> buffer.getInt();
+            case DECIMAL -> BigDecimal.valueOf(buffer.getLong(), buffer.get());
+            case INSTANT -> Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        };
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
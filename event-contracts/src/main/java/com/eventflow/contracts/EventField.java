@@ -0,0 +1,58 @@
+package com.eventflow.contracts;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * One field of an event type's binary body, named after the record component it reads.
+ * {@code since} is the schema version that added it.
+ *
+ * <p>Fields are only ever appended, with a {@code since} above every existing field, and must be
+ * reference types: a reader decoding an older payload gets {@code null} for fields it lacks, and
+ * a reader that predates a field skips it. Removing, renaming, reordering or retyping a field
+ * breaks consumers still on the previous release; {@code EventSchemaCompatibilityTest} fails on
+ * any of these.
+ */
+public record EventField<E>(String name, Kind kind, int since, Function<E, ?> getter) {
+
+    public enum Kind {
+        /** 16 bytes, most then least significant bits. */
+        UUID,
+        /** Unsigned varint length, then UTF-8 bytes. */
+        STRING,
+        /** 4 bytes. */
+        INT,
+        /** 8-byte unscaled value, then a 1-byte scale. */
+        DECIMAL,
+        /** 8-byte epoch seconds, then 4-byte nanos. */
+        INSTANT
+    }
+
+    public EventField {
+        if (since < 1) {
+            throw new IllegalArgumentException("Field " + name + " must have a schema version of at least 1");
+        }
+    }
+
+    public static <E> EventField<E> uuid(String name, int since, Function<E, UUID> getter) {
+        return new EventField<>(name, Kind.UUID, since, getter);
+    }
+
+    public static <E> EventField<E> string(String name, int since, Function<E, String> getter) {
+        return new EventField<>(name, Kind.STRING, since, getter);
+    }
+
+    public static <E> EventField<E> integer(String name, int since, Function<E, Integer> getter) {
+        return new EventField<>(name, Kind.INT, since, getter);
+    }
+
+    public static <E> EventField<E> decimal(String name, int since, Function<E, BigDecimal> getter) {
+        return new EventField<>(name, Kind.DECIMAL, since, getter);
+    }
+
+    public static <E> EventField<E> instant(String name, int since, Function<E, Instant> getter) {
+        return new EventField<>(name, Kind.INSTANT, since, getter);
+    }
+}
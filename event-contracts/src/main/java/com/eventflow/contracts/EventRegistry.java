@@ -0,0 +1,104 @@
+package com.eventflow.contracts;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Every event type published on the {@code orders} topic. Type ids and tags are part of the
+ * wire format and never change or get reused; a new type gets the next tag.
+ */
+public final class EventRegistry {
+
+    public static final EventType<OrderPlacedEvent> ORDER_PLACED = new EventType<>(
+            "orderPlaced", (byte) 1, OrderPlacedEvent.class,
+            List.of(
+                    EventField.uuid("orderId", 1, OrderPlacedEvent::orderId),
+                    EventField.string("customerEmail", 1, OrderPlacedEvent::customerEmail),
+                    EventField.string("productName", 1, OrderPlacedEvent::productName),
+                    EventField.integer("quantity", 1, OrderPlacedEvent::quantity),
+                    EventField.decimal("totalPrice", 1, OrderPlacedEvent::totalPrice),
+                    EventField.instant("occurredAt", 1, OrderPlacedEvent::occurredAt)),
+            values -> new OrderPlacedEvent((UUID) values[0], (String) values[1], (String) values[2],
+                    (Integer) values[3], (BigDecimal) values[4], (Instant) values[5]));
+
+    public static final EventType<OrderCancelledEvent> ORDER_CANCELLED = new EventType<>(
+            "orderCancelled", (byte) 2, OrderCancelledEvent.class,
+            List.of(
+                    EventField.uuid("orderId", 1, OrderCancelledEvent::orderId),
+                    EventField.string("customerEmail", 1, OrderCancelledEvent::customerEmail),
+                    EventField.string("productName", 1, OrderCancelledEvent::productName),
+                    EventField.instant("occurredAt", 1, OrderCancelledEvent::occurredAt)),
+            values -> new OrderCancelledEvent((UUID) values[0], (String) values[1], (String) values[2],
+                    (Instant) values[3]));
+
+    private static final List<EventType<?>> ALL = List.of(ORDER_PLACED, ORDER_CANCELLED);
+
+    private static final Map<String, EventType<?>> BY_TYPE_ID = ALL.stream()
+            .collect(Collectors.toUnmodifiableMap(EventType::typeId, Function.identity()));
+
+    // Indexed by tag; tags are small and dense
+    private static final EventType<?>[] BY_TAG =
+            new EventType<?>[ALL.stream().mapToInt(EventType::tag).max().orElse(0) + 1];
+
+    static {
+        for (EventType<?> type : ALL) {
+            if (BY_TAG[type.tag()] != null) {
+                throw new IllegalStateException("Duplicate event tag " + type.tag());
+            }
+            BY_TAG[type.tag()] = type;
+        }
+    }
+
+    private EventRegistry() {}
+
+    public static List<EventType<?>> all() {
+        return ALL;
+    }
+
+    public static EventType<?> byTypeId(String typeId) {
+        EventType<?> type = BY_TYPE_ID.get(typeId);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown event type: " + typeId);
+        }
+        return type;
+    }
+
+    public static EventType<?> byTag(byte tag) {
+        EventType<?> type = tag > 0 && tag < BY_TAG.length ? BY_TAG[tag] : null;
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown binary event type: " + tag);
+        }
+        return type;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E extends OrderEvent> EventType<E> of(E event) {
+        return (EventType<E>) switch (event) {
+            case OrderPlacedEvent ignored -> ORDER_PLACED;
+            case OrderCancelledEvent ignored -> ORDER_CANCELLED;
+        };
+    }
+
+    /** The type of a value typed {@code Object}, as the outbox and the Kafka serializers hold it. */
+    public static EventType<?> typeOf(Object event) {
+        if (event instanceof OrderEvent orderEvent) {
+            return of(orderEvent);
+        }
+        throw new IllegalArgumentException("Unsupported event type: " + event.getClass().getName());
+    }
+
+    /**
+     * The {@code spring.json.type.mapping} value for the registered types, e.g.
+     * {@code orderPlaced:com.eventflow.contracts.OrderPlacedEvent,...}.
+     */
+    public static String typeMappings() {
+        return ALL.stream()
+                .map(type -> type.typeId() + ":" + type.javaType().getName())
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,43 @@
+package com.eventflow.contracts;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A registered event type: the token that names it in JSON type headers and the outbox, the tag
+ * that names it in binary records, and the fields {@link BinaryEventCodec} writes, in order.
+ * {@code factory} receives the field values in the same order, {@code null} for fields the
+ * payload's schema version predates.
+ */
+public record EventType<E extends OrderEvent>(String typeId,
+                                              byte tag,
+                                              Class<E> javaType,
+                                              List<EventField<E>> fields,
+                                              Function<Object[], E> factory) {
+
+    public EventType {
+        fields = List.copyOf(fields);
+        int previous = 1;
+        for (EventField<E> field : fields) {
+            if (field.since() < previous) {
+                throw new IllegalArgumentException(typeId + "." + field.name()
+                        + " is listed after a field added in a later schema version");
+            }
+            previous = field.since();
+        }
+    }
+
+    /** The schema version this release writes: the newest version any field was added in. */
+    public int version() {
+        return fields.get(fields.size() - 1).since();
+    }
+
+    public E create(Object[] values) {
+        return factory.apply(values);
+    }
+
+    @Override
+    public String toString() {
+        return typeId;
+    }
+}
@@ -1,14 +1,15 @@
-package com.eventflow.orderservice.event;
+package com.eventflow.contracts;
 
 import java.time.Instant;
 import java.util.UUID;
 
+// Components are mirrored by EventRegistry.ORDER_CANCELLED; see EventField before adding one
 public record OrderCancelledEvent(
         UUID orderId,
         String customerEmail,
         String productName,
         Instant occurredAt
-) {
+) implements OrderEvent {
     public static OrderCancelledEvent of(UUID orderId, String customerEmail, String productName) {
         return new OrderCancelledEvent(orderId, customerEmail, productName, Instant.now());
     }
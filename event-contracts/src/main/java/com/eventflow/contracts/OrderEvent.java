@@ -0,0 +1,14 @@
+package com.eventflow.contracts;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** What every order event carries; lets a switch over the events be checked for exhaustiveness. */
+public sealed interface OrderEvent permits OrderPlacedEvent, OrderCancelledEvent {
+
+    UUID orderId();
+
+    String customerEmail();
+
+    Instant occurredAt();
+}
@@ -1,9 +1,10 @@
-package com.eventflow.orderservice.event;
+package com.eventflow.contracts;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
+// Components are mirrored by EventRegistry.ORDER_PLACED; see EventField before adding one
 public record OrderPlacedEvent(
         UUID orderId,
         String customerEmail,
@@ -11,7 +12,7 @@ public record OrderPlacedEvent(
         Integer quantity,
         BigDecimal totalPrice,
         Instant occurredAt
-) {
+) implements OrderEvent {
     public static OrderPlacedEvent of(UUID orderId, String customerEmail,
                                       String productName, Integer quantity,
                                       BigDecimal totalPrice) {
@@ -0,0 +1,33 @@
+package com.eventflow.contracts;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered ids (RFC 9562 version 7): 48 bits of Unix milliseconds, a 12-bit counter, then 62
+ * random bits. New ids land at the right edge of a B-tree index instead of on a random leaf, so
+ * inserts touch few pages and leaves fill before they split.
+ *
+ * <p>Ids from one JVM are strictly increasing: within a millisecond the counter advances, and
+ * when it overflows the timestamp is borrowed one millisecond ahead.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // Unix millis << 12 | counter, of the last id handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {}
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long stamp = LAST.updateAndGet(last -> Math.max(now, last + 1));
+
+        long millis = stamp >>> 12;
+        long counter = stamp & 0xFFF;
+        long msb = (millis << 16) | 0x7000L | counter;
+        long lsb = (RANDOM.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+}
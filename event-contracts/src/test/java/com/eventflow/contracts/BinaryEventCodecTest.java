@@ -0,0 +1,109 @@
+package com.eventflow.contracts;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BinaryEventCodecTest {
+
+    @Test
+    void roundTrip_orderPlaced_preservesEveryField() {
+        OrderPlacedEvent event = new OrderPlacedEvent(UUID.randomUUID(), "älice@example.com", "Mechanical Keyboard",
+                3, new BigDecimal("1299.95"), Instant.parse("2026-02-21T10:00:00.123456789Z"));
+
+        assertThat(BinaryEventCodec.decode(BinaryEventCodec.encode(event))).isEqualTo(event);
+    }
+
+    @Test
+    void roundTrip_orderCancelled_preservesEveryField() {
+        OrderCancelledEvent event = OrderCancelledEvent.of(UUID.randomUUID(), "bob@example.com", "Phone");
+
+        assertThat(BinaryEventCodec.decode(BinaryEventCodec.encode(event))).isEqualTo(event);
+    }
+
+    @Test
+    void roundTrip_legacyFormat_preservesVersionOneFields() {
+        OrderPlacedEvent event = OrderPlacedEvent.of(UUID.randomUUID(), "alice@example.com", "Laptop",
+                1, new BigDecimal("999.99"));
+        byte[] data = BinaryEventCodec.encode(event, BinaryEventCodec.LEGACY_FORMAT_VERSION);
+
+        assertThat(data[0]).isEqualTo(BinaryEventCodec.LEGACY_FORMAT_VERSION);
+        assertThat(BinaryEventCodec.decode(data)).isEqualTo(event);
+    }
+
+    @Test
+    void encode_unknownFormatVersion_isRejected() {
+        OrderCancelledEvent event = OrderCancelledEvent.of(UUID.randomUUID(), "bob@example.com", "Phone");
+
+        assertThatThrownBy(() -> BinaryEventCodec.encode(event, 3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("format version");
+    }
+
+    @Test
+    void encode_longString_usesMultiByteLength() {
+        OrderCancelledEvent event = OrderCancelledEvent.of(UUID.randomUUID(), "bob@example.com", "x".repeat(300));
+
+        assertThat(BinaryEventCodec.decode(BinaryEventCodec.encode(event))).isEqualTo(event);
+    }
+
+    @Test
+    void encode_isMuchSmallerThanJson() throws Exception {
+        OrderPlacedEvent event = OrderPlacedEvent.of(UUID.randomUUID(), "alice@example.com", "Laptop",
+                1, new BigDecimal("999.99"));
+        byte[] json = JsonMapper.builder().addModule(new JavaTimeModule()).build().writeValueAsBytes(event);
+
+        assertThat(BinaryEventCodec.encode(event).length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    void encode_nullField_isRejected() {
+        OrderCancelledEvent event = new OrderCancelledEvent(UUID.randomUUID(), null, "Phone", Instant.now());
+
+        assertThatThrownBy(() -> BinaryEventCodec.encode(event))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("orderCancelled.customerEmail");
+    }
+
+    @Test
+    void decode_unknownFormatVersion_isRejected() {
+        byte[] data = BinaryEventCodec.encode(OrderCancelledEvent.of(UUID.randomUUID(), "a@b.c", "X"));
+        data[0] = 99;
+
+        assertThatThrownBy(() -> BinaryEventCodec.decode(data))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("format version");
+    }
+
+    @Test
+    void decode_truncatedBody_isRejected() {
+        byte[] data = BinaryEventCodec.encode(OrderCancelledEvent.of(UUID.randomUUID(), "a@b.c", "X"));
+        byte[] truncated = Arrays.copyOf(data, data.length - 4);
+
+        assertThatThrownBy(() -> BinaryEventCodec.decode(truncated))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void decode_recordFromNewerSchema_skipsFieldsItDoesNotKnow() {
+        OrderCancelledEvent event = OrderCancelledEvent.of(UUID.randomUUID(), "bob@example.com", "Phone");
+        byte[] current = BinaryEventCodec.encode(event);
+        // A later release appended a string field and bumped the schema version
+        byte[] extra = {5, 'r', 'e', 'f', 'u', 'n'};
+        int bodyLength = current.length - 4;
+        ByteBuffer newer = ByteBuffer.allocate(current.length + extra.length)
+                .put(current[0]).put(current[1]).put((byte) (current[2] + 1)).put((byte) (bodyLength + extra.length))
+                .put(current, 4, bodyLength).put(extra);
+
+        assertThat(BinaryEventCodec.decode(newer.array())).isEqualTo(event);
+    }
+}
@@ -0,0 +1,46 @@
+package com.eventflow.contracts;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EventRegistryTest {
+
+    @Test
+    void lookups_findEveryRegisteredType() {
+        for (EventType<?> type : EventRegistry.all()) {
+            assertThat(EventRegistry.byTypeId(type.typeId())).isSameAs(type);
+            assertThat(EventRegistry.byTag(type.tag())).isSameAs(type);
+        }
+        assertThat(EventRegistry.typeOf(OrderCancelledEvent.of(UUID.randomUUID(), "a@b.c", "X")))
+                .isSameAs(EventRegistry.ORDER_CANCELLED);
+    }
+
+    @Test
+    void unknownTypes_areRejected() {
+        assertThatThrownBy(() -> EventRegistry.byTypeId("orderShipped")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EventRegistry.byTag((byte) 99)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EventRegistry.typeOf("not an event")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void typeMappings_listEveryTypeIdWithItsClass() {
+        assertThat(EventRegistry.typeMappings()).isEqualTo(
+                "orderPlaced:com.eventflow.contracts.OrderPlacedEvent,"
+                        + "orderCancelled:com.eventflow.contracts.OrderCancelledEvent");
+    }
+
+    @Test
+    void create_passesFieldValuesInRegistryOrder() {
+        UUID orderId = UUID.randomUUID();
+        OrderPlacedEvent event = OrderPlacedEvent.of(orderId, "alice@example.com", "Laptop", 2, new BigDecimal("999.99"));
+        Object[] values = EventRegistry.ORDER_PLACED.fields().stream()
+                .map(field -> field.getter().apply(event))
+                .toArray();
+
+        assertThat(EventRegistry.ORDER_PLACED.create(values)).isEqualTo(event);
+    }
+}
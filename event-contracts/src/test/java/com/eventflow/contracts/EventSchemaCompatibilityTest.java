@@ -0,0 +1,171 @@
+package com.eventflow.contracts;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Keeps the contracts readable by the releases on either side of this one.
+ *
+ * <p>{@code contracts/schemas/<typeId>.schema} records every field ever shipped; the registry may
+ * only append to it. {@code contracts/samples/<typeId>-v<n>.*} are payloads as each schema
+ * version wrote them, JSON and binary, and must keep decoding. When adding a field, append it to
+ * the schema file with the new version and add the samples for that version.
+ */
+class EventSchemaCompatibilityTest {
+
+    private static final UUID ORDER_ID = UUID.fromString("3fa85f64-5717-4562-b3fc-2c963f66afa6");
+
+    // What every sample holds, in the fields its version has
+    private static final Map<String, OrderEvent> SAMPLE_VALUES = Map.of(
+            "orderPlaced", new OrderPlacedEvent(ORDER_ID, "alice@example.com", "Laptop", 2,
+                    new BigDecimal("999.99"), Instant.parse("2026-02-21T10:00:00Z")),
+            "orderCancelled", new OrderCancelledEvent(ORDER_ID, "alice@example.com", "Laptop",
+                    Instant.parse("2026-02-21T10:05:00Z")));
+
+    // Configured like spring-kafka's JsonDeserializer
+    private static final ObjectMapper JSON = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    static Stream<EventType<?>> types() {
+        return EventRegistry.all().stream();
+    }
+
+    static Stream<Arguments> samples() {
+        return types().flatMap(type -> IntStream.rangeClosed(1, type.version())
+                .mapToObj(version -> Arguments.of(type, version)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("types")
+    void registry_onlyAppendsToTheRecordedSchema(EventType<?> type) {
+        List<String> recorded = resource("schemas/" + type.typeId() + ".schema").lines()
+                .filter(line -> !line.isBlank() && !line.startsWith("#"))
+                .toList();
+        List<String> current = type.fields().stream()
+                .map(field -> field.since() + " " + field.name() + " " + field.kind())
+                .toList();
+
+        assertThat(current)
+                .as("%s fields must start with every recorded field, unchanged and in order", type.typeId())
+                .startsWith(recorded.toArray(String[]::new));
+        assertThat(current)
+                .as("New %s fields must be appended to schemas/%s.schema", type.typeId(), type.typeId())
+                .hasSameSizeAs(recorded);
+    }
+
+    @ParameterizedTest
+    @MethodSource("types")
+    void registry_coversEveryRecordComponentInOrder(EventType<?> type) {
+        List<String> components = Arrays.stream(type.javaType().getRecordComponents())
+                .map(RecordComponent::getName)
+                .toList();
+
+        assertThat(type.fields()).extracting(EventField::name).containsExactlyElementsOf(components);
+        assertThat(Arrays.stream(type.javaType().getRecordComponents()).map(RecordComponent::getType))
+                .as("Fields decode as null from older payloads, so they cannot be primitives")
+                .noneMatch(Class::isPrimitive);
+    }
+
+    @Test
+    void registry_typeIdsAndTagsAreUnique() {
+        assertThat(EventRegistry.all()).extracting(EventType::typeId).doesNotHaveDuplicates();
+        assertThat(EventRegistry.all()).extracting(EventType::tag).doesNotHaveDuplicates();
+    }
+
+    @ParameterizedTest(name = "{0} v{1}")
+    @MethodSource("samples")
+    void binarySample_decodes(EventType<?> type, int version) {
+        byte[] data = HexFormat.of().parseHex(resource("samples/" + type.typeId() + "-v" + version + ".hex").strip());
+
+        assertMatchesSample(type, version, BinaryEventCodec.decode(data));
+    }
+
+    @ParameterizedTest
+    @MethodSource("types")
+    void binarySample_writtenBeforeSchemaVersions_decodes(EventType<?> type) {
+        byte[] data = HexFormat.of().parseHex(resource("samples/" + type.typeId() + "-v1.format1.hex").strip());
+
+        assertMatchesSample(type, 1, BinaryEventCodec.decode(data));
+    }
+
+    @ParameterizedTest
+    @MethodSource("types")
+    void binarySample_writtenBeforeSchemaVersions_isWrittenAgainByteForByte(EventType<?> type) {
+        byte[] data = HexFormat.of().parseHex(resource("samples/" + type.typeId() + "-v1.format1.hex").strip());
+
+        assertThat(BinaryEventCodec.encode(BinaryEventCodec.decode(data), BinaryEventCodec.LEGACY_FORMAT_VERSION))
+                .isEqualTo(data);
+    }
+
+    @ParameterizedTest(name = "{0} v{1}")
+    @MethodSource("samples")
+    void jsonSample_decodes(EventType<?> type, int version) throws IOException {
+        String json = resource("samples/" + type.typeId() + "-v" + version + ".json");
+
+        assertMatchesSample(type, version, JSON.readValue(json, type.javaType()));
+    }
+
+    @Test
+    void json_fromNewerSchema_ignoresFieldsItDoesNotKnow() throws IOException {
+        String json = """
+                {"orderId":"3fa85f64-5717-4562-b3fc-2c963f66afa6","customerEmail":"alice@example.com",\
+                "productName":"Laptop","quantity":2,"totalPrice":999.99,"occurredAt":"2026-02-21T10:00:00Z",\
+                "lineItems":[{"sku":"LAP-13","quantity":2}]}""";
+
+        assertThat(JSON.readValue(json, OrderPlacedEvent.class)).isEqualTo(SAMPLE_VALUES.get("orderPlaced"));
+    }
+
+    // Fields up to `version` equal the sample values, later ones are null
+    private static void assertMatchesSample(EventType<?> type, int version, OrderEvent decoded) {
+        assertThat(decoded).isInstanceOf(type.javaType());
+        List<Object> expected = new ArrayList<>();
+        List<Object> actual = new ArrayList<>();
+        for (EventField<?> field : type.fields()) {
+            expected.add(field.since() <= version ? value(field, SAMPLE_VALUES.get(type.typeId())) : null);
+            actual.add(value(field, decoded));
+        }
+        assertThat(actual).as("%s v%d", type.typeId(), version).isEqualTo(expected);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Object value(EventField<E> field, OrderEvent event) {
+        return field.getter().apply((E) event);
+    }
+
+    private static String resource(String path) {
+        try (InputStream in = EventSchemaCompatibilityTest.class.getResourceAsStream("/contracts/" + path)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing compatibility resource contracts/" + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
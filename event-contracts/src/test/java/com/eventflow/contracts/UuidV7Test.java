@@ -0,0 +1,38 @@
+package com.eventflow.contracts;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void next_setsVersionVariantAndCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after + 1);
+    }
+
+    @Test
+    void next_isStrictlyIncreasingInByteOrder() {
+        // Far more ids than the 4096 a millisecond's counter holds, so overflow is covered
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7.next());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            // Unsigned, as PostgreSQL compares uuid values
+            assertThat(Long.compareUnsigned(ids.get(i).getMostSignificantBits(),
+                    ids.get(i - 1).getMostSignificantBits())).isPositive();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+// k6 load test for order-service: place an order, then read it back.
+//
+// Run once per thread mode and compare the summaries (iterations/s and http_req_duration p(99)):
+//   VIRTUAL_THREADS=false docker compose up -d --build
+//   k6 run -e MODE=platform load-test/orders.js
+//   VIRTUAL_THREADS=true docker compose up -d --build
+//   k6 run -e MODE=virtual load-test/orders.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'unknown';
+
+export const options = {
+    scenarios: {
+        orders: {
+            // Open model: arrivals do not slow down when the server does, so queueing shows up in p99
+            executor: 'ramping-arrival-rate',
+            startRate: 50,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: 500, duration: '30s' },
+                { target: 1500, duration: '1m' },
+                { target: 1500, duration: '2m' },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_failed': ['rate<0.01'],
+        'http_req_duration{name:place}': ['p(99)<1000'],
+        'http_req_duration{name:get}': ['p(99)<500'],
+    },
+    tags: { mode: MODE },
+};
+
+const HEADERS = { 'Content-Type': 'application/json' };
+
+export default function () {
+    const placed = http.post(`${BASE_URL}/api/orders`, JSON.stringify({
+        customerEmail: `load-${__VU}-${__ITER}@example.com`,
+        productName: 'Load Test Widget',
+        quantity: 1,
+        totalPrice: 9.99,
+    }), { headers: HEADERS, tags: { name: 'place' } });
+
+    if (!check(placed, { 'order placed': (r) => r.status === 201 })) {
+        return;
+    }
+
+    const get = http.get(`${BASE_URL}/api/orders/${placed.json('id')}`, { tags: { name: 'get' } });
+    check(get, { 'order read': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    const place = data.metrics['http_req_duration{name:place}'];
+    const get = data.metrics['http_req_duration{name:get}'];
+    const line = [
+        `mode=${MODE}`,
+        `iterations/s=${data.metrics.iterations.values.rate.toFixed(1)}`,
+        `place p99=${place ? place.values['p(99)'].toFixed(1) : 'n/a'}ms`,
+        `get p99=${get ? get.values['p(99)'].toFixed(1) : 'n/a'}ms`,
+    ].join('  ');
+    return {
+        stdout: line + '\n',
+        [`load-test/results-${MODE}.json`]: JSON.stringify(data, null, 2),
+    };
+}
@@ -0,0 +1,86 @@
+package com.eventflow.notificationservice.benchmark;
+
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.service.EmailService;
+import com.eventflow.notificationservice.service.EmailTemplateRenderer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Message construction only — no mail sender is involved. Templates are parsed during warmup and
+// then served from the engine cache; run with -prof gc to compare allocation per message against
+// the String.formatted baseline.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EmailFormattingBenchmark {
+
+    private EmailService emailService;
+    private OrderPlacedEvent placed;
+    private OrderCancelledEvent cancelled;
+    private List<OrderEvent> digest;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        emailService = new EmailService(null, null, null,
+                new EmailTemplateRenderer("classpath:/templates/mail/", false));
+        set("fromEmail", "noreply@eventflow.dev");
+        set("locale", Locale.ENGLISH);
+
+        UUID orderId = UUID.randomUUID();
+        placed = new OrderPlacedEvent(orderId, "alice@example.com", "Mechanical Keyboard",
+                2, new BigDecimal("259.98"), Instant.now());
+        cancelled = new OrderCancelledEvent(orderId, "alice@example.com", "Mechanical Keyboard", Instant.now());
+        digest = List.of(placed, cancelled, placed, placed, cancelled);
+    }
+
+    private void set(String field, Object value) throws ReflectiveOperationException {
+        Field declared = EmailService.class.getDeclaredField(field);
+        declared.setAccessible(true);
+        declared.set(emailService, value);
+    }
+
+    @Benchmark
+    public SimpleMailMessage confirmationMessage() {
+        return emailService.confirmationMessage(placed);
+    }
+
+    @Benchmark
+    public SimpleMailMessage cancellationMessage() {
+        return emailService.cancellationMessage(cancelled);
+    }
+
+    @Benchmark
+    public SimpleMailMessage digestMessage() {
+        return emailService.digestMessage("alice@example.com", digest);
+    }
+
+    // The text-block body the templates replaced, for comparison
+    @Benchmark
+    public String confirmationText_formatted() {
+        return """
+                Hi there,
+
+                Your order has been placed successfully!
+
+                Order ID:     %s
+                Product:      %s
+                Quantity:     %d
+                Total Price:  $%.2f
+
+                Thank you for shopping with EventFlow!
+                """.formatted(placed.orderId(), placed.productName(), placed.quantity(), placed.totalPrice());
+    }
+}
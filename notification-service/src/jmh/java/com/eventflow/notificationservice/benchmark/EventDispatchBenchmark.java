@@ -0,0 +1,105 @@
+package com.eventflow.notificationservice.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.eventflow.contracts.EventRegistry;
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.consumer.OrderEventConsumer;
+import com.eventflow.notificationservice.service.NotificationService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.retrytopic.DeadLetterPublishingRecovererFactory;
+import org.springframework.kafka.retrytopic.DefaultDestinationTopicResolver;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumer-side hot path: type-header resolution in {@link JsonDeserializer} followed by the
+ * pattern switch in {@link OrderEventConsumer}. The service is stubbed so only dispatch is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EventDispatchBenchmark {
+
+    private static final String TOPIC = "orders";
+    private static final String TYPE_MAPPINGS = EventRegistry.typeMappings();
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+    private static final Acknowledgment NO_ACK = () -> { };
+
+    private static final byte[] PLACED_JSON = """
+            {"orderId":"3fa85f64-5717-4562-b3fc-2c963f66afa6","customerEmail":"alice@example.com",\
+            "productName":"Mechanical Keyboard","quantity":2,"totalPrice":259.98,\
+            "occurredAt":"2026-02-21T10:00:00Z"}""".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] CANCELLED_JSON = """
+            {"orderId":"3fa85f64-5717-4562-b3fc-2c963f66afa6","customerEmail":"alice@example.com",\
+            "productName":"Mechanical Keyboard","occurredAt":"2026-02-21T10:05:00Z"}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private JsonDeserializer<Object> deserializer;
+    private RecordHeaders placedHeaders;
+    private RecordHeaders cancelledHeaders;
+    private OrderEventConsumer consumer;
+    private Object lastEvent;
+
+    @Setup
+    public void setUp() {
+        // Outside Spring Boot logback defaults to DEBUG; keep the consumer's debug line out of the measurement
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        deserializer = new JsonDeserializer<>();
+        // Headers are reused across invocations, so the deserializer must leave them in place
+        deserializer.configure(Map.of(
+                JsonDeserializer.TYPE_MAPPINGS, TYPE_MAPPINGS,
+                JsonDeserializer.TRUSTED_PACKAGES, "com.eventflow.*",
+                JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false), false);
+
+        placedHeaders = new RecordHeaders();
+        placedHeaders.add("__TypeId__", "orderPlaced".getBytes(StandardCharsets.UTF_8));
+        cancelledHeaders = new RecordHeaders();
+        cancelledHeaders.add("__TypeId__", "orderCancelled".getBytes(StandardCharsets.UTF_8));
+
+        consumer = new OrderEventConsumer(new NotificationService(null, null, null, null) {
+            @Override
+            public CompletableFuture<Void> handleOrderPlacedAsync(OrderPlacedEvent event, boolean finalAttempt) {
+                lastEvent = event;
+                return DONE;
+            }
+
+            @Override
+            public CompletableFuture<Void> handleOrderCancelledAsync(OrderCancelledEvent event, boolean finalAttempt) {
+                lastEvent = event;
+                return DONE;
+            }
+        }, null, new DeadLetterPublishingRecovererFactory(new DefaultDestinationTopicResolver()));
+    }
+
+    @Benchmark
+    public Object deserializeAndDispatchOrderPlaced() {
+        consumer.consume(record(placedHeaders, PLACED_JSON), NO_ACK);
+        return lastEvent;
+    }
+
+    @Benchmark
+    public Object deserializeAndDispatchOrderCancelled() {
+        consumer.consume(record(cancelledHeaders, CANCELLED_JSON), NO_ACK);
+        return lastEvent;
+    }
+
+    private ConsumerRecord<String, Object> record(RecordHeaders headers, byte[] json) {
+        Object value = deserializer.deserialize(TOPIC, headers, json);
+        return new ConsumerRecord<>(TOPIC, 0, 0L, "key", value);
+    }
+}
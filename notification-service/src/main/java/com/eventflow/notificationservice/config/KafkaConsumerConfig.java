@@ -1,23 +1,35 @@
 package com.eventflow.notificationservice.config;
 
+import com.eventflow.notificationservice.consumer.ParallelOrderEventConsumer;
+import com.eventflow.notificationservice.event.OrderEventDeserializer;
+import com.eventflow.notificationservice.metrics.NotificationMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.util.backoff.ExponentialBackOff;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 @Configuration
 @Slf4j
@@ -35,9 +47,6 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.properties.spring.json.use.type.headers:true}")
     private boolean useTypeHeaders;
 
-    @Value("${spring.kafka.consumer.properties.spring.json.type.mapping:orderPlaced:com.eventflow.notificationservice.event.OrderPlacedEvent,orderCancelled:com.eventflow.notificationservice.event.OrderCancelledEvent}")
-    private String typeMappings;
-
     @Value("${notification.retry.backoff-initial-ms:1000}")
     private long backoffInitialMs;
 
@@ -47,9 +56,23 @@ public class KafkaConsumerConfig {
     @Value("${notification.retry.max-attempts:3}")
     private int maxAttempts;
 
+    @Value("${notification.consumer.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${notification.consumer.digest.window:60s}")
+    private Duration digestWindow;
+
+    // Starting point only when notification.consumer.scaling.enabled lets ListenerConcurrencyScaler resize
+    @Value("${notification.consumer.concurrency:1}")
+    private int concurrency;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean
-    public ConsumerFactory<String, Object> consumerFactory() {
-        JsonDeserializer<Object> valueDeserializer = new JsonDeserializer<>();
+    public ConsumerFactory<String, Object> consumerFactory(MeterRegistry meterRegistry) {
+        // JSON or compact binary, chosen per record by its content-type header
+        OrderEventDeserializer valueDeserializer = new OrderEventDeserializer();
         ErrorHandlingDeserializer<Object> errorHandlingDeserializer =
                 new ErrorHandlingDeserializer<>(valueDeserializer);
 
@@ -61,29 +84,134 @@ public class KafkaConsumerConfig {
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         props.put("spring.json.trusted.packages", trustedPackages);
         props.put("spring.json.use.type.headers", useTypeHeaders);
-        props.put("spring.json.type.mapping", typeMappings);
-
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), errorHandlingDeserializer);
+        // Keep __TypeId__ on the record so DLT copies stay self-describing
+        props.put(JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false);
+
+        DefaultKafkaConsumerFactory<String, Object> consumerFactory =
+                new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), errorHandlingDeserializer);
+        // Binds the client metrics, incl. per-partition kafka.consumer.fetch.manager.records.lag
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return consumerFactory;
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
-            ConsumerFactory<String, Object> consumerFactory,
-            KafkaTemplate<String, Object> kafkaTemplate) {
+    public DeadLetterPublishingRecoverer deadLetterPublishingRecoverer(KafkaTemplate<String, Object> kafkaTemplate,
+                                                                       NotificationMetrics notificationMetrics) {
+        // Every DLT route goes through here — the error handler and ParallelOrderEventConsumer alike
+        return new DeadLetterPublishingRecoverer(kafkaTemplate) {
+            @Override
+            public void accept(ConsumerRecord<?, ?> record, Consumer<?, ?> consumer, Exception exception) {
+                notificationMetrics.countDeadLetter(record.topic(), exception);
+                super.accept(record, consumer, exception);
+            }
+        };
+    }
 
-        // Exponential backoff: 1s → 2s → 4s (3 attempts), then DLT
+    @Bean
+    public DefaultErrorHandler errorHandler(DeadLetterPublishingRecoverer recoverer) {
+        // Exponential backoff: 1s → 2s → 4s (3 attempts), then DLT. Blocks the consumer thread, so
+        // the record-mode listener uses the retry topics from RetryTopicConfig instead.
         ExponentialBackOff backOff = new ExponentialBackOff(backoffInitialMs, backoffMultiplier);
         backOff.setMaxAttempts(maxAttempts);
 
-        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate);
-
         DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, backOff);
         errorHandler.addNotRetryableExceptions(IllegalArgumentException.class);
+        return errorHandler;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory,
+            DefaultErrorHandler errorHandler) {
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                newContainerFactory(consumerFactory, errorHandler);
+        // Retry-topic consumers pause a partition until its next record is due and are only woken
+        // up between polls, so the poll timeout bounds how late a retry can run
+        factory.getContainerProperties().setPollTimeout(1_000);
+        // OrderEventConsumer acknowledges each record when its mail completes, in any order; the
+        // container commits up to the first record still pending
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    // Used when notification.consumer.mode=batch. The listener reports a poison record through
+    // BatchListenerFailedException, so the error handler commits the records before it, sends
+    // only that record to the DLT and redelivers the rest of the poll.
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory,
+            DefaultErrorHandler errorHandler) {
+
+        Properties consumerOverrides = new Properties();
+        consumerOverrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                newContainerFactory(consumerFactory, errorHandler);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerOverrides);
+        return factory;
+    }
+
+    // Used when notification.consumer.mode=parallel. ParallelOrderEventConsumer commits the
+    // contiguous completed range per partition itself, hence MANUAL ack mode, and forgets its
+    // state for revoked partitions as the rebalance listener.
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> parallelKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory,
+            DefaultErrorHandler errorHandler,
+            ObjectProvider<ParallelOrderEventConsumer> parallelConsumer) {
+
+        Properties consumerOverrides = new Properties();
+        consumerOverrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                newContainerFactory(consumerFactory, errorHandler);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerOverrides);
+        // Looked up once the listener container is created, by which time the consumer bean exists
+        factory.setContainerCustomizer(container ->
+                parallelConsumer.ifAvailable(container.getContainerProperties()::setConsumerRebalanceListener));
+        return factory;
+    }
+
+    // Used when notification.consumer.mode=digest. DigestOrderEventConsumer holds records across
+    // polls and commits each partition only up to its oldest record not yet mailed, hence MANUAL
+    // ack mode and a single consumer thread owning that state. Idle events close digest windows
+    // while no records arrive.
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> digestKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory,
+            DefaultErrorHandler errorHandler) {
+
+        Properties consumerOverrides = new Properties();
+        consumerOverrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                newContainerFactory(consumerFactory, errorHandler);
+        factory.setBatchListener(true);
+        factory.setConcurrency(1);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerOverrides);
+        factory.getContainerProperties().setIdleEventInterval(Math.max(1_000L, digestWindow.toMillis() / 10));
+        return factory;
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, Object> newContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory,
+            DefaultErrorHandler errorHandler) {
 
         ConcurrentKafkaListenerContainerFactory<String, Object> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory);
         factory.setCommonErrorHandler(errorHandler);
+        factory.setConcurrency(concurrency);
+        // Boot applies spring.threads.virtual.enabled only to the factory it auto-configures
+        if (virtualThreads) {
+            factory.getContainerProperties().setListenerTaskExecutor(new VirtualThreadTaskExecutor("kafka-listener-"));
+        }
         return factory;
     }
 }
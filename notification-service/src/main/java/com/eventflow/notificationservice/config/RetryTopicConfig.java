@@ -0,0 +1,139 @@
+package com.eventflow.notificationservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.DeadLetterPublishingRecovererFactory;
+import org.springframework.kafka.retrytopic.DestinationTopicResolver;
+import org.springframework.kafka.retrytopic.RetryTopicComponentFactory;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationSupport;
+import org.springframework.kafka.retrytopic.RetryTopicNamesProviderFactory;
+import org.springframework.kafka.retrytopic.SuffixingRetryTopicNamesProviderFactory.SuffixingRetryTopicNamesProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Non-blocking retries for the record-mode listener. A record that fails moves on to the next
+ * stage topic — {@code orders.retry.1s}, {@code orders.retry.2s}, {@code orders.retry.4s} with
+ * the default {@code notification.retry.*} properties — and finally to {@code orders.DLT}. Each
+ * stage has its own consumer, which pauses only its own partition until a record is due, so a
+ * failing send no longer holds up the records behind it on the main topic.
+ *
+ * <p>Retry topics are created with the partition count {@code orders} has at startup, and a record
+ * is published to the partition its key hashes to rather than to its source partition number, so
+ * a stage keeps working after {@code orders} grows.
+ *
+ * <p>Retried events can overtake later events for the same order; each notification is still
+ * sent once, but a cancellation email may arrive before a delayed confirmation. The batch,
+ * parallel and digest modes keep their in-thread retries from {@link KafkaConsumerConfig}.
+ */
+@Configuration
+@Slf4j
+public class RetryTopicConfig extends RetryTopicConfigurationSupport {
+
+    private static final String RETRY_INFIX = ".retry.";
+    private static final String DLT_SUFFIX = ".DLT";
+    private static final long MAX_DELAY_MS = Duration.ofHours(1).toMillis();
+
+    @Value("${kafka.topic.orders}")
+    private String ordersTopic;
+
+    @Value("${notification.retry.backoff-initial-ms:1000}")
+    private long backoffInitialMs;
+
+    @Value("${notification.retry.backoff-multiplier:2.0}")
+    private double backoffMultiplier;
+
+    @Value("${notification.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    // Used when the orders topic cannot be described at startup
+    @Value("${notification.retry.topic-partitions:3}")
+    private int topicPartitions;
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "record", matchIfMissing = true)
+    public RetryTopicConfiguration orderRetryTopics(KafkaTemplate<String, Object> kafkaTemplate, KafkaAdmin kafkaAdmin) {
+        return RetryTopicConfigurationBuilder.newInstance()
+                .includeTopic(ordersTopic)
+                // The builder counts the first delivery as an attempt
+                .maxAttempts(maxAttempts + 1)
+                .exponentialBackoff(backoffInitialMs, backoffMultiplier, MAX_DELAY_MS)
+                .notRetryOn(List.of(IllegalArgumentException.class))
+                .autoCreateTopicsWith(ordersPartitions(kafkaAdmin), (short) 1)
+                .listenerFactory("kafkaListenerContainerFactory")
+                .dltHandlerMethod("orderEventConsumer", "onDeadLetter")
+                .create(kafkaTemplate);
+    }
+
+    /**
+     * Lets {@code OrderEventConsumer} forward an event that failed after the listener returned to
+     * the same next stage the error handler would have picked.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "record", matchIfMissing = true)
+    public DeadLetterPublishingRecovererFactory orderRetryPublisherFactory(DestinationTopicResolver destinationTopicResolver) {
+        return partitionedByKey(new DeadLetterPublishingRecovererFactory(destinationTopicResolver));
+    }
+
+    @Override
+    protected RetryTopicComponentFactory createComponentFactory() {
+        return new RetryTopicComponentFactory() {
+            @Override
+            public DeadLetterPublishingRecovererFactory deadLetterPublishingRecovererFactory(
+                    DestinationTopicResolver destinationTopicResolver) {
+                return partitionedByKey(super.deadLetterPublishingRecovererFactory(destinationTopicResolver));
+            }
+
+            @Override
+            public RetryTopicNamesProviderFactory retryTopicNamesProviderFactory() {
+                return properties -> new SuffixingRetryTopicNamesProvider(properties) {
+                    @Override
+                    public String getTopicName(String topic) {
+                        if (properties.isMainEndpoint()) {
+                            return topic;
+                        }
+                        return properties.isDltTopic()
+                                ? topic + DLT_SUFFIX
+                                : topic + RETRY_INFIX + formatDelay(properties.delay());
+                    }
+                };
+            }
+        };
+    }
+
+    private int ordersPartitions(KafkaAdmin kafkaAdmin) {
+        try {
+            return kafkaAdmin.describeTopics(ordersTopic).get(ordersTopic).partitions().size();
+        } catch (KafkaException ex) {
+            log.warn("Could not describe {}, creating retry topics with {} partitions: {}",
+                    ordersTopic, topicPartitions, ex.getMessage());
+            return topicPartitions;
+        }
+    }
+
+    // A negative partition leaves the choice to the producer, which hashes the record's key
+    private static DeadLetterPublishingRecovererFactory partitionedByKey(DeadLetterPublishingRecovererFactory factory) {
+        factory.setPartitionResolver((record, topic) -> -1);
+        return factory;
+    }
+
+    // 1000 -> 1s, 60000 -> 1m, 1500 -> 1500ms
+    static String formatDelay(long delayMs) {
+        if (delayMs > 0 && delayMs % 60_000 == 0) {
+            return delayMs / 60_000 + "m";
+        }
+        if (delayMs > 0 && delayMs % 1_000 == 0) {
+            return delayMs / 1_000 + "s";
+        }
+        return delayMs + "ms";
+    }
+}
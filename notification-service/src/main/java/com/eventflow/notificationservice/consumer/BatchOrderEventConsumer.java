@@ -0,0 +1,78 @@
+package com.eventflow.notificationservice.consumer;
+
+import com.eventflow.notificationservice.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch-mode counterpart of {@link OrderEventConsumer}: one call per poll, one SMTP session and
+ * one JDBC batch insert for the whole poll.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "batch")
+@RequiredArgsConstructor
+@Slf4j
+public class BatchOrderEventConsumer {
+
+    static final String LISTENER_ID = "order-events-batch";
+
+    private static final LogAccessor LOGGER = new LogAccessor(BatchOrderEventConsumer.class);
+
+    private final NotificationService notificationService;
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
+            topics = "${kafka.topic.orders}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void consume(List<ConsumerRecord<String, Object>> records) {
+        int poisonIndex = firstUndeserializableRecord(records);
+
+        List<Object> events = new ArrayList<>(poisonIndex);
+        for (ConsumerRecord<String, Object> record : records.subList(0, poisonIndex)) {
+            if (record.value() == null) {
+                log.warn("Null event received at topic={} partition={} offset={}",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            events.add(record.value());
+        }
+
+        log.debug("Received batch of {} records, {} events to process", records.size(), events.size());
+        notificationService.handleEvents(events);
+
+        if (poisonIndex < records.size()) {
+            ConsumerRecord<String, Object> poison = records.get(poisonIndex);
+            // Passing the DeserializationException as cause makes it non-retryable: straight to the DLT
+            throw new BatchListenerFailedException("Undeserializable record at partition "
+                    + poison.partition() + " offset " + poison.offset(),
+                    SerializationUtils.getExceptionFromHeader(poison,
+                            SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOGGER),
+                    poisonIndex);
+        }
+    }
+
+    // Everything before this index is processed and committed; the error handler takes it from here
+    private static int firstUndeserializableRecord(List<ConsumerRecord<String, Object>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, Object> record = records.get(i);
+            if (record.value() == null
+                    && record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                return i;
+            }
+        }
+        return records.size();
+    }
+}
@@ -0,0 +1,99 @@
+package com.eventflow.notificationservice.consumer;
+
+import java.time.Duration;
+
+/**
+ * Decides listener concurrency from two consecutive samples of the consumer group. Busy listener
+ * time per committed record gives the cost of one record; the consumers needed are that cost
+ * times the records per second to handle — the arrival rate plus whatever it takes to work off
+ * the current lag within {@code targetDrain}.
+ *
+ * <p>Resizing restarts the container and rebalances the group, so scaling up happens at once
+ * but scaling down waits for {@code scaleDownSamples} consecutive lower answers, and no change
+ * follows another within {@code cooldown}. Not thread-safe; used from the scaler's schedule only.
+ */
+final class ConcurrencyPolicy {
+
+    /** Totals over all partitions of the topic at {@code nanoTime}. */
+    record Sample(long nanoTime, int partitions, long endOffsets, long committedOffsets, long lag,
+                  double busySeconds) {}
+
+    private final int min;
+    private final int max;
+    private final double targetDrainSeconds;
+    private final long cooldownNanos;
+    private final int scaleDownSamples;
+
+    private Sample previous;
+    private double secondsPerRecord = Double.NaN;
+    private long lastChangeNanos;
+    private int lowSamples;
+
+    ConcurrencyPolicy(int min, int max, Duration targetDrain, Duration cooldown, int scaleDownSamples) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Concurrency bounds must satisfy 1 <= min <= max, got " + min + ".." + max);
+        }
+        this.min = min;
+        this.max = max;
+        this.targetDrainSeconds = targetDrain.toMillis() / 1000.0;
+        this.cooldownNanos = cooldown.toNanos();
+        this.scaleDownSamples = scaleDownSamples;
+    }
+
+    /** Concurrency to run with after this sample; {@code current} when nothing should change. */
+    int next(int current, Sample sample) {
+        Sample last = previous;
+        previous = sample;
+        if (last == null) {
+            // First sample after start or a resize, which was itself a rebalance
+            lastChangeNanos = sample.nanoTime();
+            return current;
+        }
+
+        int desired = desired(current, last, sample);
+        boolean coolingDown = sample.nanoTime() - lastChangeNanos < cooldownNanos;
+        if (desired > current && !coolingDown) {
+            return changeTo(desired, sample);
+        }
+        if (desired < current) {
+            lowSamples++;
+            if (lowSamples >= scaleDownSamples && !coolingDown) {
+                return changeTo(desired, sample);
+            }
+            return current;
+        }
+        lowSamples = 0;
+        return current;
+    }
+
+    /** Forgets the last sample; listener timers restart along with the container. */
+    void reset() {
+        previous = null;
+    }
+
+    int desired(int current, Sample last, Sample sample) {
+        long processed = sample.committedOffsets() - last.committedOffsets();
+        double busy = sample.busySeconds() - last.busySeconds();
+        if (processed > 0 && busy > 0) {
+            secondsPerRecord = busy / processed;
+        }
+        int upper = Math.max(1, Math.min(max, sample.partitions()));
+        int lower = Math.min(min, upper);
+        if (Double.isNaN(secondsPerRecord)) {
+            // Nothing measured yet — only enforce the bounds
+            return Math.clamp(current, lower, upper);
+        }
+
+        double elapsedSeconds = (sample.nanoTime() - last.nanoTime()) / 1e9;
+        double arrivalRate = Math.max(0, sample.endOffsets() - last.endOffsets()) / elapsedSeconds;
+        double requiredRate = arrivalRate + sample.lag() / targetDrainSeconds;
+        int needed = (int) Math.ceil(requiredRate * secondsPerRecord);
+        return Math.clamp(needed, lower, upper);
+    }
+
+    private int changeTo(int concurrency, Sample sample) {
+        lastChangeNanos = sample.nanoTime();
+        lowSamples = 0;
+        return concurrency;
+    }
+}
@@ -0,0 +1,169 @@
+package com.eventflow.notificationservice.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Per-recipient buffers of {@link DigestOrderEventConsumer}, plus the bookkeeping that keeps
+ * commits behind them: a partition is committed only up to its oldest record whose digest has not
+ * been sent, so buffered events survive a restart by being redelivered. Recipients are matched
+ * case-insensitively, so one customer gets one digest however the address was typed.
+ *
+ * <p>Not thread-safe — owned by the single consumer thread of the digest container.
+ */
+final class DigestBuffer {
+
+    static final class Digest {
+
+        private final String recipient;
+        private final Instant openedAt;
+        private final List<ConsumerRecord<String, Object>> records = new ArrayList<>();
+        private int failedAttempts;
+        private Instant retryAt;
+
+        private Digest(String recipient, Instant openedAt) {
+            this.recipient = recipient;
+            this.openedAt = openedAt;
+        }
+
+        String recipient() {
+            return recipient;
+        }
+
+        List<ConsumerRecord<String, Object>> records() {
+            return records;
+        }
+
+        /** Counts a failed send and returns the number of failures so far. */
+        int failed() {
+            return ++failedAttempts;
+        }
+    }
+
+    private final Duration window;
+    private final int maxEvents;
+    private final Map<String, Digest> open = new LinkedHashMap<>();
+    private final Map<TopicPartition, TreeSet<Long>> unsent = new HashMap<>();
+    private final Map<TopicPartition, Long> nextOffsets = new HashMap<>();
+    private final Map<TopicPartition, Long> committed = new HashMap<>();
+
+    DigestBuffer(Duration window, int maxEvents) {
+        this.window = window;
+        this.maxEvents = maxEvents;
+    }
+
+    void add(String recipient, ConsumerRecord<String, Object> record, Instant now) {
+        open.computeIfAbsent(normalize(recipient), key -> new Digest(recipient, now)).records.add(record);
+        unsent.computeIfAbsent(partitionOf(record), tp -> new TreeSet<>()).add(record.offset());
+        seen(record);
+    }
+
+    /** A record that needs no digest (null value, sent to the DLT); it only moves the commit point. */
+    void skip(ConsumerRecord<?, ?> record) {
+        seen(record);
+    }
+
+    /** Removes and returns the digests that are full or whose window has elapsed, and failed ones due a retry. */
+    List<Digest> takeDue(Instant now) {
+        List<Digest> due = new ArrayList<>();
+        Instant closesBefore = now.minus(window);
+        for (Iterator<Digest> it = open.values().iterator(); it.hasNext(); ) {
+            Digest digest = it.next();
+            boolean isDue = digest.retryAt != null
+                    ? !digest.retryAt.isAfter(now)
+                    : digest.records.size() >= maxEvents || !digest.openedAt.isAfter(closesBefore);
+            if (isDue) {
+                due.add(digest);
+                it.remove();
+            }
+        }
+        return due;
+    }
+
+    /** Releases the digest's records for commit. */
+    void sent(Digest digest) {
+        for (ConsumerRecord<String, Object> record : digest.records) {
+            TreeSet<Long> offsets = unsent.get(partitionOf(record));
+            if (offsets != null) {
+                offsets.remove(record.offset());
+            }
+        }
+    }
+
+    /** Puts back a digest whose send failed; it is retried on the first flush from {@code retryAt}. */
+    void reopen(Digest digest, Instant retryAt) {
+        digest.retryAt = retryAt;
+        Digest newer = open.put(normalize(digest.recipient), digest);
+        if (newer != null) {
+            digest.records.addAll(newer.records);
+        }
+    }
+
+    /** Offsets that may be committed for {@code assigned} partitions and moved since the last commit. */
+    Map<TopicPartition, OffsetAndMetadata> commits(Collection<TopicPartition> assigned) {
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        nextOffsets.forEach((tp, next) -> {
+            if (!assigned.contains(tp)) {
+                return;
+            }
+            TreeSet<Long> offsets = unsent.get(tp);
+            long committable = offsets == null || offsets.isEmpty() ? next : offsets.first();
+            Long last = committed.get(tp);
+            if (last == null || committable > last) {
+                commits.put(tp, new OffsetAndMetadata(committable));
+            }
+        });
+        return commits;
+    }
+
+    void committed(Map<TopicPartition, OffsetAndMetadata> commits) {
+        commits.forEach((tp, offset) -> committed.put(tp, offset.offset()));
+    }
+
+    /**
+     * Forgets everything from partitions this consumer no longer owns; their new owner re-reads
+     * them from the last commit, so sending them here as well would mail them twice.
+     */
+    void retainAssigned(Collection<TopicPartition> assigned) {
+        nextOffsets.keySet().retainAll(assigned);
+        unsent.keySet().retainAll(assigned);
+        committed.keySet().retainAll(assigned);
+        for (Iterator<Digest> it = open.values().iterator(); it.hasNext(); ) {
+            Digest digest = it.next();
+            digest.records.removeIf(record -> !assigned.contains(partitionOf(record)));
+            if (digest.records.isEmpty()) {
+                it.remove();
+            }
+        }
+    }
+
+    int size() {
+        return open.values().stream().mapToInt(digest -> digest.records.size()).sum();
+    }
+
+    private void seen(ConsumerRecord<?, ?> record) {
+        nextOffsets.merge(partitionOf(record), record.offset() + 1, Math::max);
+    }
+
+    // Same as OrderStatusStream in the order service
+    private static String normalize(String recipient) {
+        return recipient.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static TopicPartition partitionOf(ConsumerRecord<?, ?> record) {
+        return new TopicPartition(record.topic(), record.partition());
+    }
+}
@@ -0,0 +1,135 @@
+package com.eventflow.notificationservice.consumer;
+
+import com.eventflow.contracts.OrderEvent;
+import com.eventflow.notificationservice.service.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalesces events per recipient and sends one digest email when a recipient has
+ * {@code notification.consumer.digest.max-events} events buffered or their oldest buffered event
+ * is {@code notification.consumer.digest.window} old. Offsets are committed only up to the oldest
+ * event whose digest has not gone out, so nothing buffered is lost on a restart — it is
+ * redelivered, and events that did make it into a sent digest are skipped as duplicates.
+ *
+ * <p>A digest that fails to send is retried after the retry backoff ({@code notification.retry.*})
+ * and its records go to the DLT after {@code max-attempts}.
+ *
+ * <p>Windows also close while the topic is quiet: the container publishes idle events, which
+ * arrive on the consumer thread like the records do.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "digest")
+@Slf4j
+public class DigestOrderEventConsumer {
+
+    static final String LISTENER_ID = "order-digest";
+
+    private final NotificationService notificationService;
+    private final DeadLetterPublishingRecoverer deadLetterRecoverer;
+    private final int maxAttempts;
+    private final long backoffInitialMs;
+    private final double backoffMultiplier;
+    private final DigestBuffer buffer;
+
+    public DigestOrderEventConsumer(NotificationService notificationService,
+                                    DeadLetterPublishingRecoverer deadLetterRecoverer,
+                                    @Value("${notification.consumer.digest.window:60s}") Duration window,
+                                    @Value("${notification.consumer.digest.max-events:100}") int maxEvents,
+                                    @Value("${notification.retry.max-attempts:3}") int maxAttempts,
+                                    @Value("${notification.retry.backoff-initial-ms:1000}") long backoffInitialMs,
+                                    @Value("${notification.retry.backoff-multiplier:2.0}") double backoffMultiplier) {
+        this.notificationService = notificationService;
+        this.deadLetterRecoverer = deadLetterRecoverer;
+        this.maxAttempts = maxAttempts;
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMultiplier = backoffMultiplier;
+        this.buffer = new DigestBuffer(window, maxEvents);
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
+            topics = "${kafka.topic.orders}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "digestKafkaListenerContainerFactory"
+    )
+    public void consume(List<ConsumerRecord<String, Object>> records, Consumer<?, ?> consumer) {
+        Instant now = Instant.now();
+        for (ConsumerRecord<String, Object> record : records) {
+            if (record.value() instanceof OrderEvent event) {
+                buffer.add(event.customerEmail(), record, now);
+                continue;
+            }
+            if (record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                deadLetterRecoverer.accept(record, new DeserializationException(
+                        "Undeserializable record at offset " + record.offset(), null, false, null));
+            } else {
+                log.warn("Unexpected value at topic={} partition={} offset={}: {}",
+                        record.topic(), record.partition(), record.offset(), record.value());
+            }
+            buffer.skip(record);
+        }
+        log.debug("Received {} records, {} events buffered for digests", records.size(), buffer.size());
+
+        flushAndCommit(consumer, now);
+    }
+
+    @EventListener(condition = "event.listenerId.startsWith('" + LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        flushAndCommit(event.getConsumer(), Instant.now());
+    }
+
+    // Idle events keep coming after a rebalance, so revoked partitions are dropped here, not only on a poll
+    private void flushAndCommit(Consumer<?, ?> consumer, Instant now) {
+        buffer.retainAssigned(consumer.assignment());
+        for (DigestBuffer.Digest digest : buffer.takeDue(now)) {
+            send(digest, now);
+        }
+
+        Map<TopicPartition, OffsetAndMetadata> commits = buffer.commits(consumer.assignment());
+        if (!commits.isEmpty()) {
+            consumer.commitSync(commits);
+            buffer.committed(commits);
+        }
+    }
+
+    private void send(DigestBuffer.Digest digest, Instant now) {
+        List<Object> events = digest.records().stream().map(ConsumerRecord::value).toList();
+        try {
+            notificationService.handleDigest(digest.recipient(), events);
+            buffer.sent(digest);
+        } catch (Exception ex) {
+            int attempt = digest.failed();
+            if (attempt < maxAttempts && !(ex instanceof IllegalArgumentException)) {
+                // Same schedule as the other modes' retries: initial, initial * multiplier, ...
+                long delayMs = (long) (backoffInitialMs * Math.pow(backoffMultiplier, attempt - 1));
+                log.warn("Attempt {} of {} failed for the digest to {}, retrying in {} ms: {}",
+                        attempt, maxAttempts, digest.recipient(), delayMs, ex.getMessage());
+                buffer.reopen(digest, now.plusMillis(delayMs));
+                return;
+            }
+            log.error("Giving up on the digest to {} after {} attempts, sending its {} records to the DLT",
+                    digest.recipient(), attempt, digest.records().size(), ex);
+            digest.records().forEach(record -> deadLetterRecoverer.accept(record, ex));
+            buffer.sent(digest);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.eventflow.notificationservice.consumer;
+
+import com.eventflow.notificationservice.metrics.NotificationMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Resizes the active order listener container between {@code notification.consumer.scaling.min}
+ * and {@code max} — never beyond the partition count, since extra consumers would sit idle. Each
+ * interval samples the group's lag and end offsets through the admin client, and the busy time
+ * of the container's {@code spring.kafka.listener} timers; {@link ConcurrencyPolicy} turns that
+ * into a target.
+ *
+ * <p>Each instance sizes its own container, so with several instances the bounds are per
+ * instance. Digest mode is never scaled: its buffer relies on a single consumer thread.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.consumer.scaling.enabled", havingValue = "true")
+@Slf4j
+public class ListenerConcurrencyScaler implements DisposableBean {
+
+    private static final long ADMIN_TIMEOUT_SECONDS = 10;
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final MeterRegistry meterRegistry;
+    private final Admin admin;
+    private final String listenerId;
+    private final String topic;
+    private final String groupId;
+    private final ConcurrencyPolicy policy;
+
+    public ListenerConcurrencyScaler(KafkaListenerEndpointRegistry registry,
+                                     KafkaAdmin kafkaAdmin,
+                                     MeterRegistry meterRegistry,
+                                     NotificationMetrics notificationMetrics,
+                                     @Value("${notification.consumer.mode:record}") String mode,
+                                     @Value("${kafka.topic.orders}") String topic,
+                                     @Value("${spring.kafka.consumer.group-id}") String groupId,
+                                     @Value("${notification.consumer.scaling.min:1}") int min,
+                                     @Value("${notification.consumer.scaling.max:12}") int max,
+                                     @Value("${notification.consumer.scaling.target-drain:30s}") Duration targetDrain,
+                                     @Value("${notification.consumer.scaling.cooldown:2m}") Duration cooldown,
+                                     @Value("${notification.consumer.scaling.scale-down-samples:4}") int scaleDownSamples) {
+        this.registry = registry;
+        this.meterRegistry = meterRegistry;
+        this.listenerId = switch (mode) {
+            case "record" -> OrderEventConsumer.LISTENER_ID;
+            case "batch" -> BatchOrderEventConsumer.LISTENER_ID;
+            case "parallel" -> ParallelOrderEventConsumer.LISTENER_ID;
+            default -> null;
+        };
+        this.topic = topic;
+        this.groupId = groupId;
+        this.policy = new ConcurrencyPolicy(min, max, targetDrain, cooldown, scaleDownSamples);
+        this.admin = listenerId != null ? Admin.create(kafkaAdmin.getConfigurationProperties()) : null;
+
+        if (listenerId == null) {
+            log.warn("Listener scaling is not supported in {} mode and stays off", mode);
+        } else {
+            notificationMetrics.gaugeListenerConcurrency(listenerId, () -> container() == null ? 0 : container().getConcurrency());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${notification.consumer.scaling.interval-ms:15000}",
+            fixedDelayString = "${notification.consumer.scaling.interval-ms:15000}")
+    public void adjust() {
+        ConcurrentMessageListenerContainer<?, ?> container = container();
+        if (container == null || !container.isRunning()) {
+            return;
+        }
+
+        ConcurrencyPolicy.Sample sample;
+        try {
+            sample = sample();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException | TimeoutException ex) {
+            log.warn("Could not sample consumer lag for group {}: {}", groupId, ex.getMessage());
+            return;
+        }
+
+        int current = container.getConcurrency();
+        int next = policy.next(current, sample);
+        if (next != current) {
+            log.info("Resizing listener {} from {} to {} consumers (lag={}, partitions={})",
+                    listenerId, current, next, sample.lag(), sample.partitions());
+            container.stop();
+            container.setConcurrency(next);
+            container.start();
+            policy.reset();
+        }
+    }
+
+    private ConcurrentMessageListenerContainer<?, ?> container() {
+        if (listenerId == null) {
+            return null;
+        }
+        return registry.getListenerContainer(listenerId) instanceof ConcurrentMessageListenerContainer<?, ?> container
+                ? container
+                : null;
+    }
+
+    private ConcurrencyPolicy.Sample sample() throws InterruptedException, ExecutionException, TimeoutException {
+        long nanoTime = System.nanoTime();
+        TopicDescription description = admin.describeTopics(List.of(topic)).allTopicNames()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS).get(topic);
+        Map<TopicPartition, OffsetSpec> latest = description.partitions().stream()
+                .collect(Collectors.toMap(info -> new TopicPartition(topic, info.partition()), info -> OffsetSpec.latest()));
+        Map<TopicPartition, ListOffsetsResultInfo> ends = admin.listOffsets(latest).all()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        long endOffsets = 0;
+        long committedOffsets = 0;
+        long lag = 0;
+        for (Map.Entry<TopicPartition, ListOffsetsResultInfo> entry : ends.entrySet()) {
+            long end = entry.getValue().offset();
+            endOffsets += end;
+            // A partition the group has never committed on counts towards neither side
+            OffsetAndMetadata offset = committed.get(entry.getKey());
+            if (offset != null) {
+                committedOffsets += offset.offset();
+                lag += Math.max(0, end - offset.offset());
+            }
+        }
+        return new ConcurrencyPolicy.Sample(nanoTime, ends.size(), endOffsets, committedOffsets, lag, busySeconds());
+    }
+
+    // Listener timers are named <listener id>-<consumer index>
+    private double busySeconds() {
+        return meterRegistry.find("spring.kafka.listener").timers().stream()
+                .filter(timer -> {
+                    String name = timer.getId().getTag("name");
+                    return name != null && name.startsWith(listenerId + "-");
+                })
+                .mapToDouble(timer -> timer.totalTime(TimeUnit.SECONDS))
+                .sum();
+    }
+
+    @Override
+    public void destroy() {
+        if (admin != null) {
+            admin.close(Duration.ofSeconds(ADMIN_TIMEOUT_SECONDS));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.eventflow.notificationservice.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which offsets of one poll have completed. Records finish out of order when keys are
+ * processed in parallel; only the contiguous completed prefix of each partition may be committed.
+ */
+final class OffsetTracker {
+
+    private final Map<TopicPartition, List<Long>> polled = new LinkedHashMap<>();
+    private final Set<String> completed = ConcurrentHashMap.newKeySet();
+
+    OffsetTracker(List<? extends ConsumerRecord<?, ?>> records) {
+        for (ConsumerRecord<?, ?> record : records) {
+            polled.computeIfAbsent(new TopicPartition(record.topic(), record.partition()), tp -> new ArrayList<>())
+                    .add(record.offset());
+        }
+    }
+
+    // Safe to call from worker threads
+    void complete(ConsumerRecord<?, ?> record) {
+        completed.add(id(record.topic(), record.partition(), record.offset()));
+    }
+
+    /** Next offset to commit per partition, for partitions that made progress in this poll. */
+    Map<TopicPartition, Long> committableOffsets() {
+        Map<TopicPartition, Long> committable = new HashMap<>();
+        polled.forEach((tp, offsets) -> {
+            int done = completedPrefixLength(tp, offsets);
+            if (done > 0) {
+                committable.put(tp, offsets.get(done - 1) + 1);
+            }
+        });
+        return committable;
+    }
+
+    /** First incomplete offset per partition; the consumer must seek back there. */
+    Map<TopicPartition, Long> incompleteOffsets() {
+        Map<TopicPartition, Long> incomplete = new HashMap<>();
+        polled.forEach((tp, offsets) -> {
+            int done = completedPrefixLength(tp, offsets);
+            if (done < offsets.size()) {
+                incomplete.put(tp, offsets.get(done));
+            }
+        });
+        return incomplete;
+    }
+
+    /** Completed offsets past the first incomplete one, per partition that has any. */
+    Map<TopicPartition, Set<Long>> completedAfterGap() {
+        Map<TopicPartition, Set<Long>> ahead = new HashMap<>();
+        polled.forEach((tp, offsets) -> {
+            for (int i = completedPrefixLength(tp, offsets); i < offsets.size(); i++) {
+                if (completed.contains(id(tp.topic(), tp.partition(), offsets.get(i)))) {
+                    ahead.computeIfAbsent(tp, k -> new HashSet<>()).add(offsets.get(i));
+                }
+            }
+        });
+        return ahead;
+    }
+
+    private int completedPrefixLength(TopicPartition tp, List<Long> offsets) {
+        int done = 0;
+        while (done < offsets.size() && completed.contains(id(tp.topic(), tp.partition(), offsets.get(done)))) {
+            done++;
+        }
+        return done;
+    }
+
+    static String id(String topic, int partition, long offset) {
+        return partitionPrefix(topic, partition) + offset;
+    }
+
+    /** What every {@link #id} of the partition starts with. */
+    static String partitionPrefix(String topic, int partition) {
+        return topic + '-' + partition + '@';
+    }
+}
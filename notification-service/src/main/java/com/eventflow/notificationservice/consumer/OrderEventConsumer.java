@@ -1,27 +1,70 @@
 package com.eventflow.notificationservice.consumer;
 
-import com.eventflow.notificationservice.event.OrderCancelledEvent;
-import com.eventflow.notificationservice.event.OrderPlacedEvent;
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.metrics.NotificationMetrics;
 import com.eventflow.notificationservice.service.NotificationService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.retrytopic.DeadLetterPublishingRecovererFactory;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.stereotype.Component;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Record-mode listener. It hands each event's mail off and returns to the poll loop; the record is
+ * acknowledged once the notification is recorded, and the container commits offsets in order as
+ * the gaps fill ({@code asyncAcks}). Events of one order still run one after another. A failed event
+ * is published to its next retry topic from the thread that saw the failure.
+ */
 @Component
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "record", matchIfMissing = true)
 @Slf4j
 public class OrderEventConsumer {
 
+    static final String LISTENER_ID = "order-events";
+
     private final NotificationService notificationService;
+    private final NotificationMetrics notificationMetrics;
+    private final DeadLetterPublishingRecoverer retryRecoverer;
+    // Latest unsettled event per topic and key, removed once it settles
+    private final Map<String, CompletableFuture<Void>> pendingByKey = new ConcurrentHashMap<>();
+
+    // Retries after the first delivery, each on its own retry topic (see RetryTopicConfig)
+    @Value("${notification.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${kafka.topic.orders}")
+    private String ordersTopic;
+
+    public OrderEventConsumer(NotificationService notificationService,
+                              NotificationMetrics notificationMetrics,
+                              DeadLetterPublishingRecovererFactory orderRetryPublisherFactory) {
+        this.notificationService = notificationService;
+        this.notificationMetrics = notificationMetrics;
+        this.retryRecoverer = orderRetryPublisherFactory.create(LISTENER_ID);
+    }
 
     @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
             topics = "${kafka.topic.orders}",
             groupId = "${spring.kafka.consumer.group-id}",
             containerFactory = "kafkaListenerContainerFactory"
     )
-    public void consume(ConsumerRecord<String, Object> record) {
+    public void consume(ConsumerRecord<String, Object> record, Acknowledgment ack) {
         Object rawEvent = record.value();
 
         log.debug("Received event from topic={} partition={} offset={}: {}",
@@ -31,13 +74,93 @@ public class OrderEventConsumer {
         if (rawEvent == null) {
             log.warn("Null event received at topic={} partition={} offset={}",
                     record.topic(), record.partition(), record.offset());
+            ack.acknowledge();
             return;
         }
 
+        // Mail failures are left to the retry topics until the last one
+        boolean finalAttempt = deliveryAttempt(record) > maxAttempts;
+        String key = record.topic() + '/' + (record.key() != null ? record.key() : "partition-" + record.partition());
+        CompletableFuture<Void> previous = pendingByKey.get(key);
+        CompletableFuture<Void> handled = previous == null
+                ? dispatchAsync(notificationService, rawEvent, finalAttempt)
+                : previous.thenCompose(ignored -> dispatchAsync(notificationService, rawEvent, finalAttempt));
+        CompletableFuture<Void> settled = handled.handle((ignored, failure) -> {
+            if (failure != null) {
+                retry(record, NotificationService.unwrap(failure));
+            }
+            ack.acknowledge();
+            return null;
+        });
+        pendingByKey.put(key, settled);
+        settled.whenComplete((ignored, failure) -> pendingByKey.remove(key, settled));
+    }
+
+    // What the container's error handler did while the listener still threw
+    private void retry(ConsumerRecord<String, Object> record, RuntimeException failure) {
+        try {
+            retryRecoverer.accept(record, null, failure);
+        } catch (RuntimeException publishFailure) {
+            log.error("Could not route order event at {}-{}@{} to a retry topic, trying it a last time: {}",
+                    record.topic(), record.partition(), record.offset(), publishFailure.getMessage());
+            try {
+                dispatch(notificationService, record.value(), true);
+            } catch (RuntimeException lastFailure) {
+                log.error("Dropping order event at {}-{}@{}", record.topic(), record.partition(), record.offset(),
+                        lastFailure);
+            }
+        }
+    }
+
+    /**
+     * DLT handler for the retry topics (see {@code RetryTopicConfig}): records what ran out of
+     * retries. The record stays on the dead-letter topic for inspection and replay.
+     */
+    public void onDeadLetter(ConsumerRecord<String, Object> record, Acknowledgment ack) {
+        Header cause = record.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN);
+        Header exception = cause != null ? cause : record.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_FQCN);
+        String className = exception == null ? "Unknown" : new String(exception.value(), StandardCharsets.UTF_8);
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+
+        notificationMetrics.countDeadLetter(ordersTopic, simpleName);
+        log.error("Order event with key {} exhausted its retries ({}) and is parked at {} partition={} offset={}",
+                record.key(), simpleName, record.topic(), record.partition(), record.offset());
+        ack.acknowledge();
+    }
+
+    static void dispatch(NotificationService notificationService, Object rawEvent) {
+        dispatch(notificationService, rawEvent, true);
+    }
+
+    private static void dispatch(NotificationService notificationService, Object rawEvent, boolean finalAttempt) {
         switch (rawEvent) {
-            case OrderPlacedEvent event -> notificationService.handleOrderPlaced(event);
-            case OrderCancelledEvent event -> notificationService.handleOrderCancelled(event);
+            case OrderPlacedEvent event -> notificationService.handleOrderPlaced(event, finalAttempt);
+            case OrderCancelledEvent event -> notificationService.handleOrderCancelled(event, finalAttempt);
             default -> log.warn("Unknown event type received: {}", rawEvent.getClass().getName());
         }
     }
+
+    // Failures, including ones thrown before the mail is handed off, complete the future
+    private static CompletableFuture<Void> dispatchAsync(NotificationService notificationService, Object rawEvent,
+                                                         boolean finalAttempt) {
+        try {
+            return switch (rawEvent) {
+                case OrderPlacedEvent event -> notificationService.handleOrderPlacedAsync(event, finalAttempt);
+                case OrderCancelledEvent event -> notificationService.handleOrderCancelledAsync(event, finalAttempt);
+                default -> {
+                    log.warn("Unknown event type received: {}", rawEvent.getClass().getName());
+                    yield CompletableFuture.completedFuture(null);
+                }
+            };
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    // 1 on the main topic; each hop to the next retry topic increments the attempts header, which
+    // holds a big-endian int of one or four bytes depending on the spring-kafka version that wrote it
+    static int deliveryAttempt(ConsumerRecord<?, ?> record) {
+        Header attempts = record.headers().lastHeader(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS);
+        return attempts == null ? 1 : new BigInteger(attempts.value()).intValue();
+    }
 }
@@ -0,0 +1,239 @@
+package com.eventflow.notificationservice.consumer;
+
+import com.eventflow.notificationservice.service.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Processes each poll with one virtual thread per record key: events for the same order run in
+ * offset order, different orders run concurrently. After the poll, each partition commits its
+ * contiguous completed prefix and seeks back to its first unfinished record, so a failure on one
+ * order never commits past that order's pending events. Records of other orders that completed
+ * past that point are remembered and skipped when the partition is read again.
+ *
+ * <p>A failed record's partition is paused for the retry backoff ({@code notification.retry.*})
+ * before it is read again; the record goes to the DLT after {@code max-attempts}. Undeserializable
+ * records go to the DLT at once.
+ *
+ * <p>It is also the container's rebalance listener: both of those per-partition states are
+ * dropped for partitions it no longer owns.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "parallel")
+@Slf4j
+public class ParallelOrderEventConsumer implements ConsumerAwareRebalanceListener, DisposableBean {
+
+    static final String LISTENER_ID = "order-events-parallel";
+
+    private final NotificationService notificationService;
+    private final DeadLetterPublishingRecoverer deadLetterRecoverer;
+    private final Semaphore inFlight;
+    private final int maxAttempts;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+    // Offsets past a partition's committed position that already completed, so not run again
+    private final Map<TopicPartition, Set<Long>> completedAhead = new ConcurrentHashMap<>();
+    private final KafkaListenerEndpointRegistry registry;
+    private final TaskScheduler taskScheduler;
+    private final long backoffInitialMs;
+    private final double backoffMultiplier;
+
+    public ParallelOrderEventConsumer(NotificationService notificationService,
+                                      DeadLetterPublishingRecoverer deadLetterRecoverer,
+                                      KafkaListenerEndpointRegistry registry,
+                                      TaskScheduler taskScheduler,
+                                      @Value("${notification.consumer.parallel.max-concurrency:64}") int maxConcurrency,
+                                      @Value("${notification.retry.max-attempts:3}") int maxAttempts,
+                                      @Value("${notification.retry.backoff-initial-ms:1000}") long backoffInitialMs,
+                                      @Value("${notification.retry.backoff-multiplier:2.0}") double backoffMultiplier) {
+        this.notificationService = notificationService;
+        this.deadLetterRecoverer = deadLetterRecoverer;
+        this.registry = registry;
+        this.taskScheduler = taskScheduler;
+        this.inFlight = new Semaphore(maxConcurrency);
+        this.maxAttempts = maxAttempts;
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMultiplier = backoffMultiplier;
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
+            topics = "${kafka.topic.orders}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "parallelKafkaListenerContainerFactory"
+    )
+    public void consume(List<ConsumerRecord<String, Object>> records, Consumer<?, ?> consumer) {
+        OffsetTracker tracker = new OffsetTracker(records);
+        List<ConsumerRecord<String, Object>> pending = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, Object> record : records) {
+            Set<Long> done = completedAhead.get(new TopicPartition(record.topic(), record.partition()));
+            if (done != null && done.contains(record.offset())) {
+                tracker.complete(record);
+            } else {
+                pending.add(record);
+            }
+        }
+
+        List<Future<?>> workers = new ArrayList<>();
+        for (List<ConsumerRecord<String, Object>> sameKey : groupByKey(pending).values()) {
+            workers.add(executor.submit(() -> processInOrder(sameKey, tracker)));
+        }
+        awaitAll(workers);
+
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        tracker.committableOffsets().forEach((tp, offset) -> commits.put(tp, new OffsetAndMetadata(offset)));
+        if (!commits.isEmpty()) {
+            consumer.commitSync(commits);
+        }
+        commits.forEach((tp, committed) -> completedAhead.computeIfPresent(tp, (k, done) -> {
+            done.removeIf(offset -> offset < committed.offset());
+            return done.isEmpty() ? null : done;
+        }));
+        tracker.completedAfterGap().forEach((tp, offsets) ->
+                completedAhead.computeIfAbsent(tp, k -> ConcurrentHashMap.newKeySet()).addAll(offsets));
+
+        tracker.incompleteOffsets().forEach((tp, offset) -> {
+            long delayMs = retryDelayMs(OffsetTracker.id(tp.topic(), tp.partition(), offset));
+            log.warn("Rewinding {} to offset {} after a failed record, retrying in {} ms", tp, offset, delayMs);
+            consumer.seek(tp, offset);
+            pause(tp, delayMs);
+        });
+    }
+
+    // The new owner resumes from the committed offset and counts its own attempts
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        for (TopicPartition tp : partitions) {
+            completedAhead.remove(tp);
+            String prefix = OffsetTracker.partitionPrefix(tp.topic(), tp.partition());
+            attempts.keySet().removeIf(id -> id.startsWith(prefix));
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Collection<TopicPartition> partitions) {
+        onPartitionsRevoked(partitions);
+    }
+
+    // Same schedule as the other modes' in-thread retries: initial, initial * multiplier, ...
+    private long retryDelayMs(String id) {
+        int attempt = attempts.getOrDefault(id, 1);
+        return (long) (backoffInitialMs * Math.pow(backoffMultiplier, attempt - 1));
+    }
+
+    // Through the container, which applies the pause before its next poll and keeps it across rebalances
+    private void pause(TopicPartition tp, long delayMs) {
+        MessageListenerContainer container = registry.getListenerContainer(LISTENER_ID);
+        if (container == null) {
+            return;
+        }
+        container.pausePartition(tp);
+        taskScheduler.schedule(() -> container.resumePartition(tp), Instant.now().plusMillis(delayMs));
+    }
+
+    private void processInOrder(List<ConsumerRecord<String, Object>> records, OffsetTracker tracker) {
+        for (ConsumerRecord<String, Object> record : records) {
+            if (!process(record)) {
+                return; // later events for this key must wait for this one
+            }
+            tracker.complete(record);
+        }
+    }
+
+    private boolean process(ConsumerRecord<String, Object> record) {
+        String id = OffsetTracker.id(record.topic(), record.partition(), record.offset());
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            if (record.value() == null) {
+                if (record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                    deadLetterRecoverer.accept(record, new DeserializationException(
+                            "Undeserializable record at offset " + record.offset(), null, false, null));
+                } else {
+                    log.warn("Null event received at topic={} partition={} offset={}",
+                            record.topic(), record.partition(), record.offset());
+                }
+                return true;
+            }
+            OrderEventConsumer.dispatch(notificationService, record.value());
+            attempts.remove(id);
+            return true;
+        } catch (Exception ex) {
+            int attempt = attempts.merge(id, 1, Integer::sum);
+            if (attempt < maxAttempts && !(ex instanceof IllegalArgumentException)) {
+                log.warn("Attempt {} of {} failed for {}: {}", attempt, maxAttempts, id, ex.getMessage());
+                return false;
+            }
+            log.error("Giving up on {} after {} attempts, sending to DLT", id, attempt, ex);
+            attempts.remove(id);
+            deadLetterRecoverer.accept(record, ex);
+            return true;
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    // Records without a key carry no ordering contract beyond their partition
+    private static Map<String, List<ConsumerRecord<String, Object>>> groupByKey(
+            List<ConsumerRecord<String, Object>> records) {
+        Map<String, List<ConsumerRecord<String, Object>>> byKey = new LinkedHashMap<>();
+        for (ConsumerRecord<String, Object> record : records) {
+            String key = record.key() != null ? record.key() : "partition-" + record.partition();
+            byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(record);
+        }
+        return byKey;
+    }
+
+    private static void awaitAll(List<Future<?>> workers) {
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException ex) {
+                log.error("Worker failed unexpectedly", ex.getCause());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.close();
+    }
+}
@@ -0,0 +1,51 @@
+package com.eventflow.notificationservice.controller;
+
+import com.eventflow.notificationservice.dto.DltReplayRequest;
+import com.eventflow.notificationservice.model.DltReplay;
+import com.eventflow.notificationservice.service.DltReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/dlt/replays")
+@RequiredArgsConstructor
+public class DltReplayController {
+
+    private final DltReplayService replayService;
+
+    // Accepted: the replay runs in the background, poll GET /{id} for progress
+    @PostMapping
+    public ResponseEntity<DltReplay> startReplay(@RequestBody DltReplayRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(replayService.start(request));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DltReplay>> getReplays() {
+        return ResponseEntity.ok(replayService.list());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DltReplay> getReplay(@PathVariable UUID id) {
+        return ResponseEntity.ok(replayService.get(id));
+    }
+
+    @PostMapping("/{id}/pause")
+    public ResponseEntity<DltReplay> pauseReplay(@PathVariable UUID id) {
+        return ResponseEntity.accepted().body(replayService.pause(id));
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<DltReplay> resumeReplay(@PathVariable UUID id) {
+        return ResponseEntity.accepted().body(replayService.resume(id));
+    }
+}
@@ -1,14 +1,23 @@
 package com.eventflow.notificationservice.controller;
 
+import com.eventflow.notificationservice.dto.NotificationFilter;
+import com.eventflow.notificationservice.dto.NotificationPage;
 import com.eventflow.notificationservice.model.Notification;
 import com.eventflow.notificationservice.service.NotificationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -16,9 +25,38 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<List<Notification>> getAllNotifications() {
-        return ResponseEntity.ok(notificationService.getAllNotifications());
+    public ResponseEntity<NotificationPage> getNotifications(
+            @RequestParam(required = false) Notification.DeliveryStatus status,
+            @RequestParam(required = false) Notification.NotificationType type,
+            @RequestParam(required = false) UUID orderId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        NotificationFilter filter = new NotificationFilter(status, type, orderId);
+        return ResponseEntity.ok(notificationService.getNotifications(filter, cursor, limit));
+    }
+
+    // Newline-delimited JSON, streamed straight from a database cursor
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportNotifications(
+            @RequestParam(required = false) Notification.DeliveryStatus status,
+            @RequestParam(required = false) Notification.NotificationType type,
+            @RequestParam(required = false) UUID orderId) {
+        NotificationFilter filter = new NotificationFilter(status, type, orderId);
+        ObjectWriter writer = objectMapper.writerFor(Notification.class);
+
+        StreamingResponseBody body = out -> notificationService.exportNotifications(filter, notification -> {
+            try {
+                out.write(writer.writeValueAsBytes(notification));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 }
@@ -0,0 +1,12 @@
+package com.eventflow.notificationservice.dto;
+
+import java.time.Instant;
+
+/**
+ * Which dead-lettered records to replay and how fast. Every filter is optional; {@code from} and
+ * {@code to} bound the time the record was dead-lettered, {@code exceptionType} matches the
+ * simple or fully qualified name of the exception or its cause, {@code eventType} is
+ * {@code orderPlaced} or {@code orderCancelled}.
+ */
+public record DltReplayRequest(Instant from, Instant to, String exceptionType, String eventType,
+                               Integer ratePerSecond) {}
@@ -0,0 +1,12 @@
+package com.eventflow.notificationservice.dto;
+
+import com.eventflow.notificationservice.model.Notification;
+
+import java.util.UUID;
+
+// Every field is optional; null means "don't filter on this column"
+public record NotificationFilter(
+        Notification.DeliveryStatus status,
+        Notification.NotificationType type,
+        UUID orderId
+) {}
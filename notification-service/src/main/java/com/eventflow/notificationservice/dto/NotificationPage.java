@@ -0,0 +1,11 @@
+package com.eventflow.notificationservice.dto;
+
+import com.eventflow.notificationservice.model.Notification;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record NotificationPage(
+        List<Notification> items,
+        String nextCursor
+) {}
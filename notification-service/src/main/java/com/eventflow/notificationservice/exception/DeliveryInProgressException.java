@@ -0,0 +1,8 @@
+package com.eventflow.notificationservice.exception;
+
+/** Another delivery of the same order event holds its claim and has not settled it yet. */
+public class DeliveryInProgressException extends RuntimeException {
+    public DeliveryInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.eventflow.notificationservice.exception;
+
+import java.util.UUID;
+
+public class DltReplayNotFoundException extends RuntimeException {
+    public DltReplayNotFoundException(UUID id) {
+        super("Replay not found: " + id);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventflow.notificationservice.exception;
+
+public class DltReplayStateException extends RuntimeException {
+    public DltReplayStateException(String message) {
+        super(message);
+    }
+}
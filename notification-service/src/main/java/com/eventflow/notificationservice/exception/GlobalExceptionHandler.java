@@ -0,0 +1,38 @@
+package com.eventflow.notificationservice.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.net.URI;
+
+@RestControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException ex) {
+        log.warn("Bad request: {}", ex.getMessage());
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+        problem.setType(URI.create("/errors/bad-request"));
+        return problem;
+    }
+
+    @ExceptionHandler(DltReplayNotFoundException.class)
+    public ProblemDetail handleReplayNotFound(DltReplayNotFoundException ex) {
+        log.warn("Replay not found: {}", ex.getMessage());
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+        problem.setType(URI.create("/errors/replay-not-found"));
+        return problem;
+    }
+
+    @ExceptionHandler(DltReplayStateException.class)
+    public ProblemDetail handleReplayState(DltReplayStateException ex) {
+        log.warn("Replay conflict: {}", ex.getMessage());
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+        problem.setType(URI.create("/errors/replay-conflict"));
+        return problem;
+    }
+}
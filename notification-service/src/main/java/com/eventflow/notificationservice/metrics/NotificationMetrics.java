@@ -0,0 +1,108 @@
+package com.eventflow.notificationservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Timers and counters for the consumer half of the order → notification pipeline. Consumer lag
+ * per partition comes from the Kafka client metrics bound in {@code KafkaConsumerConfig}
+ * ({@code kafka.consumer.fetch.manager.records.lag}).
+ */
+@Component
+public class NotificationMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public NotificationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** End-to-end latency: from the event's {@code occurredAt} to the moment it is consumed. */
+    public void recordEventAge(String eventType, Instant occurredAt) {
+        if (occurredAt == null) {
+            return;
+        }
+        Timer.builder("eventflow.event.age")
+                .description("Age of an order event when the notification service picks it up")
+                .tag("event", eventType)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.between(occurredAt, Instant.now()));
+    }
+
+    public void recordEmailSend(long startNanos, boolean success) {
+        emailSendTimer(success).record(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Records messages sent together over one SMTP session as one send each. The session gives
+     * no per-message latency, so each is timed at the batch's average.
+     */
+    public void recordEmailSends(long startNanos, int succeeded, int failed) {
+        int total = succeeded + failed;
+        if (total == 0) {
+            return;
+        }
+        Duration each = Duration.ofNanos((System.nanoTime() - startNanos) / total);
+        Timer successes = emailSendTimer(true);
+        Timer failures = emailSendTimer(false);
+        for (int i = 0; i < succeeded; i++) {
+            successes.record(each);
+        }
+        for (int i = 0; i < failed; i++) {
+            failures.record(each);
+        }
+    }
+
+    private Timer emailSendTimer(boolean success) {
+        return Timer.builder("eventflow.email.send")
+                .description("SMTP send latency per message")
+                .tag("result", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void gaugeListenerConcurrency(String listenerId, Supplier<Number> concurrency) {
+        Gauge.builder("eventflow.consumer.concurrency", concurrency)
+                .description("Consumer threads of the order listener container")
+                .tag("listener", listenerId)
+                .register(meterRegistry);
+    }
+
+    public void countDuplicate(String eventType) {
+        Counter.builder("eventflow.events.duplicate")
+                .description("Redelivered order events skipped by the dedupe check")
+                .tag("event", eventType)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void countDeadLetter(String topic, Exception cause) {
+        countDeadLetter(topic, rootCause(cause).getClass().getSimpleName());
+    }
+
+    /** For records that reach the dead-letter topic through the retry topics; {@code exception} is a simple class name. */
+    public void countDeadLetter(String topic, String exception) {
+        Counter.builder("eventflow.dlt.records")
+                .description("Records routed to the dead-letter topic")
+                .tag("topic", topic)
+                .tag("exception", exception)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static Throwable rootCause(Throwable ex) {
+        Throwable cause = ex;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,123 @@
+package com.eventflow.notificationservice.model;
+
+import com.eventflow.contracts.UuidV7;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A bulk replay of dead-lettered order events, with its filter and how far it has got in each
+ * partition of the dead-letter topic. Saved as it progresses, so a paused or interrupted replay
+ * resumes where it stopped.
+ */
+@Entity
+@Table(name = "dlt_replays")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DltReplay implements Persistable<UUID> {
+
+    // Assigned up front: the consumer that sizes the replay is named after it before the first save
+    @Id
+    private UUID id = UuidV7.next();
+
+    @Version
+    private long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.RUNNING;
+
+    // Dead-lettering time range, from inclusive, to exclusive
+    private Instant fromTime;
+
+    private Instant toTime;
+
+    // Simple or fully qualified class name of the exception or its cause
+    private String exceptionType;
+
+    // orderPlaced or orderCancelled
+    private String eventType;
+
+    @Column(nullable = false)
+    private int ratePerSecond;
+
+    // Records read from the topic, whether or not they matched the filter
+    private long scanned;
+
+    private long replayed;
+
+    // Matched, but the notification had been sent already or was being sent by another delivery
+    private long alreadySent;
+
+    private long failed;
+
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(nullable = false)
+    private Instant updatedAt = Instant.now();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "dlt_replay_partitions", joinColumns = @JoinColumn(name = "replay_id"))
+    @OrderBy("partition")
+    private List<PartitionProgress> partitions = new ArrayList<>();
+
+    // With an assigned id Spring Data cannot tell new from detached; without this the first save
+    // would be a merge, i.e. a SELECT before the INSERT
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
+
+    public long getRemaining() {
+        return partitions.stream().mapToLong(PartitionProgress::remaining).sum();
+    }
+
+    public enum Status {
+        RUNNING, PAUSED, COMPLETED
+    }
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PartitionProgress {
+
+        @Column(name = "partition_id", nullable = false)
+        private int partition;
+
+        @Column(nullable = false)
+        private long nextOffset;
+
+        @Column(nullable = false)
+        private long endOffset;
+
+        long remaining() {
+            return Math.max(0, endOffset - nextOffset);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -15,8 +16,13 @@ import java.util.UUID;
 @NoArgsConstructor
 public class Notification {
 
+    // One notification per order event: an order is placed once and cancelled at most once.
+    // Primary key of notification_keys, claimed by every insert into this partitioned table.
+    public static final String ORDER_TYPE_CONSTRAINT = "uq_notifications_order_type";
+
+    // Time-ordered, so inserts append to the primary key index
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(nullable = false)
@@ -35,6 +41,11 @@ public class Notification {
 
     private String errorMessage;
 
+    // While PENDING: until when the delivery that inserted it holds the claim (EventDeduplicator)
+    private Instant claimedUntil;
+
+    // Partition key: Hibernate adds it to the WHERE clause of updates so they touch one partition
+    @PartitionKey
     @Column(nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
 
@@ -43,6 +54,6 @@ public class Notification {
     }
 
     public enum DeliveryStatus {
-        SENT, FAILED
+        PENDING, SENT, FAILED
     }
 }
@@ -0,0 +1,45 @@
+package com.eventflow.notificationservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The (order, type) claimed by a notification, and when, which locates its partition. Written by
+ * a trigger on insert into {@code notifications}; its primary key is what makes a notification
+ * unique per order event now that {@code notifications} is partitioned.
+ */
+@Entity
+@Immutable
+@Table(name = "notification_keys")
+@IdClass(NotificationKey.Pk.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationKey {
+
+    @Id
+    private UUID orderId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Notification.NotificationType type;
+
+    private Instant createdAt;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Pk implements Serializable {
+        private UUID orderId;
+        private Notification.NotificationType type;
+    }
+}
@@ -0,0 +1,18 @@
+package com.eventflow.notificationservice.model;
+
+import com.eventflow.contracts.UuidV7;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Assigns {@link UuidV7} ids at persist time. Unlike an id set in the field initializer, the id
+ * stays null until then, so Spring Data still sees new entities as new and inserts them without a
+ * SELECT first.
+ */
+public class UuidV7Generator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return UuidV7.next();
+    }
+}
@@ -0,0 +1,36 @@
+package com.eventflow.notificationservice.repository;
+
+import com.eventflow.notificationservice.model.DltReplay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface DltReplayRepository extends JpaRepository<DltReplay, UUID> {
+
+    List<DltReplay> findAllByOrderByCreatedAtDesc();
+
+    /**
+     * Switches a replay that is PAUSED, or RUNNING but not saved since {@code staleBefore}, to
+     * RUNNING; 1 if this caller got it.
+     */
+    default int claimForResume(UUID id, Instant now, Instant staleBefore) {
+        return claimForResume(id, DltReplay.Status.PAUSED, DltReplay.Status.RUNNING, now, staleBefore);
+    }
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE DltReplay r SET r.status = :running, r.lastError = NULL, r.updatedAt = :now, r.version = r.version + 1
+            WHERE r.id = :id
+              AND (r.status = :paused OR (r.status = :running AND r.updatedAt < :staleBefore))
+            """)
+    int claimForResume(@Param("id") UUID id, @Param("paused") DltReplay.Status paused,
+                       @Param("running") DltReplay.Status running,
+                       @Param("now") Instant now, @Param("staleBefore") Instant staleBefore);
+}
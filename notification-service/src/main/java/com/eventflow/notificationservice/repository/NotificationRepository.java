@@ -2,10 +2,58 @@ package com.eventflow.notificationservice.repository;
 
 import com.eventflow.notificationservice.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface NotificationRepository extends JpaRepository<Notification, UUID> {
-    List<Notification> findAllByOrderByCreatedAtDesc();
+public interface NotificationRepository extends JpaRepository<Notification, UUID>, NotificationRepositoryCustom {
+
+    // The key's created_at lets the executor prune to the one partition holding the row
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.orderId = :orderId AND n.type = :type
+              AND n.createdAt = (SELECT k.createdAt FROM NotificationKey k WHERE k.orderId = :orderId AND k.type = :type)
+            """)
+    Optional<Notification> findByOrderIdAndType(@Param("orderId") UUID orderId,
+                                                @Param("type") Notification.NotificationType type);
+
+    /** Claims a PENDING notification whose claim expired or was released; 1 if this caller got it. */
+    default int takeOverClaim(UUID orderId, Notification.NotificationType type, Instant now, Instant until) {
+        return takeOverClaim(orderId, type, Notification.DeliveryStatus.PENDING, now, until);
+    }
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Notification n SET n.claimedUntil = :until
+            WHERE n.orderId = :orderId AND n.type = :type
+              AND n.createdAt = (SELECT k.createdAt FROM NotificationKey k WHERE k.orderId = :orderId AND k.type = :type)
+              AND n.status = :pending
+              AND (n.claimedUntil IS NULL OR n.claimedUntil < :now)
+            """)
+    int takeOverClaim(@Param("orderId") UUID orderId, @Param("type") Notification.NotificationType type,
+                      @Param("pending") Notification.DeliveryStatus pending,
+                      @Param("now") Instant now, @Param("until") Instant until);
+
+    /** Claims a FAILED notification for a replay, turning it PENDING; 1 if this caller got it. */
+    default int claimFailed(UUID orderId, Notification.NotificationType type, Instant until) {
+        return claimFailed(orderId, type, Notification.DeliveryStatus.FAILED, Notification.DeliveryStatus.PENDING, until);
+    }
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Notification n SET n.status = :pending, n.errorMessage = NULL, n.claimedUntil = :until
+            WHERE n.orderId = :orderId AND n.type = :type
+              AND n.createdAt = (SELECT k.createdAt FROM NotificationKey k WHERE k.orderId = :orderId AND k.type = :type)
+              AND n.status = :failed
+            """)
+    int claimFailed(@Param("orderId") UUID orderId, @Param("type") Notification.NotificationType type,
+                    @Param("failed") Notification.DeliveryStatus failed,
+                    @Param("pending") Notification.DeliveryStatus pending, @Param("until") Instant until);
 }
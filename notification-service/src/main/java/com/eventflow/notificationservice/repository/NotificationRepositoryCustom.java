@@ -0,0 +1,27 @@
+package com.eventflow.notificationservice.repository;
+
+import com.eventflow.notificationservice.dto.NotificationCursor;
+import com.eventflow.notificationservice.dto.NotificationFilter;
+import com.eventflow.notificationservice.model.Notification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface NotificationRepositoryCustom {
+
+    /** Newest first, strictly after {@code after} when given. */
+    List<Notification> findPage(NotificationFilter filter, NotificationCursor after, int limit);
+
+    /**
+     * Server-side cursor over every matching row, newest first. Rows are detached as they are
+     * read so the persistence context stays empty. Must be consumed inside a transaction and closed.
+     */
+    Stream<Notification> streamAll(NotificationFilter filter, int fetchSize);
+
+    /**
+     * Writes the status, error and claim of notifications already inserted, in one transaction.
+     * Each update matches {@code created_at} as well as the id, so it touches one partition; a
+     * {@code save} of a detached notification would merge, first looking it up by id in all of them.
+     */
+    void updateDeliveries(List<Notification> notifications);
+}
@@ -0,0 +1,92 @@
+package com.eventflow.notificationservice.repository;
+
+import com.eventflow.notificationservice.dto.NotificationCursor;
+import com.eventflow.notificationservice.dto.NotificationFilter;
+import com.eventflow.notificationservice.model.Notification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+class NotificationRepositoryImpl implements NotificationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Notification> findPage(NotificationFilter filter, NotificationCursor after, int limit) {
+        return query(filter, after)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Notification> streamAll(NotificationFilter filter, int fetchSize) {
+        return query(filter, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(notification -> {
+                    entityManager.detach(notification);
+                    return notification;
+                });
+    }
+
+    @Override
+    @Transactional
+    public void updateDeliveries(List<Notification> notifications) {
+        Query update = entityManager.createQuery("""
+                UPDATE Notification n SET n.status = :status, n.errorMessage = :errorMessage, n.claimedUntil = :claimedUntil
+                WHERE n.id = :id AND n.createdAt = :createdAt
+                """);
+        for (Notification notification : notifications) {
+            update.setParameter("status", notification.getStatus())
+                    .setParameter("errorMessage", notification.getErrorMessage())
+                    .setParameter("claimedUntil", notification.getClaimedUntil())
+                    .setParameter("id", notification.getId())
+                    .setParameter("createdAt", notification.getCreatedAt())
+                    .executeUpdate();
+        }
+    }
+
+    // Only the filters actually supplied end up in the SQL, so the planner always sees a
+    // plain equality prefix plus a row-value range it can serve from one composite index.
+    private TypedQuery<Notification> query(NotificationFilter filter, NotificationCursor after) {
+        StringBuilder jpql = new StringBuilder("SELECT n FROM Notification n WHERE 1 = 1");
+        if (filter.status() != null) {
+            jpql.append(" AND n.status = :status");
+        }
+        if (filter.type() != null) {
+            jpql.append(" AND n.type = :type");
+        }
+        if (filter.orderId() != null) {
+            jpql.append(" AND n.orderId = :orderId");
+        }
+        if (after != null) {
+            // The plain bound is implied by the row comparison but is what partition pruning can use
+            jpql.append(" AND n.createdAt <= :afterCreatedAt AND (n.createdAt, n.id) < (:afterCreatedAt, :afterId)");
+        }
+        jpql.append(" ORDER BY n.createdAt DESC, n.id DESC");
+
+        TypedQuery<Notification> query = entityManager.createQuery(jpql.toString(), Notification.class);
+        if (filter.status() != null) {
+            query.setParameter("status", filter.status());
+        }
+        if (filter.type() != null) {
+            query.setParameter("type", filter.type());
+        }
+        if (filter.orderId() != null) {
+            query.setParameter("orderId", filter.orderId());
+        }
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.createdAt());
+            query.setParameter("afterId", after.id());
+        }
+        return query;
+    }
+}
@@ -0,0 +1,361 @@
+package com.eventflow.notificationservice.service;
+
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.dto.DltReplayRequest;
+import com.eventflow.notificationservice.exception.DltReplayNotFoundException;
+import com.eventflow.notificationservice.exception.DltReplayStateException;
+import com.eventflow.notificationservice.model.DltReplay.PartitionProgress;
+import com.eventflow.notificationservice.model.DltReplay;
+import com.eventflow.notificationservice.repository.DltReplayRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Replays dead-lettered order events through {@link NotificationService#replay}, at most
+ * {@code ratePerSecond} per replay so a recovering mail provider is not flooded.
+ *
+ * <p>A replay covers the records on the dead-letter topic when it was created. Records
+ * dead-lettered while it runs are left for the next one, so a replay always ends. It reads the
+ * topic with its own assigned consumer and commits nothing to Kafka; its position per partition
+ * is saved in {@code dlt_replay_partitions} every second. A replay stops and is marked
+ * {@code PAUSED} when asked to, or when an event fails with a transient error such as an SMTP
+ * outage. Resuming continues from the saved position.
+ */
+@Service
+@Slf4j
+public class DltReplayService implements DisposableBean {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration SAVE_INTERVAL = Duration.ofSeconds(1);
+    // A RUNNING replay that has not saved progress for this long was cut off by a shutdown or crash
+    private static final Duration STALE_AFTER = Duration.ofMinutes(1);
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private final DltReplayRepository replayRepository;
+    private final NotificationService notificationService;
+    private final ConsumerFactory<String, Object> consumerFactory;
+    private final String dltTopic;
+    private final int defaultRate;
+    private final int maxRate;
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> pauseRequested = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DltReplayService(DltReplayRepository replayRepository,
+                            NotificationService notificationService,
+                            ConsumerFactory<String, Object> consumerFactory,
+                            @Value("${kafka.topic.orders-dlt}") String dltTopic,
+                            @Value("${notification.replay.default-rate:20}") int defaultRate,
+                            @Value("${notification.replay.max-rate:200}") int maxRate) {
+        this.replayRepository = replayRepository;
+        this.notificationService = notificationService;
+        this.consumerFactory = consumerFactory;
+        this.dltTopic = dltTopic;
+        this.defaultRate = defaultRate;
+        this.maxRate = maxRate;
+    }
+
+    public DltReplay start(DltReplayRequest request) {
+        int rate = request.ratePerSecond() == null ? defaultRate : request.ratePerSecond();
+        if (rate < 1 || rate > maxRate) {
+            throw new IllegalArgumentException("ratePerSecond must be between 1 and " + maxRate);
+        }
+        if (request.from() != null && request.to() != null && !request.from().isBefore(request.to())) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (request.eventType() != null && !List.of("orderPlaced", "orderCancelled").contains(request.eventType())) {
+            throw new IllegalArgumentException("eventType must be orderPlaced or orderCancelled");
+        }
+
+        DltReplay replay = new DltReplay();
+        replay.setFromTime(request.from());
+        replay.setToTime(request.to());
+        replay.setExceptionType(request.exceptionType());
+        replay.setEventType(request.eventType());
+        replay.setRatePerSecond(rate);
+        try (Consumer<String, Object> consumer = newConsumer(replay.getId())) {
+            replay.setPartitions(range(consumer, request.from(), request.to()));
+        }
+        if (replay.getRemaining() == 0) {
+            replay.setStatus(DltReplay.Status.COMPLETED);
+        }
+        replay = replayRepository.save(replay);
+        log.info("Replay {} created for {} records on {} at {}/s", replay.getId(), replay.getRemaining(), dltTopic, rate);
+
+        if (replay.getStatus() == DltReplay.Status.RUNNING) {
+            submit(replay);
+        }
+        return replay;
+    }
+
+    public DltReplay get(UUID id) {
+        return replayRepository.findById(id).orElseThrow(() -> new DltReplayNotFoundException(id));
+    }
+
+    public List<DltReplay> list() {
+        return replayRepository.findAllByOrderByCreatedAtDesc();
+    }
+
+    /** Asks a running replay to stop after the record in hand; it saves its position and turns {@code PAUSED}. */
+    public DltReplay pause(UUID id) {
+        DltReplay replay = get(id);
+        if (!running.contains(id)) {
+            throw new DltReplayStateException("Replay " + id + " is not running on this instance");
+        }
+        pauseRequested.add(id);
+        return replay;
+    }
+
+    /**
+     * Restarts a PAUSED replay, or a RUNNING one whose runner stopped saving. The switch to
+     * RUNNING is a conditional update, so of concurrent resumes on any instances only one wins.
+     */
+    public DltReplay resume(UUID id) {
+        DltReplay replay = get(id);
+        if (running.contains(id)) {
+            throw new DltReplayStateException("Replay " + id + " is already running");
+        }
+        Instant now = Instant.now();
+        if (replayRepository.claimForResume(id, now, now.minus(STALE_AFTER)) == 0) {
+            throw new DltReplayStateException("Replay " + id + " is " + replay.getStatus() + " and cannot be resumed");
+        }
+        replay = get(id);
+        submit(replay);
+        return replay;
+    }
+
+    private void submit(DltReplay replay) {
+        if (!running.add(replay.getId())) {
+            throw new DltReplayStateException("Replay " + replay.getId() + " is already running");
+        }
+        executor.submit(() -> {
+            try {
+                run(replay);
+            } catch (OptimisticLockingFailureException ex) {
+                // Resumed elsewhere as stale; the new runner owns the row now
+                log.warn("Replay {} was taken over by another runner, stopping", replay.getId());
+            } catch (RuntimeException ex) {
+                log.error("Replay {} stopped unexpectedly", replay.getId(), ex);
+                replay.setLastError(ex.getMessage());
+                replay.setStatus(DltReplay.Status.PAUSED);
+                save(replay);
+            } finally {
+                running.remove(replay.getId());
+                pauseRequested.remove(replay.getId());
+            }
+        });
+    }
+
+    private void run(DltReplay replay) {
+        Map<TopicPartition, PartitionProgress> pending = new HashMap<>();
+        for (PartitionProgress progress : replay.getPartitions()) {
+            if (progress.getNextOffset() < progress.getEndOffset()) {
+                pending.put(new TopicPartition(dltTopic, progress.getPartition()), progress);
+            }
+        }
+        RatePacer pacer = new RatePacer(replay.getRatePerSecond());
+        long lastSave = System.nanoTime();
+
+        try (Consumer<String, Object> consumer = newConsumer(replay.getId())) {
+            consumer.assign(pending.keySet());
+            pending.forEach((partition, progress) -> consumer.seek(partition, progress.getNextOffset()));
+
+            while (!pending.isEmpty()) {
+                if (pauseRequested.contains(replay.getId())) {
+                    stop(replay, null);
+                    return;
+                }
+                ConsumerRecords<String, Object> records = consumer.poll(POLL_TIMEOUT);
+                for (ConsumerRecord<String, Object> record : records) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    PartitionProgress progress = pending.get(partition);
+                    if (progress == null || record.offset() >= progress.getEndOffset()) {
+                        continue;
+                    }
+                    if (pauseRequested.contains(replay.getId())) {
+                        stop(replay, null);
+                        return;
+                    }
+                    if (matches(replay, record)) {
+                        try {
+                            pacer.acquire();
+                            replayRecord(replay, record);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            stop(replay, "Interrupted");
+                            return;
+                        } catch (RuntimeException ex) {
+                            // Position stays on this record, so resuming retries it first
+                            log.warn("Replay {} paused at partition={} offset={}: {}",
+                                    replay.getId(), record.partition(), record.offset(), ex.getMessage());
+                            stop(replay, ex.getMessage());
+                            return;
+                        }
+                    }
+                    replay.setScanned(replay.getScanned() + 1);
+                    progress.setNextOffset(record.offset() + 1);
+                    // Also within a poll: at a low rate one poll takes minutes, and a replay that
+                    // does not save for STALE_AFTER may be resumed elsewhere as interrupted
+                    if (System.nanoTime() - lastSave > SAVE_INTERVAL.toNanos()) {
+                        save(replay);
+                        lastSave = System.nanoTime();
+                    }
+                }
+
+                // Also covers gaps such as transaction markers at the end of the range
+                pending.entrySet().removeIf(entry -> {
+                    long position = Math.min(consumer.position(entry.getKey()), entry.getValue().getEndOffset());
+                    entry.getValue().setNextOffset(Math.max(entry.getValue().getNextOffset(), position));
+                    return entry.getValue().getNextOffset() >= entry.getValue().getEndOffset();
+                });
+                if (System.nanoTime() - lastSave > SAVE_INTERVAL.toNanos()) {
+                    save(replay);
+                    lastSave = System.nanoTime();
+                }
+            }
+        }
+        replay.setStatus(DltReplay.Status.COMPLETED);
+        save(replay);
+        log.info("Replay {} completed: {} replayed, {} already sent, {} failed, {} scanned",
+                replay.getId(), replay.getReplayed(), replay.getAlreadySent(), replay.getFailed(), replay.getScanned());
+    }
+
+    private void replayRecord(DltReplay replay, ConsumerRecord<String, Object> record) {
+        if (!(record.value() instanceof OrderEvent event)) {
+            // Undeserializable — replaying cannot fix it
+            replay.setFailed(replay.getFailed() + 1);
+            replay.setLastError("Unreadable record at partition " + record.partition() + " offset " + record.offset());
+            return;
+        }
+        switch (notificationService.replay(event)) {
+            case DELIVERED -> replay.setReplayed(replay.getReplayed() + 1);
+            case ALREADY_SENT, IN_PROGRESS -> replay.setAlreadySent(replay.getAlreadySent() + 1);
+            case FAILED -> replay.setFailed(replay.getFailed() + 1);
+        }
+    }
+
+    private void stop(DltReplay replay, String error) {
+        replay.setStatus(DltReplay.Status.PAUSED);
+        replay.setLastError(error);
+        save(replay);
+        log.info("Replay {} paused with {} records left", replay.getId(), replay.getRemaining());
+    }
+
+    // The runner keeps saving the instance it started with, so it takes on each merge's new version
+    private DltReplay save(DltReplay replay) {
+        replay.setUpdatedAt(Instant.now());
+        replay.setVersion(replayRepository.save(replay).getVersion());
+        return replay;
+    }
+
+    static boolean matches(DltReplay replay, ConsumerRecord<?, ?> record) {
+        Instant deadLettered = Instant.ofEpochMilli(record.timestamp());
+        if (replay.getFromTime() != null && deadLettered.isBefore(replay.getFromTime())) {
+            return false;
+        }
+        if (replay.getToTime() != null && !deadLettered.isBefore(replay.getToTime())) {
+            return false;
+        }
+        if (replay.getEventType() != null && !replay.getEventType().equals(eventType(record))) {
+            return false;
+        }
+        return replay.getExceptionType() == null
+                || classMatches(replay.getExceptionType(), header(record, KafkaHeaders.DLT_EXCEPTION_FQCN))
+                || classMatches(replay.getExceptionType(), header(record, KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN));
+    }
+
+    // The deserialized value, or the type header when the value could not be read
+    private static String eventType(ConsumerRecord<?, ?> record) {
+        return switch (record.value()) {
+            case OrderPlacedEvent placed -> "orderPlaced";
+            case OrderCancelledEvent cancelled -> "orderCancelled";
+            case null, default -> header(record, TYPE_ID_HEADER);
+        };
+    }
+
+    private static boolean classMatches(String wanted, String className) {
+        return className != null && (className.equals(wanted) || className.endsWith("." + wanted));
+    }
+
+    private static String header(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    // Offsets bounding [from, to) per partition; the end is fixed now so the replay terminates
+    private List<PartitionProgress> range(Consumer<String, Object> consumer, Instant from, Instant to) {
+        List<TopicPartition> partitions = new ArrayList<>();
+        for (PartitionInfo info : consumer.partitionsFor(dltTopic)) {
+            partitions.add(new TopicPartition(dltTopic, info.partition()));
+        }
+        Map<TopicPartition, Long> starts = from == null
+                ? consumer.beginningOffsets(partitions)
+                : offsetsAt(consumer, partitions, from);
+        Map<TopicPartition, Long> ends = to == null
+                ? consumer.endOffsets(partitions)
+                : offsetsAt(consumer, partitions, to);
+
+        List<PartitionProgress> progress = new ArrayList<>();
+        for (TopicPartition partition : partitions) {
+            progress.add(new PartitionProgress(partition.partition(), starts.get(partition), ends.get(partition)));
+        }
+        return progress;
+    }
+
+    // First offset at or after the timestamp; the log end when there is none
+    private static Map<TopicPartition, Long> offsetsAt(Consumer<String, Object> consumer, List<TopicPartition> partitions,
+                                                       Instant timestamp) {
+        Map<TopicPartition, Long> query = new HashMap<>();
+        partitions.forEach(partition -> query.put(partition, timestamp.toEpochMilli()));
+        Map<TopicPartition, OffsetAndTimestamp> found = consumer.offsetsForTimes(query);
+        Map<TopicPartition, Long> ends = consumer.endOffsets(partitions);
+
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            OffsetAndTimestamp offset = found.get(partition);
+            offsets.put(partition, offset != null ? offset.offset() : ends.get(partition));
+        }
+        return offsets;
+    }
+
+    private Consumer<String, Object> newConsumer(UUID replayId) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return consumerFactory.createConsumer("dlt-replay", null, "-replay-" + replayId, overrides);
+    }
+
+    @Override
+    public void destroy() {
+        // Replays notice the interrupt, save their position and pause
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,97 @@
+package com.eventflow.notificationservice.service;
+
+import com.eventflow.notificationservice.metrics.NotificationMetrics;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sends mail from virtual threads over pooled SMTP connections. At most
+ * {@code notification.mail.dispatch.max-in-flight} messages are on the wire to the SMTP host
+ * at once; further dispatches park until a connection is free, for up to
+ * {@code borrow-timeout}. On shutdown, dispatches already accepted finish before the connections close.
+ *
+ * <p>JavaMail's {@code SMTPTransport} synchronizes on the transport while sending, which pins the
+ * carrier thread. Keep max-in-flight at or below the carrier pool size (available processors by
+ * default) so pinned senders cannot starve other virtual threads.
+ */
+@Component
+@Slf4j
+public class EmailDispatcher implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+    private final SmtpTransportPool transportPool;
+    private final NotificationMetrics notificationMetrics;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public EmailDispatcher(JavaMailSenderImpl mailSender,
+                           NotificationMetrics notificationMetrics,
+                           @Value("${notification.mail.dispatch.max-in-flight:4}") int maxInFlight,
+                           @Value("${notification.mail.dispatch.borrow-timeout:30s}") Duration borrowTimeout) {
+        this.mailSender = mailSender;
+        this.notificationMetrics = notificationMetrics;
+        this.transportPool = new SmtpTransportPool(mailSender.getSession(), mailSender.getProtocol(),
+                mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword(),
+                maxInFlight, borrowTimeout);
+    }
+
+    /**
+     * Completes once the SMTP server has accepted the message, or exceptionally with a
+     * {@link MailSendException}.
+     */
+    public CompletableFuture<Void> dispatch(SimpleMailMessage message) {
+        return CompletableFuture.runAsync(() -> send(message), executor);
+    }
+
+    private void send(SimpleMailMessage message) {
+        Transport transport;
+        try {
+            transport = transportPool.borrow();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted waiting for an SMTP connection", ex);
+        } catch (MessagingException ex) {
+            throw new MailSendException("Could not connect to SMTP host " + transportPool.host(), ex);
+        }
+
+        // Timed from connection checkout, so waiting for the SMTP host is not counted
+        long startNanos = System.nanoTime();
+        boolean reusable = false;
+        boolean sent = false;
+        try {
+            MimeMessage mimeMessage = MimeMessages.toMimeMessage(mailSender, message);
+            transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+            reusable = true;
+            sent = true;
+        } catch (SendFailedException ex) {
+            // Rejected recipients — the connection itself is still healthy
+            reusable = true;
+            throw new MailSendException("Failed to send mail to " + Arrays.toString(message.getTo()), ex);
+        } catch (MessagingException ex) {
+            throw new MailSendException("Failed to send mail to " + Arrays.toString(message.getTo()), ex);
+        } finally {
+            notificationMetrics.recordEmailSend(startNanos, sent);
+            transportPool.release(transport, reusable);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.close();
+        transportPool.close();
+    }
+}
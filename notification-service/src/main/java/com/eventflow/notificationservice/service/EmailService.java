@@ -1,66 +1,210 @@
 package com.eventflow.notificationservice.service;
 
-import com.eventflow.notificationservice.event.OrderCancelledEvent;
-import com.eventflow.notificationservice.event.OrderPlacedEvent;
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.metrics.NotificationMetrics;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final EmailDispatcher emailDispatcher;
+    private final NotificationMetrics notificationMetrics;
+    private final EmailTemplateRenderer templateRenderer;
 
     @Value("${notification.from-email}")
     private String fromEmail;
 
+    @Value("${notification.mail.dispatch.enabled:true}")
+    private boolean asyncDispatch;
+
+    // Events carry no customer locale yet, so one locale per deployment picks the template variant
+    @Value("${notification.mail.locale:en}")
+    private Locale locale;
+
     public void sendOrderConfirmation(OrderPlacedEvent event) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(event.customerEmail());
-        message.setSubject("Order Confirmed — " + event.productName());
-        message.setText("""
-                Hi there,
-
-                Your order has been placed successfully!
-
-                Order ID:     %s
-                Product:      %s
-                Quantity:     %d
-                Total Price:  $%.2f
-
-                Thank you for shopping with EventFlow!
-                """.formatted(
-                event.orderId(), event.productName(),
-                event.quantity(), event.totalPrice()
-        ));
-        mailSender.send(message);
-        log.info("Confirmation email sent to {} for order {}", event.customerEmail(), event.orderId());
+        await(sendOrderConfirmationAsync(event));
     }
 
     public void sendOrderCancellation(OrderCancelledEvent event) {
-        SimpleMailMessage message = new SimpleMailMessage();
+        await(sendOrderCancellationAsync(event));
+    }
+
+    /**
+     * Completes once the server accepted the mail, or exceptionally with the {@link MailException}.
+     * With async dispatch the caller's thread is not held for the SMTP round trip; otherwise the
+     * mail has already been sent synchronously when this returns.
+     */
+    public CompletableFuture<Void> sendOrderConfirmationAsync(OrderPlacedEvent event) {
+        return deliver(confirmationMessage(event)).thenRun(() ->
+                log.info("Confirmation email sent to {} for order {}", event.customerEmail(), event.orderId()));
+    }
+
+    public CompletableFuture<Void> sendOrderCancellationAsync(OrderCancelledEvent event) {
+        return deliver(cancellationMessage(event)).thenRun(() ->
+                log.info("Cancellation email sent to {} for order {}", event.customerEmail(), event.orderId()));
+    }
+
+    /** Waits for {@code sending}, rethrowing its failure unwrapped. */
+    static void await(CompletableFuture<Void> sending) {
+        try {
+            sending.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    /**
+     * Sends all messages and returns the ones that failed; an empty map means every message was
+     * accepted by the server. Returns only after every send has finished, so the caller's offsets
+     * are never committed ahead of the mail. With async dispatch the messages go out concurrently
+     * over pooled connections, otherwise sequentially over a single SMTP session.
+     */
+    public Map<SimpleMailMessage, Exception> sendAll(List<SimpleMailMessage> messages) {
+        if (messages.isEmpty()) {
+            return Map.of();
+        }
+        if (asyncDispatch) {
+            return dispatchAll(messages);
+        }
+        // Sent as MIME so HTML bodies survive; failures are mapped back to the original messages
+        long startNanos = System.nanoTime();
+        Map<SimpleMailMessage, Exception> failures = new HashMap<>();
+        Map<MimeMessage, SimpleMailMessage> originals = new IdentityHashMap<>();
+        for (SimpleMailMessage message : messages) {
+            try {
+                originals.put(MimeMessages.toMimeMessage(mailSender, message), message);
+            } catch (MessagingException ex) {
+                failures.put(message, new MailPreparationException(ex));
+            }
+        }
+        if (!originals.isEmpty()) {
+            send(originals, failures);
+        }
+        // One sample per message with its own outcome, like the async path
+        notificationMetrics.recordEmailSends(startNanos, messages.size() - failures.size(), failures.size());
+        return failures;
+    }
+
+    public SimpleMailMessage confirmationMessage(OrderPlacedEvent event) {
+        return message(event.customerEmail(), templateRenderer.render("order-confirmation", locale, Map.of(
+                "orderId", event.orderId(),
+                "productName", event.productName(),
+                "quantity", event.quantity(),
+                "totalPrice", event.totalPrice())));
+    }
+
+    public SimpleMailMessage cancellationMessage(OrderCancelledEvent event) {
+        return message(event.customerEmail(), templateRenderer.render("order-cancellation", locale, Map.of(
+                "orderId", event.orderId(),
+                "productName", event.productName())));
+    }
+
+    /** One message summarising several events for the same recipient, oldest first. */
+    public SimpleMailMessage digestMessage(String recipient, List<OrderEvent> events) {
+        List<Map<String, Object>> lines = events.stream()
+                .map(event -> switch (event) {
+                    case OrderPlacedEvent placed -> Map.<String, Object>of(
+                            "placed", true,
+                            "orderId", placed.orderId(),
+                            "productName", placed.productName(),
+                            "quantity", placed.quantity(),
+                            "totalPrice", placed.totalPrice());
+                    case OrderCancelledEvent cancelled -> Map.<String, Object>of(
+                            "placed", false,
+                            "orderId", cancelled.orderId(),
+                            "productName", cancelled.productName());
+                })
+                .toList();
+        return message(recipient, templateRenderer.render("order-digest", locale, Map.of("events", lines)));
+    }
+
+    private HtmlMailMessage message(String recipient, RenderedEmail email) {
+        HtmlMailMessage message = new HtmlMailMessage();
         message.setFrom(fromEmail);
-        message.setTo(event.customerEmail());
-        message.setSubject("Order Cancelled — " + event.productName());
-        message.setText("""
-                Hi there,
+        message.setTo(recipient);
+        message.setSubject(email.subject());
+        message.setText(email.text());
+        message.setHtml(email.html());
+        return message;
+    }
 
-                Your order has been cancelled.
+    private CompletableFuture<Void> deliver(SimpleMailMessage message) {
+        if (asyncDispatch) {
+            return emailDispatcher.dispatch(message);
+        }
+        long startNanos = System.nanoTime();
+        boolean sent = false;
+        try {
+            mailSender.send(MimeMessages.toMimeMessage(mailSender, message));
+            sent = true;
+            return CompletableFuture.completedFuture(null);
+        } catch (MessagingException ex) {
+            return CompletableFuture.failedFuture(new MailPreparationException(ex));
+        } catch (MailException ex) {
+            return CompletableFuture.failedFuture(ex);
+        } finally {
+            notificationMetrics.recordEmailSend(startNanos, sent);
+        }
+    }
 
-                Order ID: %s
-                Product:  %s
+    private Map<SimpleMailMessage, Exception> dispatchAll(List<SimpleMailMessage> messages) {
+        List<CompletableFuture<Void>> sends = messages.stream()
+                .map(emailDispatcher::dispatch)
+                .toList();
 
-                If this was a mistake, please place a new order on our website.
+        Map<SimpleMailMessage, Exception> failures = new HashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            try {
+                sends.get(i).join();
+            } catch (CompletionException ex) {
+                failures.put(messages.get(i), ex.getCause() instanceof Exception cause ? cause : ex);
+            }
+        }
+        log.info("Dispatched {} emails, {} failed", messages.size(), failures.size());
+        return failures;
+    }
 
-                — EventFlow Team
-                """.formatted(event.orderId(), event.productName()));
-        mailSender.send(message);
-        log.info("Cancellation email sent to {} for order {}", event.customerEmail(), event.orderId());
+    private void send(Map<MimeMessage, SimpleMailMessage> originals, Map<SimpleMailMessage, Exception> failures) {
+        try {
+            mailSender.send(originals.keySet().toArray(MimeMessage[]::new));
+            log.info("Sent {} emails in one SMTP session", originals.size());
+        } catch (MailSendException ex) {
+            int prepared = failures.size();
+            ex.getFailedMessages().forEach((message, cause) -> {
+                SimpleMailMessage original = originals.get(message);
+                if (original != null) {
+                    failures.put(original, cause);
+                }
+            });
+            // No per-message detail means the session itself failed (connect/auth)
+            if (failures.size() == prepared) {
+                originals.values().forEach(message -> failures.put(message, ex));
+            }
+        } catch (MailException ex) {
+            originals.values().forEach(message -> failures.put(message, ex));
+        }
     }
 }
@@ -0,0 +1,203 @@
+package com.eventflow.notificationservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.AbstractConfigurableTemplateResolver;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.templateresolver.FileTemplateResolver;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders mail templates ({@code <name>.subject.txt}, {@code <name>.txt}, {@code <name>.html})
+ * with Thymeleaf. Templates are parsed on first use and then served from the engine's cache;
+ * each render writes into a per-thread buffer that is reused across messages.
+ *
+ * <p>Locale variants follow the {@code ResourceBundle} naming scheme: for {@code de_AT} the
+ * renderer tries {@code order-confirmation_de_AT.html}, then {@code order-confirmation_de.html},
+ * then {@code order-confirmation.html}. Each file falls back on its own.
+ *
+ * <p>With a {@code file:} location and {@code notification.mail.templates.reload=true}, edits to
+ * the directory clear the caches, so changed templates are picked up without a restart.
+ */
+@Component
+@Slf4j
+public class EmailTemplateRenderer implements DisposableBean {
+
+    private static final String FILE_PREFIX = "file:";
+    private static final String CLASSPATH_PREFIX = "classpath:";
+    // A buffer that grew past this is dropped instead of kept, so one huge digest does not pin memory
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+    private final String location;
+    private final Path directory;
+    private final Map<String, String> resolvedNames = new ConcurrentHashMap<>();
+    private final ThreadLocal<StringBuilderWriter> buffers = ThreadLocal.withInitial(StringBuilderWriter::new);
+    private WatchService watchService;
+
+    public EmailTemplateRenderer(@Value("${notification.mail.templates.location:classpath:/templates/mail/}") String location,
+                                 @Value("${notification.mail.templates.reload:false}") boolean reload) {
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.directory = this.location.startsWith(FILE_PREFIX)
+                ? Path.of(this.location.substring(FILE_PREFIX.length()))
+                : null;
+
+        AbstractConfigurableTemplateResolver resolver = directory != null
+                ? new FileTemplateResolver()
+                : new ClassLoaderTemplateResolver();
+        resolver.setPrefix(directory != null ? directory + "/" : classpathPath(this.location));
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setTextTemplateModePatterns(Set.of("*.txt"));
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+        templateEngine.setTemplateResolver(resolver);
+        templateEngine.setEnableSpringELCompiler(true);
+
+        if (reload && directory != null) {
+            startWatching();
+        }
+    }
+
+    public RenderedEmail render(String template, Locale locale, Map<String, Object> variables) {
+        Context context = new Context(locale, variables);
+        return new RenderedEmail(
+                process(resolve(template + ".subject.txt", locale), context).strip(),
+                process(resolve(template + ".txt", locale), context),
+                process(resolve(template + ".html", locale), context));
+    }
+
+    private String process(String templateName, Context context) {
+        StringBuilderWriter buffer = buffers.get();
+        buffer.reset();
+        templateEngine.process(templateName, context, buffer);
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffers.remove();
+        }
+        return rendered;
+    }
+
+    // Most specific locale variant that exists; the answer is cached until the next reload
+    private String resolve(String fileName, Locale locale) {
+        return resolvedNames.computeIfAbsent(fileName + '|' + locale, key -> {
+            int dot = fileName.indexOf('.');
+            String base = fileName.substring(0, dot);
+            String extension = fileName.substring(dot);
+            for (String suffix : new String[]{"_" + locale, "_" + locale.getLanguage()}) {
+                if (suffix.length() > 1 && exists(base + suffix + extension)) {
+                    return base + suffix + extension;
+                }
+            }
+            return fileName;
+        });
+    }
+
+    private boolean exists(String fileName) {
+        if (directory != null) {
+            return Files.isRegularFile(directory.resolve(fileName));
+        }
+        return getClass().getClassLoader().getResource(classpathPath(location) + fileName) != null;
+    }
+
+    private void startWatching() {
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot watch mail template directory " + directory, ex);
+        }
+        Thread.ofVirtual().name("mail-template-watcher").start(this::watch);
+        log.info("Watching {} for mail template changes", directory);
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                key.pollEvents();
+                templateEngine.clearTemplateCache();
+                resolvedNames.clear();
+                log.info("Mail templates in {} changed, caches cleared", directory);
+                if (!key.reset()) {
+                    log.warn("Mail template directory {} is no longer accessible", directory);
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // shutting down
+        }
+    }
+
+    private static String classpathPath(String location) {
+        String path = location.startsWith(CLASSPATH_PREFIX) ? location.substring(CLASSPATH_PREFIX.length()) : location;
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /** Unsynchronized {@link java.io.StringWriter} replacement whose buffer survives {@link #reset()}. */
+    private static final class StringBuilderWriter extends Writer {
+
+        private final StringBuilder buffer = new StringBuilder(2048);
+
+        void reset() {
+            buffer.setLength(0);
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            buffer.append(string, offset, offset + length);
+        }
+
+        @Override
+        public void write(int c) {
+            buffer.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.eventflow.notificationservice.service;
+
+import com.eventflow.notificationservice.exception.DeliveryInProgressException;
+import com.eventflow.notificationservice.model.Notification;
+import com.eventflow.notificationservice.repository.NotificationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Lets one delivery of an order event through. Events carry no id of their own, so an event is
+ * identified by its order and notification type — an order is placed once and cancelled at most
+ * once.
+ *
+ * <p>A delivery claims the event before sending its mail by inserting the notification as
+ * {@code PENDING}. The primary key of {@code notification_keys} on {@code (order_id, type)} admits
+ * one insert, however many instances race on the event during a rebalance; the winner later
+ * records the outcome on the same row. A claim its holder released for a retry, or did not settle
+ * within {@code notification.dedupe.claim-timeout} because it died mid-send, is taken over by the
+ * next delivery. A bounded in-memory set of settled keys answers error-handler retries and
+ * redeliveries to the same instance without a query.
+ */
+@Component
+@Slf4j
+public class EventDeduplicator {
+
+    public record EventKey(UUID orderId, Notification.NotificationType type) {
+
+        public static EventKey of(Notification notification) {
+            return new EventKey(notification.getOrderId(), notification.getType());
+        }
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final Duration claimTimeout;
+    private final Cache<EventKey, Boolean> processed;
+
+    public EventDeduplicator(NotificationRepository notificationRepository,
+                             @Value("${notification.dedupe.cache-size:100000}") long maxSize,
+                             @Value("${notification.dedupe.claim-timeout:2m}") Duration claimTimeout,
+                             MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.claimTimeout = claimTimeout;
+        this.processed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, processed, "processed-events");
+    }
+
+    /**
+     * Inserts {@code candidate} as {@code PENDING} and returns it, or returns the stored
+     * notification of an abandoned claim after taking it over. Empty if the event is settled.
+     *
+     * @throws DeliveryInProgressException if another delivery holds a live claim on the event
+     */
+    public Optional<Notification> claim(Notification candidate) {
+        EventKey key = EventKey.of(candidate);
+        if (processed.getIfPresent(key) != null) {
+            return Optional.empty();
+        }
+        try {
+            notificationRepository.save(pending(candidate));
+            return Optional.of(candidate);
+        } catch (DataIntegrityViolationException ex) {
+            if (!isDuplicate(ex)) {
+                throw ex;
+            }
+        }
+        return takeOver(key);
+    }
+
+    /**
+     * Batch variant of {@link #claim}: one batched insert when no event is claimed yet. Returns the
+     * notifications claimed, in the order of {@code candidates}; events settled or in progress
+     * elsewhere are left out.
+     */
+    public List<Notification> claimAll(List<Notification> candidates) {
+        List<Notification> fresh = candidates.stream()
+                .filter(candidate -> processed.getIfPresent(EventKey.of(candidate)) == null)
+                .map(this::pending)
+                .toList();
+        if (fresh.isEmpty()) {
+            return fresh;
+        }
+        try {
+            notificationRepository.saveAll(fresh);
+            return fresh;
+        } catch (DataIntegrityViolationException ex) {
+            // Some were claimed before; the batch rolled back as a whole
+            log.warn("Batch claim of {} events hit a conflict, claiming one by one", fresh.size());
+        }
+        List<Notification> claimed = new ArrayList<>();
+        for (Notification candidate : fresh) {
+            candidate.setId(null);
+            try {
+                claim(candidate).ifPresent(claimed::add);
+            } catch (DeliveryInProgressException ex) {
+                log.warn(ex.getMessage());
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Claim for a replay of a dead-lettered event, which unlike {@link #claim} retries a delivery
+     * that failed: inserts {@code candidate} as {@code PENDING}, or turns a stored {@code FAILED}
+     * notification {@code PENDING} and returns it. Empty if the stored one is {@code SENT} or
+     * {@code PENDING}, whether its claim is live or not. The in-memory set is not consulted, as it
+     * holds failed events too.
+     */
+    public Optional<Notification> claimForReplay(Notification candidate) {
+        try {
+            notificationRepository.save(pending(candidate));
+            return Optional.of(candidate);
+        } catch (DataIntegrityViolationException ex) {
+            if (!isDuplicate(ex)) {
+                throw ex;
+            }
+        }
+        EventKey key = EventKey.of(candidate);
+        if (notificationRepository.claimFailed(key.orderId(), key.type(), Instant.now().plus(claimTimeout)) == 0) {
+            return Optional.empty();
+        }
+        return notificationRepository.findByOrderIdAndType(key.orderId(), key.type());
+    }
+
+    /** Gives a claim up after a failed attempt, so the event's next delivery takes it over at once. */
+    public void release(Notification claimed) {
+        claimed.setClaimedUntil(null);
+        notificationRepository.updateDeliveries(List.of(claimed));
+    }
+
+    public void markProcessed(EventKey key) {
+        processed.put(key, Boolean.TRUE);
+    }
+
+    public void markProcessed(Collection<EventKey> keys) {
+        keys.forEach(this::markProcessed);
+    }
+
+    private Optional<Notification> takeOver(EventKey key) {
+        Instant now = Instant.now();
+        boolean tookOver = notificationRepository.takeOverClaim(key.orderId(), key.type(), now,
+                now.plus(claimTimeout)) == 1;
+        Optional<Notification> stored = notificationRepository.findByOrderIdAndType(key.orderId(), key.type());
+        if (tookOver) {
+            log.warn("Took over the unsettled {} claim for order {}", key.type(), key.orderId());
+            return stored;
+        }
+        if (stored.isPresent() && stored.get().getStatus() == Notification.DeliveryStatus.PENDING) {
+            throw new DeliveryInProgressException("The " + key.type() + " notification for order "
+                    + key.orderId() + " is being delivered by another consumer");
+        }
+        markProcessed(key);
+        return Optional.empty();
+    }
+
+    private Notification pending(Notification candidate) {
+        candidate.setStatus(Notification.DeliveryStatus.PENDING);
+        candidate.setClaimedUntil(Instant.now().plus(claimTimeout));
+        return candidate;
+    }
+
+    /** True if the insert lost a race with another delivery of the same event. */
+    static boolean isDuplicate(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException violation
+                && Notification.ORDER_TYPE_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName());
+    }
+}
@@ -0,0 +1,34 @@
+package com.eventflow.notificationservice.service;
+
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.Objects;
+
+/**
+ * A {@link SimpleMailMessage} that also carries an HTML body; it is sent as multipart/alternative
+ * with the plain text as the fallback part. Subclassing keeps the existing batch and dispatch code,
+ * which deals in {@code SimpleMailMessage}s, unchanged.
+ */
+public class HtmlMailMessage extends SimpleMailMessage {
+
+    private String html;
+
+    public String getHtml() {
+        return html;
+    }
+
+    public void setHtml(String html) {
+        this.html = html;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof HtmlMailMessage that
+                && super.equals(that) && Objects.equals(html, that.html));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hashCode(html);
+    }
+}
@@ -0,0 +1,30 @@
+package com.eventflow.notificationservice.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.nio.charset.StandardCharsets;
+
+final class MimeMessages {
+
+    private MimeMessages() {
+    }
+
+    /** Plain text for a {@link SimpleMailMessage}, multipart/alternative for an {@link HtmlMailMessage}. */
+    static MimeMessage toMimeMessage(JavaMailSender mailSender, SimpleMailMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        if (message instanceof HtmlMailMessage htmlMessage && htmlMessage.getHtml() != null) {
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, StandardCharsets.UTF_8.name());
+            message.copyTo(new MimeMailMessage(helper));
+            helper.setText(message.getText(), htmlMessage.getHtml());
+        } else {
+            message.copyTo(new MimeMailMessage(mimeMessage));
+        }
+        mimeMessage.saveChanges();
+        return mimeMessage;
+    }
+}
@@ -0,0 +1,240 @@
+package com.eventflow.notificationservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly partitions of {@code notifications}: creates the current month's and the
+ * next {@code notification.partitions.ahead} before any insert needs them, and archives months
+ * older than {@code retention-months} to {@code <archive-dir>/notifications_pYYYYMM.csv.gz}
+ * before detaching and dropping them.
+ *
+ * <p>An archived month keeps its {@code notification_keys}: they are all that stops a
+ * dead-letter replay or a late redelivery of its events from mailing the customer again. Keys
+ * are deleted separately once older than {@code key-retention-months}, which must be at least
+ * {@code retention-months}; 0 keeps them for good.
+ *
+ * <p>Runs on startup and daily. Each step runs in one transaction under a Postgres advisory lock,
+ * so with several instances one does the work and the others skip it. A partition is dropped in
+ * the transaction that archived it, and only once its file is in place; a failed run leaves the
+ * partition attached and is retried the next day.
+ */
+@Service
+@Slf4j
+public class NotificationPartitions {
+
+    static final String PARTITION_PREFIX = "notifications_p";
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    // Arbitrary, identifies this job among the advisory locks taken on notifications_db
+    private static final long LOCK_KEY = 0x4e4f54495041525AL;
+    private static final int FETCH_SIZE = 1000;
+    private static final String CSV_HEADER = "id,order_id,recipient_email,type,status,error_message,created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int ahead;
+    private final int retentionMonths;
+    private final int keyRetentionMonths;
+    private final Path archiveDir;
+
+    public NotificationPartitions(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${notification.partitions.ahead:2}") int ahead,
+                                  @Value("${notification.partitions.retention-months:12}") int retentionMonths,
+                                  @Value("${notification.partitions.key-retention-months:24}") int keyRetentionMonths,
+                                  @Value("${notification.partitions.archive-dir:./archive/notifications}") Path archiveDir) {
+        if (keyRetentionMonths > 0 && (retentionMonths == 0 || keyRetentionMonths < retentionMonths)) {
+            throw new IllegalArgumentException("notification.partitions.key-retention-months (" + keyRetentionMonths
+                    + ") must be 0 or at least retention-months (" + retentionMonths + ")");
+        }
+        // A copy, so the fetch size streams the archive query without affecting other users
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ahead = ahead;
+        this.retentionMonths = retentionMonths;
+        this.keyRetentionMonths = keyRetentionMonths;
+        this.archiveDir = archiveDir;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${notification.partitions.cron:0 15 0 * * *}", zone = "UTC")
+    public void maintain() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        try {
+            createPartitions(current);
+        } catch (RuntimeException ex) {
+            log.error("Could not create notification partitions from {}", current, ex);
+        }
+        if (retentionMonths > 0) {
+            archiveExpired(current.minusMonths(retentionMonths));
+        }
+        if (keyRetentionMonths > 0) {
+            try {
+                deleteExpiredKeys(current.minusMonths(keyRetentionMonths));
+            } catch (RuntimeException ex) {
+                log.error("Could not delete notification keys before {}", current.minusMonths(keyRetentionMonths), ex);
+            }
+        }
+    }
+
+    private void createPartitions(YearMonth current) {
+        inLockedTransaction(() -> {
+            for (int i = 0; i <= ahead; i++) {
+                YearMonth month = current.plusMonths(i);
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                        + " PARTITION OF notifications FOR VALUES FROM ('" + lowerBound(month)
+                        + "') TO ('" + lowerBound(month.plusMonths(1)) + "')");
+            }
+        });
+    }
+
+    // Every partition of a month before `oldestKept`, oldest first
+    private void archiveExpired(YearMonth oldestKept) {
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = 'notifications'
+                ORDER BY c.relname
+                """, String.class);
+
+        for (String partition : partitions) {
+            YearMonth month = monthOf(partition);
+            if (month == null || !month.isBefore(oldestKept)) {
+                continue;
+            }
+            try {
+                archive(partition, month);
+            } catch (RuntimeException ex) {
+                log.error("Could not archive notification partition {}", partition, ex);
+                return;
+            }
+        }
+    }
+
+    private void archive(String partition, YearMonth month) {
+        inLockedTransaction(() -> {
+            Path file = archiveDir.resolve(partition + ".csv.gz");
+            long rows = writeArchive(partition, file);
+            // Plain DETACH briefly locks the parent; CONCURRENTLY cannot run inside a transaction
+            jdbcTemplate.execute("ALTER TABLE notifications DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            log.info("Archived {} notifications of {} to {} and dropped the partition", rows, month, file);
+        });
+    }
+
+    // Only months already archived, as key-retention-months is at least retention-months
+    private void deleteExpiredKeys(YearMonth oldestKept) {
+        inLockedTransaction(() -> {
+            int keys = jdbcTemplate.update("DELETE FROM notification_keys WHERE created_at < ?",
+                    Timestamp.from(lowerBound(oldestKept)));
+            if (keys > 0) {
+                log.info("Deleted {} notification keys from before {}", keys, oldestKept);
+            }
+        });
+    }
+
+    // Written next to the target and moved into place, so an archive file is always complete
+    private long writeArchive(String partition, Path file) {
+        try {
+            Files.createDirectories(archiveDir);
+            Path temp = Files.createTempFile(archiveDir, partition, ".tmp");
+            long[] rows = {0};
+            try {
+                try (Writer out = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(temp)),
+                        StandardCharsets.UTF_8)) {
+                    out.write(CSV_HEADER);
+                    out.write('\n');
+                    jdbcTemplate.query("SELECT id, order_id, recipient_email, type, status, error_message, created_at FROM "
+                            + partition + " ORDER BY created_at, id", rs -> {
+                        try {
+                            out.write(rs.getString(1) + ',' + rs.getString(2) + ',' + csvField(rs.getString(3)) + ','
+                                    + rs.getString(4) + ',' + rs.getString(5) + ',' + csvField(rs.getString(6)) + ','
+                                    + rs.getTimestamp(7).toInstant() + '\n');
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                        rows[0]++;
+                    });
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return rows[0];
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write " + file, ex);
+        }
+    }
+
+    private void inLockedTransaction(Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY);
+            if (Boolean.TRUE.equals(locked)) {
+                work.run();
+            } else {
+                log.debug("Partition maintenance is running on another instance");
+            }
+        });
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(MONTH_SUFFIX);
+    }
+
+    /** The month a partition named by {@link #partitionName} holds, or null for any other table. */
+    static YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), MONTH_SUFFIX);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    static Instant lowerBound(YearMonth month) {
+        return month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
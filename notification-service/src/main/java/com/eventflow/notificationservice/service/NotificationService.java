@@ -1,64 +1,339 @@
 package com.eventflow.notificationservice.service;
 
-import com.eventflow.notificationservice.event.OrderCancelledEvent;
-import com.eventflow.notificationservice.event.OrderPlacedEvent;
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.dto.NotificationCursor;
+import com.eventflow.notificationservice.dto.NotificationFilter;
+import com.eventflow.notificationservice.dto.NotificationPage;
+import com.eventflow.notificationservice.exception.DeliveryInProgressException;
+import com.eventflow.notificationservice.metrics.NotificationMetrics;
 import com.eventflow.notificationservice.model.Notification;
 import com.eventflow.notificationservice.repository.NotificationRepository;
+import com.eventflow.notificationservice.service.EventDeduplicator.EventKey;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.SimpleMailMessage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_FETCH_SIZE = 1_000;
+
     private final NotificationRepository notificationRepository;
     private final EmailService emailService;
+    private final NotificationMetrics notificationMetrics;
+    private final EventDeduplicator eventDeduplicator;
 
-    @Transactional
+    // Not @Transactional: the single save is its own transaction, so a duplicate-key failure can
+    // be caught here, and no connection is held during the SMTP round trip
     public void handleOrderPlaced(OrderPlacedEvent event) {
-        Notification notification = new Notification();
-        notification.setOrderId(event.orderId());
-        notification.setRecipientEmail(event.customerEmail());
-        notification.setType(Notification.NotificationType.ORDER_PLACED);
+        handleOrderPlaced(event, true);
+    }
+
+    /**
+     * Unless {@code finalAttempt} is set, a transient mail failure is rethrown instead of recorded
+     * as {@code FAILED}, so the caller can retry the event later without it counting as processed.
+     */
+    public void handleOrderPlaced(OrderPlacedEvent event, boolean finalAttempt) {
+        EmailService.await(handleOrderPlacedAsync(event, finalAttempt));
+    }
+
+    /**
+     * Like {@link #handleOrderPlaced(OrderPlacedEvent, boolean)}, but returns once the mail is
+     * handed off. The future completes after the notification is recorded, or exceptionally with
+     * the failure the blocking variant would throw.
+     */
+    public CompletableFuture<Void> handleOrderPlacedAsync(OrderPlacedEvent event, boolean finalAttempt) {
+        notificationMetrics.recordEventAge("orderPlaced", event.occurredAt());
+        Notification candidate = newNotification(event.orderId(), event.customerEmail(),
+                Notification.NotificationType.ORDER_PLACED);
+        return deliver(candidate, () -> emailService.sendOrderConfirmationAsync(event), finalAttempt);
+    }
+
+    public void handleOrderCancelled(OrderCancelledEvent event) {
+        handleOrderCancelled(event, true);
+    }
+
+    /** See {@link #handleOrderPlaced(OrderPlacedEvent, boolean)}. */
+    public void handleOrderCancelled(OrderCancelledEvent event, boolean finalAttempt) {
+        EmailService.await(handleOrderCancelledAsync(event, finalAttempt));
+    }
+
+    /** See {@link #handleOrderPlacedAsync(OrderPlacedEvent, boolean)}. */
+    public CompletableFuture<Void> handleOrderCancelledAsync(OrderCancelledEvent event, boolean finalAttempt) {
+        notificationMetrics.recordEventAge("orderCancelled", event.occurredAt());
+        Notification candidate = newNotification(event.orderId(), event.customerEmail(),
+                Notification.NotificationType.ORDER_CANCELLED);
+        return deliver(candidate, () -> emailService.sendOrderCancellationAsync(event), finalAttempt);
+    }
+
+    /**
+     * Batch-listener path: claims every event in one JDBC batch, mails them over one SMTP
+     * session, then records all outcomes with a single {@code saveAll}. No transaction is open
+     * during the mail round trip. Events already processed or being delivered elsewhere, and
+     * repeats within the batch, are skipped.
+     */
+    public void handleEvents(List<?> events) {
+        Map<EventKey, OrderEvent> pending = newEvents(events);
+        Map<EventKey, Notification> notifications = claimAll(pending, OrderEvent::customerEmail);
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        Map<EventKey, SimpleMailMessage> messages = new LinkedHashMap<>();
+        notifications.keySet().forEach(key -> messages.put(key, messageFor(pending.get(key))));
+
+        Map<SimpleMailMessage, Exception> failures = emailService.sendAll(List.copyOf(messages.values()));
+        notifications.forEach((key, notification) -> markDelivery(notification, failures.get(messages.get(key))));
+        saveAll(notifications);
+    }
+
+    /**
+     * Digest path: one email to {@code recipient} covering all of their buffered events, and one
+     * notification per covered event, all sharing the digest's delivery status.
+     */
+    public void handleDigest(String recipient, List<?> events) {
+        Map<EventKey, OrderEvent> pending = newEvents(events);
+        Map<EventKey, Notification> notifications = claimAll(pending, event -> recipient);
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        List<OrderEvent> covered = notifications.keySet().stream().map(pending::get).toList();
+        SimpleMailMessage digest = emailService.digestMessage(recipient, covered);
+        Exception failure = emailService.sendAll(List.of(digest)).get(digest);
+        notifications.values().forEach(notification -> markDelivery(notification, failure));
+        saveAll(notifications);
+        log.info("Digest of {} events sent to {}", notifications.size(), recipient);
+    }
+
+    /**
+     * Replay path for dead-lettered events. Unlike the listener path it does not stop at an
+     * existing notification: one recorded as {@code FAILED} is claimed back and sent again. One
+     * that is {@code SENT}, or {@code PENDING} because another delivery holds it, is skipped.
+     * Transient mail failures are recorded as {@code FAILED}, so the next replay claims the event
+     * again, and rethrown so the replay can stop and resume later instead of working through an
+     * outage.
+     */
+    public ReplayResult replay(OrderEvent event) {
+        EventKey key = keyOf(event);
+        Optional<Notification> claimed = eventDeduplicator.claimForReplay(
+                newNotification(event.orderId(), event.customerEmail(), key.type()));
+        if (claimed.isEmpty()) {
+            // No row left but its key means the month was archived, long after it settled
+            boolean inProgress = notificationRepository.findByOrderIdAndType(key.orderId(), key.type())
+                    .filter(stored -> stored.getStatus() == Notification.DeliveryStatus.PENDING)
+                    .isPresent();
+            return inProgress ? ReplayResult.IN_PROGRESS : ReplayResult.ALREADY_SENT;
+        }
+        Notification notification = claimed.get();
 
         try {
-            emailService.sendOrderConfirmation(event);
+            switch (event) {
+                case OrderPlacedEvent placed -> emailService.sendOrderConfirmation(placed);
+                case OrderCancelledEvent cancelled -> emailService.sendOrderCancellation(cancelled);
+            }
+        } catch (RuntimeException ex) {
+            markDelivery(notification, ex);
+            record(notification);
+            if (isTransient(ex)) {
+                throw ex;
+            }
+            return ReplayResult.FAILED;
+        }
+        notification.setStatus(Notification.DeliveryStatus.SENT);
+        record(notification);
+        return ReplayResult.DELIVERED;
+    }
+
+    public enum ReplayResult {
+        DELIVERED, ALREADY_SENT, IN_PROGRESS, FAILED
+    }
+
+    @Transactional(readOnly = true)
+    public NotificationPage getNotifications(NotificationFilter filter, String cursor, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        NotificationCursor after = cursor == null || cursor.isBlank() ? null : NotificationCursor.decode(cursor);
+
+        // One extra row tells us whether there is a next page without a count query
+        List<Notification> rows = notificationRepository.findPage(filter, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new NotificationPage(rows, null);
+        }
+        List<Notification> page = rows.subList(0, pageSize);
+        return new NotificationPage(page, NotificationCursor.after(page.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Feeds every matching notification to {@code action} from a server-side cursor. Memory use
+     * is bounded by the fetch size, not the table size.
+     */
+    @Transactional(readOnly = true)
+    public void exportNotifications(NotificationFilter filter, Consumer<Notification> action) {
+        try (Stream<Notification> rows = notificationRepository.streamAll(filter, EXPORT_FETCH_SIZE)) {
+            rows.forEach(action);
+        }
+    }
+
+    // Keyed by event, in arrival order, without repeats
+    private Map<EventKey, OrderEvent> newEvents(List<?> events) {
+        Map<EventKey, OrderEvent> pending = new LinkedHashMap<>();
+        for (Object rawEvent : events) {
+            if (!(rawEvent instanceof OrderEvent event)) {
+                log.warn("Unknown event type received: {}", rawEvent.getClass().getName());
+                continue;
+            }
+            EventKey key = keyOf(event);
+            notificationMetrics.recordEventAge(key.type() == Notification.NotificationType.ORDER_PLACED
+                    ? "orderPlaced" : "orderCancelled", event.occurredAt());
+            if (pending.putIfAbsent(key, event) != null) {
+                skipDuplicate(key);
+            }
+        }
+        return pending;
+    }
+
+    // The notifications claimed for `pending`, in its order; the events left out are skipped
+    private Map<EventKey, Notification> claimAll(Map<EventKey, OrderEvent> pending,
+                                                 Function<OrderEvent, String> recipient) {
+        List<Notification> candidates = pending.entrySet().stream()
+                .map(entry -> newNotification(entry.getValue().orderId(), recipient.apply(entry.getValue()),
+                        entry.getKey().type()))
+                .toList();
+        Map<EventKey, Notification> claimed = new LinkedHashMap<>();
+        for (Notification notification : eventDeduplicator.claimAll(candidates)) {
+            claimed.put(EventKey.of(notification), notification);
+        }
+        pending.keySet().stream().filter(key -> !claimed.containsKey(key)).forEach(this::skipDuplicate);
+        return claimed;
+    }
+
+    private SimpleMailMessage messageFor(OrderEvent event) {
+        return switch (event) {
+            case OrderPlacedEvent placed -> emailService.confirmationMessage(placed);
+            case OrderCancelledEvent cancelled -> emailService.cancellationMessage(cancelled);
+        };
+    }
+
+    private static void markDelivery(Notification notification, Exception failure) {
+        if (failure == null) {
             notification.setStatus(Notification.DeliveryStatus.SENT);
-        } catch (Exception ex) {
-            log.error("Failed to send confirmation email for order {}: {}", event.orderId(), ex.getMessage());
+        } else {
+            log.error("Failed to send {} email for order {}: {}",
+                    notification.getType(), notification.getOrderId(), failure.getMessage());
             notification.setStatus(Notification.DeliveryStatus.FAILED);
-            notification.setErrorMessage(ex.getMessage());
-        } finally {
-            notificationRepository.save(notification);
+            notification.setErrorMessage(failure.getMessage());
         }
     }
 
-    @Transactional
-    public void handleOrderCancelled(OrderCancelledEvent event) {
-        Notification notification = new Notification();
-        notification.setOrderId(event.orderId());
-        notification.setRecipientEmail(event.customerEmail());
-        notification.setType(Notification.NotificationType.ORDER_CANCELLED);
+    // Claims the event, then records the outcome on whichever thread completes the send. While
+    // another delivery holds the claim, fails so the event is retried unless this is the last attempt.
+    private CompletableFuture<Void> deliver(Notification candidate, Supplier<CompletableFuture<Void>> send,
+                                            boolean finalAttempt) {
+        Notification notification;
+        try {
+            Optional<Notification> claimed = eventDeduplicator.claim(candidate);
+            if (claimed.isEmpty()) {
+                skipDuplicate(EventKey.of(candidate));
+                return CompletableFuture.completedFuture(null);
+            }
+            notification = claimed.get();
+        } catch (DeliveryInProgressException ex) {
+            if (!finalAttempt) {
+                return CompletableFuture.failedFuture(ex);
+            }
+            log.warn("{}; not retrying it any more", ex.getMessage());
+            skipDuplicate(EventKey.of(candidate));
+            return CompletableFuture.completedFuture(null);
+        }
 
+        CompletableFuture<Void> sending;
         try {
-            emailService.sendOrderCancellation(event);
-            notification.setStatus(Notification.DeliveryStatus.SENT);
-        } catch (Exception ex) {
-            log.error("Failed to send cancellation email for order {}: {}", event.orderId(), ex.getMessage());
-            notification.setStatus(Notification.DeliveryStatus.FAILED);
-            notification.setErrorMessage(ex.getMessage());
-        } finally {
-            notificationRepository.save(notification);
+            sending = send.get();
+        } catch (RuntimeException ex) {
+            sending = CompletableFuture.failedFuture(ex);
         }
+        return sending.handle((sent, failure) -> {
+            if (failure == null) {
+                notification.setStatus(Notification.DeliveryStatus.SENT);
+            } else {
+                RuntimeException ex = unwrap(failure);
+                if (!finalAttempt && isTransient(ex)) {
+                    log.warn("{} email for order {} failed, leaving it for a retry: {}",
+                            notification.getType(), notification.getOrderId(), ex.getMessage());
+                    eventDeduplicator.release(notification);
+                    throw ex;
+                }
+                markDelivery(notification, ex);
+            }
+            record(notification);
+            return null;
+        });
     }
 
-    @Transactional(readOnly = true)
-    public List<Notification> getAllNotifications() {
-        return notificationRepository.findAllByOrderByCreatedAtDesc();
+    /** The exception a failed future of this service stands for, without its {@link CompletionException}. */
+    public static RuntimeException unwrap(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+    }
+
+    // A message that could not be built will not build next time either
+    private static boolean isTransient(RuntimeException ex) {
+        return ex instanceof MailException
+                && !(ex instanceof MailPreparationException || ex instanceof MailParseException);
+    }
+
+    // The rows were inserted when claimed, so this only updates them
+    private void saveAll(Map<EventKey, Notification> notifications) {
+        notificationRepository.updateDeliveries(List.copyOf(notifications.values()));
+        eventDeduplicator.markProcessed(notifications.keySet());
+    }
+
+    private static EventKey keyOf(OrderEvent event) {
+        return new EventKey(event.orderId(), switch (event) {
+            case OrderPlacedEvent placed -> Notification.NotificationType.ORDER_PLACED;
+            case OrderCancelledEvent cancelled -> Notification.NotificationType.ORDER_CANCELLED;
+        });
+    }
+
+    // The row was inserted when claimed, so this only updates it
+    private void record(Notification notification) {
+        notificationRepository.updateDeliveries(List.of(notification));
+        eventDeduplicator.markProcessed(EventKey.of(notification));
+    }
+
+    private void skipDuplicate(EventKey key) {
+        log.info("Skipping redelivered {} event for order {}", key.type(), key.orderId());
+        notificationMetrics.countDuplicate(key.type().name());
+    }
+
+    private static Notification newNotification(UUID orderId, String recipientEmail,
+                                                Notification.NotificationType type) {
+        Notification notification = new Notification();
+        notification.setOrderId(orderId);
+        notification.setRecipientEmail(recipientEmail);
+        notification.setType(type);
+        return notification;
     }
 }
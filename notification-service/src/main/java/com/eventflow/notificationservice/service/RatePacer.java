@@ -0,0 +1,37 @@
+package com.eventflow.notificationservice.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spaces calls evenly at a fixed rate. No bursts: after an idle spell the next permit is
+ * immediate but the ones after it are paced again, so the mail provider never sees more than
+ * the configured rate. Single-threaded use only.
+ */
+final class RatePacer {
+
+    private final long intervalNanos;
+    private long nextPermitNanos;
+
+    RatePacer(int permitsPerSecond) {
+        if (permitsPerSecond < 1) {
+            throw new IllegalArgumentException("Rate must be at least 1 per second, got " + permitsPerSecond);
+        }
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.nextPermitNanos = System.nanoTime();
+    }
+
+    /** Parks the calling thread until the next permit is due. */
+    void acquire() throws InterruptedException {
+        long now = System.nanoTime();
+        long waitNanos = nextPermitNanos - now;
+        while (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitNanos = nextPermitNanos - System.nanoTime();
+        }
+        nextPermitNanos = Math.max(nextPermitNanos, now) + intervalNanos;
+    }
+}
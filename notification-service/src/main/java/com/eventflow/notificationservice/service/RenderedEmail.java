@@ -0,0 +1,3 @@
+package com.eventflow.notificationservice.service;
+
+public record RenderedEmail(String subject, String text, String html) {}
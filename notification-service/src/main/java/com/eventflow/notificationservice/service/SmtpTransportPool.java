@@ -0,0 +1,107 @@
+package com.eventflow.notificationservice.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connected SMTP transports for one host. {@code maxInFlight} caps both concurrent sends and
+ * open connections, so the connect/auth/STARTTLS handshake is paid once per connection rather
+ * than once per message. A borrower waits at most {@code borrowTimeout} for a free connection.
+ * After {@link #close()} no connection is handed out, and those still borrowed are closed on return.
+ */
+@Slf4j
+class SmtpTransportPool implements AutoCloseable {
+
+    private final Session session;
+    private final String protocol;
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+    private final Semaphore permits;
+    private final BlockingQueue<Transport> idle;
+    private final Duration borrowTimeout;
+    private volatile boolean closed;
+
+    SmtpTransportPool(Session session, String protocol, String host, int port,
+                      String username, String password, int maxInFlight, Duration borrowTimeout) {
+        this.session = session;
+        this.protocol = protocol;
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.permits = new Semaphore(maxInFlight);
+        this.idle = new ArrayBlockingQueue<>(maxInFlight);
+        this.borrowTimeout = borrowTimeout;
+    }
+
+    Transport borrow() throws MessagingException, InterruptedException {
+        if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new MessagingException("No SMTP connection to " + host + " free within " + borrowTimeout);
+        }
+        try {
+            if (closed) {
+                throw new MessagingException("SMTP connection pool for " + host + " is closed");
+            }
+            Transport transport;
+            while ((transport = idle.poll()) != null) {
+                // SMTP isConnected() issues a NOOP, far cheaper than a fresh handshake
+                if (transport.isConnected()) {
+                    return transport;
+                }
+                closeQuietly(transport);
+            }
+            transport = session.getTransport(protocol);
+            transport.connect(host, port, username, password);
+            log.debug("Opened SMTP connection to {}:{}", host, port);
+            return transport;
+        } catch (MessagingException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    void release(Transport transport, boolean reusable) {
+        try {
+            if (!reusable || closed || !idle.offer(transport)) {
+                closeQuietly(transport);
+            }
+            // close() may have drained the queue between the check and the offer
+            if (closed && idle.remove(transport)) {
+                closeQuietly(transport);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    String host() {
+        return host;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            closeQuietly(transport);
+        }
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException ex) {
+            log.debug("Ignoring error while closing SMTP connection: {}", ex.getMessage());
+        }
+    }
+}
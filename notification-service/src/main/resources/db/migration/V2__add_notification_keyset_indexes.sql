@@ -0,0 +1,9 @@
+-- Keyset pagination walks (created_at, id) newest first; each filter gets its own prefix so
+-- a filtered page is a single index range scan. These replace the single-column indexes.
+DROP INDEX idx_notifications_status;
+DROP INDEX idx_notifications_order_id;
+
+CREATE INDEX idx_notifications_created_at_id          ON notifications(created_at DESC, id DESC);
+CREATE INDEX idx_notifications_status_created_at_id   ON notifications(status, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_type_created_at_id     ON notifications(type, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_order_id_created_at_id ON notifications(order_id, created_at DESC, id DESC);
@@ -0,0 +1,18 @@
+-- Redelivered events used to leave a second notification behind. The earliest per (order, type)
+-- stays; the later ones move to notifications_duplicates, so the delivery history is kept.
+CREATE TABLE notifications_duplicates AS
+SELECT n.*
+FROM notifications n
+WHERE EXISTS (
+    SELECT 1 FROM notifications d
+    WHERE d.order_id = n.order_id
+      AND d.type = n.type
+      AND (d.created_at, d.id) < (n.created_at, n.id)
+);
+
+DELETE FROM notifications n
+USING notifications_duplicates d
+WHERE n.id = d.id;
+
+ALTER TABLE notifications
+    ADD CONSTRAINT uq_notifications_order_type UNIQUE (order_id, type);
@@ -0,0 +1,26 @@
+CREATE TABLE dlt_replays (
+    id              UUID         PRIMARY KEY,
+    status          VARCHAR(10)  NOT NULL,
+    from_time       TIMESTAMPTZ,
+    to_time         TIMESTAMPTZ,
+    exception_type  VARCHAR(255),
+    event_type      VARCHAR(30),
+    rate_per_second INTEGER      NOT NULL,
+    scanned         BIGINT       NOT NULL DEFAULT 0,
+    replayed        BIGINT       NOT NULL DEFAULT 0,
+    already_sent    BIGINT       NOT NULL DEFAULT 0,
+    failed          BIGINT       NOT NULL DEFAULT 0,
+    last_error      TEXT,
+    created_at      TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
+
+-- Where each DLT partition's replay stands: next_offset advances from the start of the range
+-- to end_offset, the end of the range when the replay was created
+CREATE TABLE dlt_replay_partitions (
+    replay_id    UUID    NOT NULL REFERENCES dlt_replays(id) ON DELETE CASCADE,
+    partition_id INTEGER NOT NULL,
+    next_offset  BIGINT  NOT NULL,
+    end_offset   BIGINT  NOT NULL,
+    PRIMARY KEY (replay_id, partition_id)
+);
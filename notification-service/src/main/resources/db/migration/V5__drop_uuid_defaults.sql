@@ -0,0 +1,3 @@
+-- Ids are time-ordered UUIDv7s assigned by Hibernate (UuidV7Generator); a random database default
+-- would only hide a missing id and scatter inserts across the primary key index.
+ALTER TABLE notifications ALTER COLUMN id DROP DEFAULT;
@@ -0,0 +1,78 @@
+-- notifications becomes range-partitioned by created_at, one partition per UTC month, so the
+-- partition taking inserts stays small and old months can be archived and dropped whole
+-- (NotificationPartitions). Partitions for coming months are created by the application.
+--
+-- A unique constraint on a partitioned table must include the partition key, and
+-- UNIQUE (order_id, type, created_at) would no longer stop a second notification for the same
+-- event. Uniqueness moves to notification_keys, which every insert into notifications claims
+-- through a trigger. Its primary key keeps the old constraint name, so a lost insert race is
+-- still recognised as a duplicate. created_at is kept there so a lookup by (order_id, type) can
+-- go straight to the right partition.
+
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+
+CREATE TABLE notifications (
+    id              UUID         NOT NULL,
+    order_id        UUID         NOT NULL,
+    recipient_email VARCHAR(255) NOT NULL,
+    type            VARCHAR(30)  NOT NULL,
+    status          VARCHAR(10)  NOT NULL,
+    error_message   TEXT,
+    created_at      TIMESTAMPTZ  NOT NULL DEFAULT now()
+) PARTITION BY RANGE (created_at);
+
+-- Months holding existing rows through next month
+DO $$
+DECLARE
+    month DATE;
+    last  DATE := (date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '1 month')::date;
+BEGIN
+    SELECT date_trunc('month', coalesce(min(created_at), now()) AT TIME ZONE 'UTC')::date
+    INTO month
+    FROM notifications_unpartitioned;
+
+    WHILE month <= last LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       'notifications_p' || to_char(month, 'YYYYMM'),
+                       month::timestamp AT TIME ZONE 'UTC',
+                       (month + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC');
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO notifications (id, order_id, recipient_email, type, status, error_message, created_at)
+SELECT id, order_id, recipient_email, type, status, error_message, created_at
+FROM notifications_unpartitioned;
+
+CREATE TABLE notification_keys (
+    order_id   UUID        NOT NULL,
+    type       VARCHAR(30) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT uq_notifications_order_type PRIMARY KEY (order_id, type)
+);
+
+INSERT INTO notification_keys (order_id, type, created_at)
+SELECT order_id, type, created_at
+FROM notifications_unpartitioned;
+
+DROP TABLE notifications_unpartitioned;
+
+ALTER TABLE notifications ADD CONSTRAINT notifications_pkey PRIMARY KEY (id, created_at);
+
+CREATE INDEX idx_notifications_created_at_id          ON notifications(created_at DESC, id DESC);
+CREATE INDEX idx_notifications_status_created_at_id   ON notifications(status, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_type_created_at_id     ON notifications(type, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_order_id_created_at_id ON notifications(order_id, created_at DESC, id DESC);
+
+CREATE FUNCTION notifications_claim_key() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO notification_keys (order_id, type, created_at)
+    VALUES (NEW.order_id, NEW.type, NEW.created_at);
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_notifications_claim_key
+    BEFORE INSERT ON notifications
+    FOR EACH ROW EXECUTE FUNCTION notifications_claim_key();
@@ -0,0 +1,4 @@
+-- A notification is inserted as PENDING before its mail is sent, claiming the event through
+-- notification_keys. claimed_until is when a claim whose delivery never settled it may be taken
+-- over by another delivery; NULL once released for a retry.
+ALTER TABLE notifications ADD COLUMN claimed_until TIMESTAMPTZ;
@@ -0,0 +1,4 @@
+-- Optimistic lock for dlt_replays: a resume claims a replay with a conditional update, and a
+-- runner whose replay was taken over by another instance fails its next save instead of
+-- overwriting the new runner's progress.
+ALTER TABLE dlt_replays ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- notification_keys now outlive their archived partitions and are pruned separately, by age
+-- (notification.partitions.key-retention-months)
+CREATE INDEX idx_notification_keys_created_at ON notification_keys(created_at);
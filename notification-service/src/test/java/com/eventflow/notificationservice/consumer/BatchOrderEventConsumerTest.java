@@ -0,0 +1,62 @@
+package com.eventflow.notificationservice.consumer;
+
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.service.NotificationService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchOrderEventConsumerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @InjectMocks
+    private BatchOrderEventConsumer consumer;
+
+    @Test
+    void consume_handsWholePollToServiceInOneCall() {
+        OrderPlacedEvent placed = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop", 1, new BigDecimal("999.99"), Instant.now());
+        OrderCancelledEvent cancelled = new OrderCancelledEvent(
+                UUID.randomUUID(), "bob@example.com", "Phone", Instant.now());
+
+        consumer.consume(List.of(record(0, placed), record(1, cancelled)));
+
+        verify(notificationService).handleEvents(List.of(placed, cancelled));
+    }
+
+    @Test
+    void consume_poisonRecord_processesPrefixAndReportsFailedIndex() {
+        OrderPlacedEvent placed = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop", 1, new BigDecimal("999.99"), Instant.now());
+        ConsumerRecord<String, Object> poison = record(1, null);
+        poison.headers().add(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, new byte[0]);
+        ConsumerRecord<String, Object> after = record(2, placed);
+
+        assertThatThrownBy(() -> consumer.consume(List.of(record(0, placed), poison, after)))
+                .isInstanceOf(BatchListenerFailedException.class)
+                .satisfies(ex -> assertThat(((BatchListenerFailedException) ex).getIndex()).isEqualTo(1));
+
+        verify(notificationService).handleEvents(List.of(placed));
+    }
+
+    private static ConsumerRecord<String, Object> record(long offset, Object value) {
+        return new ConsumerRecord<>("orders", 0, offset, "key-" + offset, value);
+    }
+}
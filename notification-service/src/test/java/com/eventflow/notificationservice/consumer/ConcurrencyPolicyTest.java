@@ -0,0 +1,81 @@
+package com.eventflow.notificationservice.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConcurrencyPolicyTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final ConcurrencyPolicy policy =
+            new ConcurrencyPolicy(1, 12, Duration.ofSeconds(30), Duration.ofSeconds(60), 3);
+
+    @Test
+    void next_firstSample_keepsCurrent() {
+        assertThat(policy.next(2, sample(0, 6, 1_000, 1_000, 0, 0))).isEqualTo(2);
+    }
+
+    @Test
+    void next_backlogBuildsUp_scalesOutAfterCooldown() {
+        policy.next(1, sample(0, 6, 0, 0, 0, 0));
+
+        // 100 records/s arrive, 50 committed in 10 s of busy time: 0.2 s per record
+        assertThat(policy.next(1, sample(10 * SECOND, 6, 1_000, 50, 950, 10))).isEqualTo(1);
+
+        // (100/s + 1 900 lag / 30 s) × 0.2 s ≈ 33 consumers wanted, capped at the 6 partitions
+        assertThat(policy.next(1, sample(70 * SECOND, 6, 7_000, 5_100, 1_900, 1_020))).isEqualTo(6);
+    }
+
+    @Test
+    void next_neverExceedsConfiguredMax() {
+        ConcurrencyPolicy capped = new ConcurrencyPolicy(1, 4, Duration.ofSeconds(30), Duration.ZERO, 3);
+        capped.next(1, sample(0, 12, 0, 0, 0, 0));
+
+        assertThat(capped.next(1, sample(10 * SECOND, 12, 10_000, 100, 9_900, 10))).isEqualTo(4);
+    }
+
+    @Test
+    void next_scalesInOnlyAfterConsecutiveLowSamples() {
+        ConcurrencyPolicy noCooldown = new ConcurrencyPolicy(1, 12, Duration.ofSeconds(30), Duration.ZERO, 3);
+        noCooldown.next(4, sample(0, 6, 0, 0, 0, 0));
+
+        // 10 records/s at 10 ms each needs a single consumer
+        assertThat(noCooldown.next(4, sample(10 * SECOND, 6, 100, 100, 0, 1))).isEqualTo(4);
+        assertThat(noCooldown.next(4, sample(20 * SECOND, 6, 200, 200, 0, 2))).isEqualTo(4);
+        assertThat(noCooldown.next(4, sample(30 * SECOND, 6, 300, 300, 0, 3))).isEqualTo(1);
+    }
+
+    @Test
+    void next_spikeInterruptsScaleIn() {
+        ConcurrencyPolicy noCooldown = new ConcurrencyPolicy(1, 12, Duration.ofSeconds(30), Duration.ZERO, 2);
+        noCooldown.next(4, sample(0, 6, 0, 0, 0, 0));
+
+        assertThat(noCooldown.next(4, sample(10 * SECOND, 6, 100, 100, 0, 1))).isEqualTo(4);
+        // 350 records/s at 10 ms each needs all four again
+        assertThat(noCooldown.next(4, sample(20 * SECOND, 6, 3_600, 3_600, 0, 36))).isEqualTo(4);
+        assertThat(noCooldown.next(4, sample(30 * SECOND, 6, 3_700, 3_700, 0, 37))).isEqualTo(4);
+    }
+
+    @Test
+    void next_nothingMeasuredYet_clampsToPartitions() {
+        policy.next(8, sample(0, 3, 0, 0, 0, 0));
+
+        assertThat(policy.next(8, sample(10 * SECOND, 3, 0, 0, 0, 0))).isEqualTo(8);
+        assertThat(policy.next(8, sample(100 * SECOND, 3, 0, 0, 0, 0))).isEqualTo(8);
+        assertThat(policy.next(8, sample(200 * SECOND, 3, 0, 0, 0, 0))).isEqualTo(3);
+    }
+
+    @Test
+    void newPolicy_rejectsInvertedBounds() {
+        assertThatThrownBy(() -> new ConcurrencyPolicy(5, 2, Duration.ofSeconds(30), Duration.ZERO, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ConcurrencyPolicy.Sample sample(long nanoTime, int partitions, long end, long committed,
+                                                   long lag, double busySeconds) {
+        return new ConcurrencyPolicy.Sample(nanoTime, partitions, end, committed, lag, busySeconds);
+    }
+}
@@ -0,0 +1,95 @@
+package com.eventflow.notificationservice.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DigestBufferTest {
+
+    private static final TopicPartition P0 = new TopicPartition("orders", 0);
+    private static final TopicPartition P1 = new TopicPartition("orders", 1);
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final DigestBuffer buffer = new DigestBuffer(Duration.ofSeconds(60), 3);
+
+    @Test
+    void takeDue_closesDigestWhenFullOrWindowElapsed() {
+        buffer.add("alice@example.com", record(0, 0), T0);
+        buffer.add("alice@example.com", record(0, 1), T0);
+        buffer.add("alice@example.com", record(0, 2), T0);
+        buffer.add("bob@example.com", record(0, 3), T0.plusSeconds(30));
+
+        assertThat(buffer.takeDue(T0.plusSeconds(1)))
+                .singleElement().extracting(DigestBuffer.Digest::recipient).isEqualTo("alice@example.com");
+        assertThat(buffer.takeDue(T0.plusSeconds(60))).isEmpty();
+        assertThat(buffer.takeDue(T0.plusSeconds(90)))
+                .singleElement().extracting(DigestBuffer.Digest::recipient).isEqualTo("bob@example.com");
+    }
+
+    @Test
+    void commits_stayBehindOldestUnsentRecord() {
+        buffer.add("alice@example.com", record(0, 10), T0);
+        buffer.add("bob@example.com", record(0, 11), T0.plusSeconds(30));
+        buffer.skip(record(0, 12));
+
+        assertThat(buffer.commits(Set.of(P0))).containsEntry(P0, new OffsetAndMetadata(10));
+        buffer.committed(buffer.commits(Set.of(P0)));
+
+        List<DigestBuffer.Digest> due = buffer.takeDue(T0.plusSeconds(60));
+        buffer.sent(due.get(0));
+        assertThat(buffer.commits(Set.of(P0))).containsEntry(P0, new OffsetAndMetadata(11));
+
+        buffer.sent(buffer.takeDue(T0.plusSeconds(90)).get(0));
+        assertThat(buffer.commits(Set.of(P0))).containsEntry(P0, new OffsetAndMetadata(13));
+    }
+
+    @Test
+    void reopen_retriesFromRetryAtAndMergesNewerEvents() {
+        buffer.add("alice@example.com", record(0, 0), T0);
+        DigestBuffer.Digest failed = buffer.takeDue(T0.plusSeconds(60)).get(0);
+        buffer.add("alice@example.com", record(0, 1), T0.plusSeconds(61));
+
+        buffer.reopen(failed, T0.plusSeconds(70));
+
+        assertThat(buffer.takeDue(T0.plusSeconds(62))).isEmpty();
+        assertThat(buffer.takeDue(T0.plusSeconds(70)))
+                .singleElement().extracting(digest -> digest.records().size()).isEqualTo(2);
+    }
+
+    @Test
+    void add_sameAddressInOtherCaseOrSpacing_joinsOneDigest() {
+        buffer.add("alice@example.com", record(0, 0), T0);
+        buffer.add(" Alice@Example.COM", record(0, 1), T0);
+
+        assertThat(buffer.takeDue(T0.plusSeconds(60)))
+                .singleElement()
+                .satisfies(digest -> {
+                    assertThat(digest.recipient()).isEqualTo("alice@example.com");
+                    assertThat(digest.records()).hasSize(2);
+                });
+    }
+
+    @Test
+    void retainAssigned_dropsRecordsOfRevokedPartitions() {
+        buffer.add("alice@example.com", record(0, 0), T0);
+        buffer.add("alice@example.com", record(1, 0), T0);
+        buffer.add("bob@example.com", record(1, 1), T0);
+
+        buffer.retainAssigned(Set.of(P0));
+
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.commits(Set.of(P0, P1))).containsOnlyKeys(P0);
+    }
+
+    private static ConsumerRecord<String, Object> record(int partition, long offset) {
+        return new ConsumerRecord<>("orders", partition, offset, "key", "event");
+    }
+}
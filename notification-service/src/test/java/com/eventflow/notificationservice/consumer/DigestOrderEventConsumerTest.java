@@ -0,0 +1,114 @@
+package com.eventflow.notificationservice.consumer;
+
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.service.NotificationService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.mail.MailSendException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DigestOrderEventConsumerTest {
+
+    private static final TopicPartition PARTITION_0 = new TopicPartition("orders", 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition("orders", 1);
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private DeadLetterPublishingRecoverer deadLetterRecoverer;
+
+    @Mock
+    private Consumer<String, Object> kafkaConsumer;
+
+    @Test
+    void onIdle_afterRevocation_sendsOnlyDigestsOfAssignedPartitions() {
+        OrderPlacedEvent kept = placed("alice@example.com");
+        OrderPlacedEvent revoked = placed("bob@example.com");
+        // Buffered on the poll; the window closes on the idle event
+        DigestOrderEventConsumer consumer = consumer(Duration.ofMillis(50));
+        when(kafkaConsumer.assignment()).thenReturn(Set.of(PARTITION_0, PARTITION_1));
+        consumer.consume(List.of(record(0, kept), record(1, revoked)), kafkaConsumer);
+        verify(notificationService, never()).handleDigest(anyString(), any());
+
+        when(kafkaConsumer.assignment()).thenReturn(Set.of(PARTITION_0));
+        sleepPastWindow();
+        consumer.onIdle(idle());
+
+        verify(notificationService).handleDigest("alice@example.com", List.of(kept));
+        verify(notificationService, never()).handleDigest(eq("bob@example.com"), any());
+    }
+
+    @Test
+    void consume_dueDigest_isSentAndCommitted() {
+        OrderPlacedEvent event = placed("alice@example.com");
+        when(kafkaConsumer.assignment()).thenReturn(Set.of(PARTITION_0));
+
+        consumer(Duration.ZERO).consume(List.of(record(0, event)), kafkaConsumer);
+
+        verify(notificationService).handleDigest("alice@example.com", List.of(event));
+        verify(kafkaConsumer).commitSync(Map.of(PARTITION_0, new OffsetAndMetadata(1)));
+    }
+
+    @Test
+    void onIdle_failedDigest_waitsForTheBackoffBeforeItsRetry() {
+        OrderPlacedEvent event = placed("alice@example.com");
+        when(kafkaConsumer.assignment()).thenReturn(Set.of(PARTITION_0));
+        doThrow(new MailSendException("421 Service not available"))
+                .when(notificationService).handleDigest("alice@example.com", List.of(event));
+        DigestOrderEventConsumer consumer = consumer(Duration.ZERO);
+
+        consumer.consume(List.of(record(0, event)), kafkaConsumer);
+        consumer.onIdle(idle());
+
+        verify(notificationService, times(1)).handleDigest("alice@example.com", List.of(event));
+        // Held at the unsent record
+        verify(kafkaConsumer).commitSync(Map.of(PARTITION_0, new OffsetAndMetadata(0)));
+    }
+
+    private DigestOrderEventConsumer consumer(Duration window) {
+        return new DigestOrderEventConsumer(notificationService, deadLetterRecoverer, window, 100, 3, 1000, 2.0);
+    }
+
+    private ListenerContainerIdleEvent idle() {
+        return new ListenerContainerIdleEvent(this, this, 1000, DigestOrderEventConsumer.LISTENER_ID + "-0",
+                List.of(PARTITION_0), kafkaConsumer, false);
+    }
+
+    private static void sleepPastWindow() {
+        try {
+            Thread.sleep(60);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static OrderPlacedEvent placed(String email) {
+        return new OrderPlacedEvent(UUID.randomUUID(), email, "Laptop", 1, new BigDecimal("999.99"), Instant.now());
+    }
+
+    private static ConsumerRecord<String, Object> record(int partition, Object value) {
+        return new ConsumerRecord<>("orders", partition, 0, "key-" + partition, value);
+    }
+}
@@ -0,0 +1,47 @@
+package com.eventflow.notificationservice.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OffsetTrackerTest {
+
+    private static final TopicPartition P0 = new TopicPartition("orders", 0);
+    private static final TopicPartition P1 = new TopicPartition("orders", 1);
+
+    @Test
+    void committableOffsets_onlyCoverContiguousCompletedPrefix() {
+        ConsumerRecord<String, Object> p0o10 = record(0, 10);
+        ConsumerRecord<String, Object> p0o11 = record(0, 11);
+        ConsumerRecord<String, Object> p0o12 = record(0, 12);
+        ConsumerRecord<String, Object> p1o5 = record(1, 5);
+        OffsetTracker tracker = new OffsetTracker(List.of(p0o10, p0o11, p0o12, p1o5));
+
+        tracker.complete(p0o10);
+        tracker.complete(p0o12); // finished out of order, 11 still pending
+        tracker.complete(p1o5);
+
+        assertThat(tracker.committableOffsets()).containsOnly(entry(P0, 11L), entry(P1, 6L));
+        assertThat(tracker.incompleteOffsets()).containsOnly(entry(P0, 11L));
+    }
+
+    @Test
+    void partitionWithNoProgress_isNotCommittedAndRewindsToFirstRecord() {
+        ConsumerRecord<String, Object> p0o3 = record(0, 3);
+        ConsumerRecord<String, Object> p0o4 = record(0, 4);
+        OffsetTracker tracker = new OffsetTracker(List.of(p0o3, p0o4));
+
+        tracker.complete(p0o4);
+
+        assertThat(tracker.committableOffsets()).isEmpty();
+        assertThat(tracker.incompleteOffsets()).containsOnly(entry(P0, 3L));
+    }
+
+    private static ConsumerRecord<String, Object> record(int partition, long offset) {
+        return new ConsumerRecord<>("orders", partition, offset, "key", "value");
+    }
+}
@@ -0,0 +1,150 @@
+package com.eventflow.notificationservice.consumer;
+
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.metrics.NotificationMetrics;
+import com.eventflow.notificationservice.service.NotificationService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.retrytopic.DeadLetterPublishingRecovererFactory;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderEventConsumerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private NotificationMetrics notificationMetrics;
+
+    @Mock
+    private DeadLetterPublishingRecovererFactory retryPublisherFactory;
+
+    @Mock
+    private DeadLetterPublishingRecoverer retryRecoverer;
+
+    @Mock
+    private Acknowledgment ack;
+
+    private OrderEventConsumer consumer;
+
+    private final OrderPlacedEvent placed = new OrderPlacedEvent(
+            UUID.randomUUID(), "alice@example.com", "Laptop", 1, new BigDecimal("999.99"), Instant.now());
+
+    @BeforeEach
+    void setUp() {
+        when(retryPublisherFactory.create(OrderEventConsumer.LISTENER_ID)).thenReturn(retryRecoverer);
+        consumer = new OrderEventConsumer(notificationService, notificationMetrics, retryPublisherFactory);
+        ReflectionTestUtils.setField(consumer, "maxAttempts", 3);
+        ReflectionTestUtils.setField(consumer, "ordersTopic", "orders");
+    }
+
+    @Test
+    void consume_mainTopic_leavesMailFailuresToRetryTopics() {
+        when(notificationService.handleOrderPlacedAsync(placed, false)).thenReturn(CompletableFuture.completedFuture(null));
+
+        consumer.consume(new ConsumerRecord<>("orders", 0, 0, "key", placed), ack);
+
+        verify(notificationService).handleOrderPlacedAsync(placed, false);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void consume_returnsBeforeMailCompletesAndAcknowledgesAfterwards() {
+        CompletableFuture<Void> handled = new CompletableFuture<>();
+        when(notificationService.handleOrderPlacedAsync(placed, false)).thenReturn(handled);
+
+        consumer.consume(new ConsumerRecord<>("orders", 0, 0, "key", placed), ack);
+        verify(ack, never()).acknowledge();
+
+        handled.complete(null);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void consume_sameKey_waitsForEarlierEvent() {
+        OrderCancelledEvent cancelled = new OrderCancelledEvent(placed.orderId(), "alice@example.com", "Laptop",
+                Instant.now());
+        CompletableFuture<Void> placedHandled = new CompletableFuture<>();
+        when(notificationService.handleOrderPlacedAsync(placed, false)).thenReturn(placedHandled);
+        when(notificationService.handleOrderCancelledAsync(cancelled, false))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        consumer.consume(new ConsumerRecord<>("orders", 0, 0, "key", placed), ack);
+        consumer.consume(new ConsumerRecord<>("orders", 0, 1, "key", cancelled), ack);
+        verify(notificationService, never()).handleOrderCancelledAsync(any(), anyBoolean());
+
+        placedHandled.complete(null);
+        verify(notificationService).handleOrderCancelledAsync(cancelled, false);
+        verify(ack, times(2)).acknowledge();
+    }
+
+    @Test
+    void consume_failedMail_publishesToNextStageAndAcknowledges() {
+        MailSendException failure = new MailSendException("421 Service not available");
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>("orders", 0, 0, "key", placed);
+        when(notificationService.handleOrderPlacedAsync(placed, false))
+                .thenReturn(CompletableFuture.failedFuture(failure));
+
+        consumer.consume(record, ack);
+
+        verify(retryRecoverer).accept(record, null, failure);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void consume_lastRetryTopic_isFinalAttempt() {
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>("orders.retry.4s", 0, 0, "key", placed);
+        record.headers().add(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS, ByteBuffer.allocate(Integer.BYTES).putInt(4).array());
+
+        when(notificationService.handleOrderPlacedAsync(placed, true)).thenReturn(CompletableFuture.completedFuture(null));
+
+        consumer.consume(record, ack);
+
+        verify(notificationService).handleOrderPlacedAsync(placed, true);
+    }
+
+    @Test
+    void deliveryAttempt_readsOneByteHeader() {
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>("orders.retry.1s", 0, 0, "key", placed);
+        record.headers().add(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS, new byte[]{2});
+
+        assertThat(OrderEventConsumer.deliveryAttempt(record)).isEqualTo(2);
+    }
+
+    @Test
+    void onDeadLetter_countsRootCauseByOriginalTopic() {
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>("orders.DLT", 0, 7, "key", placed);
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_FQCN,
+                "org.springframework.kafka.listener.ListenerExecutionFailedException".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN,
+                "org.springframework.dao.DataAccessResourceFailureException".getBytes(StandardCharsets.UTF_8));
+
+        consumer.onDeadLetter(record, ack);
+
+        verify(notificationMetrics).countDeadLetter("orders", "DataAccessResourceFailureException");
+        verifyNoInteractions(notificationService);
+        verify(ack).acknowledge();
+    }
+}
@@ -0,0 +1,117 @@
+package com.eventflow.notificationservice.consumer;
+
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.service.NotificationService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelOrderEventConsumerTest {
+
+    private static final TopicPartition P0 = new TopicPartition("orders", 0);
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private DeadLetterPublishingRecoverer deadLetterRecoverer;
+
+    @Mock
+    private KafkaListenerEndpointRegistry registry;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private Consumer<?, ?> kafkaConsumer;
+
+    private ParallelOrderEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new ParallelOrderEventConsumer(notificationService, deadLetterRecoverer, registry, taskScheduler,
+                4, 3, 1000, 2.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.destroy();
+    }
+
+    @Test
+    void consume_failedRecord_pausesPartitionForBackoffAndSkipsCompletedRecordsOnRepoll() {
+        OrderPlacedEvent failing = placed();
+        OrderPlacedEvent healthy = placed();
+        ConsumerRecord<String, Object> first = record(10, "order-a", failing);
+        ConsumerRecord<String, Object> second = record(11, "order-b", healthy);
+        when(registry.getListenerContainer(ParallelOrderEventConsumer.LISTENER_ID)).thenReturn(container);
+        doThrow(new DataAccessResourceFailureException("db down")).doNothing()
+                .when(notificationService).handleOrderPlaced(failing, true);
+
+        consumer.consume(List.of(first, second), kafkaConsumer);
+
+        verify(kafkaConsumer, never()).commitSync(anyMap());
+        verify(kafkaConsumer).seek(P0, 10);
+        verify(container).pausePartition(P0);
+        verify(taskScheduler).schedule(any(Runnable.class),
+                argThat((Instant resumeAt) -> resumeAt.isAfter(Instant.now().plusMillis(500))));
+
+        consumer.consume(List.of(first, second), kafkaConsumer);
+
+        verify(notificationService, times(2)).handleOrderPlaced(failing, true);
+        verify(notificationService, times(1)).handleOrderPlaced(healthy, true);
+        verify(kafkaConsumer).commitSync(Map.of(P0, new OffsetAndMetadata(12)));
+    }
+
+    @Test
+    void onPartitionsRevoked_forgetsRecordsCompletedAheadOfTheGap() {
+        OrderPlacedEvent failing = placed();
+        OrderPlacedEvent healthy = placed();
+        ConsumerRecord<String, Object> first = record(10, "order-a", failing);
+        ConsumerRecord<String, Object> second = record(11, "order-b", healthy);
+        doThrow(new DataAccessResourceFailureException("db down")).doNothing()
+                .when(notificationService).handleOrderPlaced(failing, true);
+
+        consumer.consume(List.of(first, second), kafkaConsumer);
+        consumer.onPartitionsRevoked(List.of(P0));
+        consumer.consume(List.of(first, second), kafkaConsumer);
+
+        // Reassigned later, the partition is read from its committed offset like any new owner would
+        verify(notificationService, times(2)).handleOrderPlaced(healthy, true);
+        verify(kafkaConsumer).commitSync(Map.of(P0, new OffsetAndMetadata(12)));
+    }
+
+    private static OrderPlacedEvent placed() {
+        return new OrderPlacedEvent(UUID.randomUUID(), "alice@example.com", "Laptop", 1,
+                new BigDecimal("999.99"), Instant.now());
+    }
+
+    private static ConsumerRecord<String, Object> record(long offset, String key, Object value) {
+        return new ConsumerRecord<>("orders", 0, offset, key, value);
+    }
+}
@@ -0,0 +1,71 @@
+package com.eventflow.notificationservice.event;
+
+import com.eventflow.contracts.BinaryEventCodec;
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OrderEventDeserializerTest {
+
+    private final OrderEventDeserializer deserializer = configured();
+
+    @Test
+    void formatOneBinaryRecord_isDecodedAndHeadersRewrittenForJson() {
+        UUID orderId = UUID.randomUUID();
+        Instant occurredAt = Instant.parse("2026-02-21T10:00:00Z");
+        // Format 1, as written before binary records carried a schema version
+        byte[] email = "alice@example.com".getBytes(StandardCharsets.UTF_8);
+        byte[] product = "Laptop".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 16 + 1 + email.length + 1 + product.length + 4 + 8 + 1 + 12);
+        buffer.put((byte) 1).put((byte) 1)
+                .putLong(orderId.getMostSignificantBits()).putLong(orderId.getLeastSignificantBits())
+                .put((byte) email.length).put(email)
+                .put((byte) product.length).put(product)
+                .putInt(2)
+                .putLong(99999L).put((byte) 2)
+                .putLong(occurredAt.getEpochSecond()).putInt(occurredAt.getNano());
+
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(BinaryEventCodec.CONTENT_TYPE_HEADER,
+                BinaryEventCodec.BINARY_CONTENT_TYPE.getBytes(StandardCharsets.UTF_8));
+
+        Object event = deserializer.deserialize("orders", headers, buffer.array());
+
+        assertThat(event).isEqualTo(new OrderPlacedEvent(orderId, "alice@example.com", "Laptop",
+                2, new BigDecimal("999.99"), occurredAt));
+        assertThat(headers.lastHeader(BinaryEventCodec.CONTENT_TYPE_HEADER)).isNull();
+        assertThat(new String(headers.lastHeader("__TypeId__").value(), StandardCharsets.UTF_8))
+                .isEqualTo("orderPlaced");
+    }
+
+    @Test
+    void recordWithoutContentType_isReadAsJson() {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("__TypeId__", "orderCancelled".getBytes(StandardCharsets.UTF_8));
+        byte[] json = """
+                {"orderId":"3fa85f64-5717-4562-b3fc-2c963f66afa6","customerEmail":"bob@example.com",\
+                "productName":"Phone","occurredAt":"2026-02-21T10:05:00Z"}""".getBytes(StandardCharsets.UTF_8);
+
+        Object event = deserializer.deserialize("orders", headers, json);
+
+        assertThat(event).isInstanceOf(OrderCancelledEvent.class);
+        assertThat(((OrderCancelledEvent) event).customerEmail()).isEqualTo("bob@example.com");
+    }
+
+    private static OrderEventDeserializer configured() {
+        OrderEventDeserializer deserializer = new OrderEventDeserializer();
+        deserializer.configure(Map.of(
+                "spring.json.trusted.packages", "com.eventflow.*"), false);
+        return deserializer;
+    }
+}
@@ -0,0 +1,109 @@
+package com.eventflow.notificationservice.service;
+
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.exception.DltReplayStateException;
+import com.eventflow.notificationservice.model.DltReplay;
+import com.eventflow.notificationservice.repository.DltReplayRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DltReplayServiceTest {
+
+    private static final Instant DEAD_LETTERED = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Test
+    void matches_noFilter_matchesEverything() {
+        assertThat(DltReplayService.matches(new DltReplay(), placed("java.lang.IllegalStateException", null))).isTrue();
+    }
+
+    @Test
+    void matches_timeRange_fromInclusiveToExclusive() {
+        DltReplay replay = new DltReplay();
+        replay.setFromTime(DEAD_LETTERED);
+        replay.setToTime(DEAD_LETTERED.plusSeconds(60));
+        assertThat(DltReplayService.matches(replay, placed(null, null))).isTrue();
+
+        replay.setToTime(DEAD_LETTERED);
+        assertThat(DltReplayService.matches(replay, placed(null, null))).isFalse();
+    }
+
+    @Test
+    void matches_exceptionType_bySimpleOrFullNameOfExceptionOrCause() {
+        DltReplay replay = new DltReplay();
+        replay.setExceptionType("MailSendException");
+        assertThat(DltReplayService.matches(replay,
+                placed("org.springframework.kafka.listener.ListenerExecutionFailedException",
+                        "org.springframework.mail.MailSendException"))).isTrue();
+
+        replay.setExceptionType("org.springframework.mail.MailSendException");
+        assertThat(DltReplayService.matches(replay, placed("org.springframework.mail.MailSendException", null))).isTrue();
+
+        replay.setExceptionType("SendException");
+        assertThat(DltReplayService.matches(replay, placed("org.springframework.mail.MailSendException", null))).isFalse();
+    }
+
+    @Test
+    void matches_eventType_byDeserializedValue() {
+        DltReplay replay = new DltReplay();
+        replay.setEventType("orderCancelled");
+        assertThat(DltReplayService.matches(replay, placed(null, null))).isFalse();
+
+        OrderCancelledEvent cancelled = new OrderCancelledEvent(
+                UUID.randomUUID(), "bob@example.com", "Headphones", Instant.now());
+        assertThat(DltReplayService.matches(replay, record(cancelled, new RecordHeaders()))).isTrue();
+    }
+
+    @Test
+    void resume_whenConditionalUpdateMatchesNothing_throwsWithoutSaving() {
+        DltReplayRepository repository = mock(DltReplayRepository.class);
+        DltReplay replay = new DltReplay();
+        replay.setStatus(DltReplay.Status.RUNNING);
+        when(repository.findById(replay.getId())).thenReturn(Optional.of(replay));
+        when(repository.claimForResume(eq(replay.getId()), any(), any())).thenReturn(0);
+        DltReplayService service = new DltReplayService(repository, mock(NotificationService.class),
+                mock(ConsumerFactory.class), "orders.DLT", 20, 200);
+
+        assertThatThrownBy(() -> service.resume(replay.getId()))
+                .isInstanceOf(DltReplayStateException.class)
+                .hasMessageContaining("RUNNING");
+        verify(repository, never()).save(any());
+    }
+
+    private static ConsumerRecord<String, Object> placed(String exception, String cause) {
+        RecordHeaders headers = new RecordHeaders();
+        if (exception != null) {
+            headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, exception.getBytes(StandardCharsets.UTF_8));
+        }
+        if (cause != null) {
+            headers.add(KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN, cause.getBytes(StandardCharsets.UTF_8));
+        }
+        OrderPlacedEvent event = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop", 1, new BigDecimal("999.99"), Instant.now());
+        return record(event, headers);
+    }
+
+    private static ConsumerRecord<String, Object> record(Object value, RecordHeaders headers) {
+        return new ConsumerRecord<>("orders.DLT", 0, 0L, DEAD_LETTERED.toEpochMilli(), TimestampType.CREATE_TIME,
+                -1, -1, null, value, headers, Optional.empty());
+    }
+}
@@ -0,0 +1,134 @@
+package com.eventflow.notificationservice.service;
+
+import com.eventflow.notificationservice.metrics.NotificationMetrics;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailDispatcherTest {
+
+    @Mock
+    private NotificationMetrics notificationMetrics;
+
+    private EmailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        FakeTransport.reset();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setSession(FakeTransport.session());
+        mailSender.setProtocol(FakeTransport.PROTOCOL);
+        dispatcher = new EmailDispatcher(mailSender, notificationMetrics, 1, Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        FakeTransport.sendGate = null;
+        dispatcher.destroy();
+    }
+
+    @Test
+    void dispatch_sendsOverOnePooledConnection() throws Exception {
+        dispatcher.dispatch(message("alice@example.com")).get(5, TimeUnit.SECONDS);
+        dispatcher.dispatch(message("bob@example.com")).get(5, TimeUnit.SECONDS);
+
+        assertThat(FakeTransport.opened).singleElement()
+                .satisfies(transport -> assertThat(transport.sent).hasSize(2));
+        verify(notificationMetrics, times(2)).recordEmailSend(anyLong(), eq(true));
+    }
+
+    @Test
+    void dispatch_rejectedRecipient_keepsConnection() throws Exception {
+        FakeTransport.sendFailure = new SendFailedException("550 Mailbox unavailable");
+        CompletableFuture<Void> rejected = dispatcher.dispatch(message("nobody@example.com"));
+
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(MailSendException.class);
+        FakeTransport.sendFailure = null;
+        dispatcher.dispatch(message("alice@example.com")).get(5, TimeUnit.SECONDS);
+
+        assertThat(FakeTransport.opened).hasSize(1);
+        verify(notificationMetrics).recordEmailSend(anyLong(), eq(false));
+    }
+
+    @Test
+    void dispatch_brokenConnection_isEvictedAndReplaced() throws Exception {
+        FakeTransport.sendFailure = new MessagingException("421 Connection dropped");
+        CompletableFuture<Void> failed = dispatcher.dispatch(message("alice@example.com"));
+
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(MailSendException.class);
+        FakeTransport.sendFailure = null;
+        dispatcher.dispatch(message("alice@example.com")).get(5, TimeUnit.SECONDS);
+
+        assertThat(FakeTransport.opened).hasSize(2);
+        assertThat(FakeTransport.opened.get(0).closed).isTrue();
+        assertThat(FakeTransport.opened.get(1).sent).hasSize(1);
+    }
+
+    @Test
+    void dispatch_allConnectionsBusy_failsAfterBorrowTimeout() throws Exception {
+        FakeTransport.sendGate = new CountDownLatch(1);
+        CompletableFuture<Void> slow = dispatcher.dispatch(message("alice@example.com"));
+        CompletableFuture<Void> waiting = dispatcher.dispatch(message("bob@example.com"));
+
+        assertThatThrownBy(() -> waiting.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(MailSendException.class)
+                .hasRootCauseMessage("No SMTP connection to localhost free within PT0.2S");
+
+        FakeTransport.sendGate.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void destroy_finishesAcceptedDispatchesThenClosesConnections() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        FakeTransport.sendGate = gate;
+        CompletableFuture<Void> inFlight = dispatcher.dispatch(message("alice@example.com"));
+
+        CompletableFuture<Void> shutdown = CompletableFuture.runAsync(dispatcher::destroy);
+        Thread.sleep(50);
+        assertThat(shutdown).isNotDone();
+
+        gate.countDown();
+        shutdown.get(5, TimeUnit.SECONDS);
+
+        assertThat(inFlight).isCompleted();
+        assertThat(FakeTransport.opened).singleElement()
+                .satisfies(transport -> {
+                    assertThat(transport.sent).hasSize(1);
+                    assertThat(transport.closed).isTrue();
+                });
+    }
+
+    private static SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@eventflow.dev");
+        message.setTo(to);
+        message.setSubject("Order confirmed");
+        message.setText("Thanks for your order");
+        return message;
+    }
+}
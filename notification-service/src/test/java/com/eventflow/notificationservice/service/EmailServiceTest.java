@@ -0,0 +1,137 @@
+package com.eventflow.notificationservice.service;
+
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.metrics.NotificationMetrics;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Mock
+    private EmailDispatcher emailDispatcher;
+
+    @Mock
+    private NotificationMetrics notificationMetrics;
+
+    @Mock
+    private EmailTemplateRenderer templateRenderer;
+
+    @InjectMocks
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@eventflow.dev");
+        ReflectionTestUtils.setField(emailService, "asyncDispatch", true);
+        ReflectionTestUtils.setField(emailService, "locale", Locale.ENGLISH);
+    }
+
+    @Test
+    void sendAll_asyncDispatch_returnsOnlyFailedMessages() {
+        SimpleMailMessage ok = message("alice@example.com");
+        SimpleMailMessage rejected = message("bob@example.com");
+        MailSendException failure = new MailSendException("Mailbox unavailable");
+
+        when(emailDispatcher.dispatch(ok)).thenReturn(CompletableFuture.completedFuture(null));
+        when(emailDispatcher.dispatch(rejected)).thenReturn(CompletableFuture.failedFuture(failure));
+
+        Map<SimpleMailMessage, Exception> failures = emailService.sendAll(List.of(ok, rejected));
+
+        assertThat(failures).containsOnlyKeys(rejected);
+        assertThat(failures.get(rejected)).isSameAs(failure);
+        verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    void sendAll_oneSmtpSession_recordsEachMessageWithItsOutcome() throws Exception {
+        ReflectionTestUtils.setField(emailService, "asyncDispatch", false);
+        SimpleMailMessage ok = message("alice@example.com");
+        SimpleMailMessage rejected = message("bob@example.com");
+        MailException mailboxUnavailable = new MailSendException("Mailbox unavailable");
+
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doAnswer(invocation -> {
+            // The batch is sent in no particular order, so bob's message is found by recipient
+            for (MimeMessage sent : (MimeMessage[]) invocation.getRawArguments()[0]) {
+                if (sent.getAllRecipients()[0].toString().equals("bob@example.com")) {
+                    throw new MailSendException(Map.of(sent, mailboxUnavailable));
+                }
+            }
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        Map<SimpleMailMessage, Exception> failures = emailService.sendAll(List.of(ok, rejected));
+
+        assertThat(failures).containsOnlyKeys(rejected);
+        verify(notificationMetrics).recordEmailSends(anyLong(), eq(1), eq(1));
+        verify(notificationMetrics, never()).recordEmailSend(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void sendOrderConfirmation_asyncDispatchFails_rethrowsMailException() {
+        OrderPlacedEvent event = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop", 1, new BigDecimal("999.99"), Instant.now());
+
+        when(templateRenderer.render(eq("order-confirmation"), eq(Locale.ENGLISH), anyMap()))
+                .thenReturn(new RenderedEmail("Order Confirmed — Laptop", "text", "<p>html</p>"));
+        when(emailDispatcher.dispatch(any()))
+                .thenReturn(CompletableFuture.failedFuture(new MailSendException("SMTP error")));
+
+        assertThatThrownBy(() -> emailService.sendOrderConfirmation(event))
+                .isInstanceOf(MailSendException.class)
+                .hasMessage("SMTP error");
+    }
+
+    @Test
+    void confirmationMessage_carriesRenderedTextAndHtml() {
+        OrderPlacedEvent event = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop", 1, new BigDecimal("999.99"), Instant.now());
+        when(templateRenderer.render(eq("order-confirmation"), eq(Locale.ENGLISH), anyMap()))
+                .thenReturn(new RenderedEmail("Order Confirmed — Laptop", "text", "<p>html</p>"));
+
+        SimpleMailMessage message = emailService.confirmationMessage(event);
+
+        assertThat(message).isInstanceOf(HtmlMailMessage.class);
+        assertThat(message.getTo()).containsExactly("alice@example.com");
+        assertThat(message.getSubject()).isEqualTo("Order Confirmed — Laptop");
+        assertThat(message.getText()).isEqualTo("text");
+        assertThat(((HtmlMailMessage) message).getHtml()).isEqualTo("<p>html</p>");
+    }
+
+    private static SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(to);
+        return message;
+    }
+}
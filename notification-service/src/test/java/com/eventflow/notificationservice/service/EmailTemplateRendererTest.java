@@ -0,0 +1,121 @@
+package com.eventflow.notificationservice.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EmailTemplateRendererTest {
+
+    private static final UUID ORDER_ID = UUID.fromString("0190c4a2-7f3e-7a51-9c1d-2b8e5f4a6d10");
+
+    private EmailTemplateRenderer renderer;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (renderer != null) {
+            renderer.destroy();
+        }
+    }
+
+    @Test
+    void render_confirmation_fillsSubjectTextAndHtml() {
+        renderer = new EmailTemplateRenderer("classpath:/templates/mail/", false);
+
+        RenderedEmail email = renderer.render("order-confirmation", Locale.ENGLISH, confirmation());
+
+        assertThat(email.subject()).isEqualTo("Order Confirmed — Laptop");
+        assertThat(email.text())
+                .contains("Order ID:     " + ORDER_ID)
+                .contains("Total Price:  $1999.50");
+        assertThat(email.html())
+                .contains("<td>" + ORDER_ID + "</td>")
+                .contains("<td>$1999.50</td>");
+    }
+
+    @Test
+    void render_escapesHtmlButNotText() {
+        renderer = new EmailTemplateRenderer("classpath:/templates/mail/", false);
+
+        RenderedEmail email = renderer.render("order-cancellation", Locale.ENGLISH,
+                Map.of("orderId", ORDER_ID, "productName", "<b>Laptop</b>"));
+
+        assertThat(email.text()).contains("Product:  <b>Laptop</b>");
+        assertThat(email.html()).contains("&lt;b&gt;Laptop&lt;/b&gt;");
+    }
+
+    @Test
+    void render_regionalLocale_fallsBackToLanguageVariant() {
+        renderer = new EmailTemplateRenderer("classpath:/templates/mail/", false);
+
+        RenderedEmail email = renderer.render("order-confirmation", Locale.forLanguageTag("de-AT"), confirmation());
+
+        assertThat(email.subject()).isEqualTo("Bestellung bestätigt — Laptop");
+        assertThat(email.text()).contains("Gesamtpreis:    1999,50 $");
+    }
+
+    @Test
+    void render_localeWithoutVariant_usesDefaultTemplate() {
+        renderer = new EmailTemplateRenderer("classpath:/templates/mail/", false);
+
+        RenderedEmail email = renderer.render("order-confirmation", Locale.FRENCH, confirmation());
+
+        assertThat(email.subject()).isEqualTo("Order Confirmed — Laptop");
+    }
+
+    @Test
+    void render_digest_listsEveryEvent() {
+        renderer = new EmailTemplateRenderer("classpath:/templates/mail/", false);
+        List<Map<String, Object>> events = List.of(
+                Map.of("placed", true, "orderId", ORDER_ID, "productName", "Laptop",
+                        "quantity", 2, "totalPrice", new BigDecimal("1999.50")),
+                Map.of("placed", false, "orderId", ORDER_ID, "productName", "Laptop"));
+
+        RenderedEmail email = renderer.render("order-digest", Locale.ENGLISH, Map.of("events", events));
+
+        assertThat(email.subject()).isEqualTo("Your EventFlow order updates (2)");
+        assertThat(email.text())
+                .contains("• Placed     " + ORDER_ID + "  2 × Laptop  $1999.50")
+                .contains("• Cancelled  " + ORDER_ID + "  Laptop");
+    }
+
+    @Test
+    void render_reloadEnabled_picksUpEditedTemplate(@TempDir Path directory) throws IOException, InterruptedException {
+        Files.writeString(directory.resolve("greeting.subject.txt"), "Hello");
+        Files.writeString(directory.resolve("greeting.txt"), "Hi [(${name})]");
+        Files.writeString(directory.resolve("greeting.html"), "<p th:text=\"${name}\">name</p>");
+        renderer = new EmailTemplateRenderer("file:" + directory, true);
+
+        assertThat(renderer.render("greeting", Locale.ENGLISH, Map.of("name", "Alice")).text())
+                .isEqualTo("Hi Alice");
+
+        Files.writeString(directory.resolve("greeting.txt"), "Welcome back, [(${name})]");
+
+        // The watcher clears the cache asynchronously
+        String text = null;
+        for (long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10); System.nanoTime() < deadline; ) {
+            text = renderer.render("greeting", Locale.ENGLISH, Map.of("name", "Alice")).text();
+            if (text.startsWith("Welcome")) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertThat(text).isEqualTo("Welcome back, Alice");
+    }
+
+    private static Map<String, Object> confirmation() {
+        return Map.of("orderId", ORDER_ID, "productName", "Laptop",
+                "quantity", 2, "totalPrice", new BigDecimal("1999.50"));
+    }
+}
@@ -0,0 +1,174 @@
+package com.eventflow.notificationservice.service;
+
+import com.eventflow.notificationservice.exception.DeliveryInProgressException;
+import com.eventflow.notificationservice.model.Notification;
+import com.eventflow.notificationservice.repository.NotificationRepository;
+import com.eventflow.notificationservice.service.EventDeduplicator.EventKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventDeduplicatorTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private EventDeduplicator eventDeduplicator;
+
+    @BeforeEach
+    void setUp() {
+        eventDeduplicator = new EventDeduplicator(notificationRepository, 100, Duration.ofMinutes(2),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void claim_newEvent_insertsItAsPending() {
+        Notification candidate = notification(Notification.NotificationType.ORDER_PLACED);
+
+        assertThat(eventDeduplicator.claim(candidate)).containsSame(candidate);
+
+        verify(notificationRepository).save(candidate);
+        assertThat(candidate.getStatus()).isEqualTo(Notification.DeliveryStatus.PENDING);
+        assertThat(candidate.getClaimedUntil()).isAfter(Instant.now());
+    }
+
+    @Test
+    void claim_markedKey_answersWithoutQuery() {
+        Notification candidate = notification(Notification.NotificationType.ORDER_PLACED);
+        eventDeduplicator.markProcessed(EventKey.of(candidate));
+
+        assertThat(eventDeduplicator.claim(candidate)).isEmpty();
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void claim_settledElsewhere_isCachedForNextDelivery() {
+        Notification candidate = notification(Notification.NotificationType.ORDER_CANCELLED);
+        Notification sent = notification(Notification.NotificationType.ORDER_CANCELLED);
+        sent.setStatus(Notification.DeliveryStatus.SENT);
+        when(notificationRepository.save(candidate)).thenThrow(duplicateKey());
+        when(notificationRepository.findByOrderIdAndType(candidate.getOrderId(), candidate.getType()))
+                .thenReturn(Optional.of(sent));
+
+        assertThat(eventDeduplicator.claim(candidate)).isEmpty();
+        assertThat(eventDeduplicator.claim(candidate)).isEmpty();
+
+        verify(notificationRepository, times(1)).save(candidate);
+    }
+
+    @Test
+    void claim_liveClaimElsewhere_throwsInProgress() {
+        Notification candidate = notification(Notification.NotificationType.ORDER_PLACED);
+        Notification held = notification(Notification.NotificationType.ORDER_PLACED);
+        held.setStatus(Notification.DeliveryStatus.PENDING);
+        when(notificationRepository.save(candidate)).thenThrow(duplicateKey());
+        when(notificationRepository.findByOrderIdAndType(candidate.getOrderId(), candidate.getType()))
+                .thenReturn(Optional.of(held));
+
+        assertThatThrownBy(() -> eventDeduplicator.claim(candidate))
+                .isInstanceOf(DeliveryInProgressException.class);
+    }
+
+    @Test
+    void claim_abandonedClaim_isTakenOver() {
+        Notification candidate = notification(Notification.NotificationType.ORDER_PLACED);
+        Notification abandoned = notification(Notification.NotificationType.ORDER_PLACED);
+        abandoned.setStatus(Notification.DeliveryStatus.PENDING);
+        when(notificationRepository.save(candidate)).thenThrow(duplicateKey());
+        when(notificationRepository.takeOverClaim(eq(candidate.getOrderId()), eq(candidate.getType()), any(), any()))
+                .thenReturn(1);
+        when(notificationRepository.findByOrderIdAndType(candidate.getOrderId(), candidate.getType()))
+                .thenReturn(Optional.of(abandoned));
+
+        assertThat(eventDeduplicator.claim(candidate)).containsSame(abandoned);
+    }
+
+    @Test
+    void claimAll_conflict_claimsOneByOneAndLeavesOutSettledEvents() {
+        Notification fresh = notification(Notification.NotificationType.ORDER_PLACED);
+        Notification settled = notification(Notification.NotificationType.ORDER_CANCELLED);
+        Notification sent = notification(Notification.NotificationType.ORDER_CANCELLED);
+        sent.setStatus(Notification.DeliveryStatus.SENT);
+        when(notificationRepository.saveAll(List.of(fresh, settled))).thenThrow(duplicateKey());
+        when(notificationRepository.save(any())).thenAnswer(inv -> {
+            if (inv.getArgument(0) == settled) {
+                throw duplicateKey();
+            }
+            return inv.getArgument(0);
+        });
+        when(notificationRepository.findByOrderIdAndType(settled.getOrderId(), settled.getType()))
+                .thenReturn(Optional.of(sent));
+
+        assertThat(eventDeduplicator.claimAll(List.of(fresh, settled))).containsExactly(fresh);
+        verify(notificationRepository).save(fresh);
+    }
+
+    @Test
+    void claimForReplay_storedFailed_isClaimedBackEvenWhenMarked() {
+        Notification candidate = notification(Notification.NotificationType.ORDER_PLACED);
+        Notification failed = notification(Notification.NotificationType.ORDER_PLACED);
+        eventDeduplicator.markProcessed(EventKey.of(candidate));
+        when(notificationRepository.save(candidate)).thenThrow(duplicateKey());
+        when(notificationRepository.claimFailed(eq(candidate.getOrderId()), eq(candidate.getType()), any()))
+                .thenReturn(1);
+        when(notificationRepository.findByOrderIdAndType(candidate.getOrderId(), candidate.getType()))
+                .thenReturn(Optional.of(failed));
+
+        assertThat(eventDeduplicator.claimForReplay(candidate)).containsSame(failed);
+    }
+
+    @Test
+    void claimForReplay_storedSentOrPending_isNotClaimed() {
+        Notification candidate = notification(Notification.NotificationType.ORDER_CANCELLED);
+        when(notificationRepository.save(candidate)).thenThrow(duplicateKey());
+        when(notificationRepository.claimFailed(eq(candidate.getOrderId()), eq(candidate.getType()), any()))
+                .thenReturn(0);
+
+        assertThat(eventDeduplicator.claimForReplay(candidate)).isEmpty();
+        verify(notificationRepository, never()).takeOverClaim(any(), any(), any(), any());
+    }
+
+    @Test
+    void release_expiresTheClaim() {
+        Notification claimed = eventDeduplicator.claim(notification(Notification.NotificationType.ORDER_PLACED))
+                .orElseThrow();
+
+        eventDeduplicator.release(claimed);
+
+        assertThat(claimed.getClaimedUntil()).isNull();
+        verify(notificationRepository).save(claimed);
+        verify(notificationRepository).updateDeliveries(List.of(claimed));
+    }
+
+    private static Notification notification(Notification.NotificationType type) {
+        Notification notification = new Notification();
+        notification.setOrderId(UUID.randomUUID());
+        notification.setRecipientEmail("alice@example.com");
+        notification.setType(type);
+        return notification;
+    }
+
+    private static DataIntegrityViolationException duplicateKey() {
+        return new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException(),
+                        Notification.ORDER_TYPE_CONSTRAINT));
+    }
+}
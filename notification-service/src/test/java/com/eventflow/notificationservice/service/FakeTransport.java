@@ -0,0 +1,82 @@
+package com.eventflow.notificationservice.service;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * In-memory SMTP transport for the {@value #PROTOCOL} protocol of {@link #session()}. Records every
+ * connection it opens; a connection can be broken, and the next sends made to fail or wait.
+ */
+public class FakeTransport extends Transport {
+
+    static final String PROTOCOL = "fake-smtp";
+    static final List<FakeTransport> opened = new CopyOnWriteArrayList<>();
+    static volatile MessagingException sendFailure;
+    static volatile CountDownLatch sendGate;
+
+    final List<Message> sent = new CopyOnWriteArrayList<>();
+    volatile boolean broken;
+    volatile boolean closed;
+
+    public FakeTransport(Session session, URLName urlName) {
+        super(session, urlName);
+    }
+
+    static Session session() {
+        Session session = Session.getInstance(new Properties());
+        session.addProvider(new Provider(Provider.Type.TRANSPORT, PROTOCOL, FakeTransport.class.getName(),
+                "EventFlow", "test"));
+        return session;
+    }
+
+    static void reset() {
+        opened.clear();
+        sendFailure = null;
+        sendGate = null;
+    }
+
+    @Override
+    protected boolean protocolConnect(String host, int port, String user, String password) {
+        opened.add(this);
+        return true;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return !broken && super.isConnected();
+    }
+
+    @Override
+    public void sendMessage(Message message, Address[] addresses) throws MessagingException {
+        CountDownLatch gate = sendGate;
+        if (gate != null) {
+            try {
+                gate.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new MessagingException("Interrupted", ex);
+            }
+        }
+        MessagingException failure = sendFailure;
+        if (failure != null) {
+            throw failure;
+        }
+        sent.add(message);
+    }
+
+    @Override
+    public synchronized void close() throws MessagingException {
+        closed = true;
+        super.close();
+    }
+}
@@ -0,0 +1,52 @@
+package com.eventflow.notificationservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class NotificationPartitionsTest {
+
+    @Test
+    void partitionName_roundTripsThroughMonthOf() {
+        YearMonth month = YearMonth.of(2025, 3);
+
+        assertThat(NotificationPartitions.partitionName(month)).isEqualTo("notifications_p202503");
+        assertThat(NotificationPartitions.monthOf("notifications_p202503")).isEqualTo(month);
+    }
+
+    @Test
+    void monthOf_ignoresOtherTables() {
+        assertThat(NotificationPartitions.monthOf("notification_keys")).isNull();
+        assertThat(NotificationPartitions.monthOf("notifications_pold")).isNull();
+    }
+
+    @Test
+    void keyRetention_shorterThanRowRetention_isRejected() {
+        assertThatThrownBy(() -> new NotificationPartitions(mock(JdbcTemplate.class),
+                mock(PlatformTransactionManager.class), 2, 12, 6, Path.of("archive")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("key-retention-months");
+    }
+
+    @Test
+    void lowerBound_isStartOfMonthInUtc() {
+        assertThat(NotificationPartitions.lowerBound(YearMonth.of(2024, 12)))
+                .isEqualTo(Instant.parse("2024-12-01T00:00:00Z"));
+    }
+
+    @Test
+    void csvField_quotesOnlyWhenNeeded() {
+        assertThat(NotificationPartitions.csvField(null)).isEmpty();
+        assertThat(NotificationPartitions.csvField("alice@example.com")).isEqualTo("alice@example.com");
+        assertThat(NotificationPartitions.csvField("535 auth failed, \"bad\" login"))
+                .isEqualTo("\"535 auth failed, \"\"bad\"\" login\"");
+        assertThat(NotificationPartitions.csvField("line\nbreak")).isEqualTo("\"line\nbreak\"");
+    }
+}
@@ -1,22 +1,35 @@
 package com.eventflow.notificationservice.service;
 
-import com.eventflow.notificationservice.event.OrderCancelledEvent;
-import com.eventflow.notificationservice.event.OrderPlacedEvent;
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.notificationservice.dto.NotificationCursor;
+import com.eventflow.notificationservice.dto.NotificationFilter;
+import com.eventflow.notificationservice.dto.NotificationPage;
+import com.eventflow.notificationservice.exception.DeliveryInProgressException;
+import com.eventflow.notificationservice.metrics.NotificationMetrics;
 import com.eventflow.notificationservice.model.Notification;
 import com.eventflow.notificationservice.repository.NotificationRepository;
+import com.eventflow.notificationservice.service.EventDeduplicator.EventKey;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +41,12 @@ class NotificationServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private NotificationMetrics notificationMetrics;
+
+    @Mock
+    private EventDeduplicator eventDeduplicator;
+
     @InjectMocks
     private NotificationService notificationService;
 
@@ -38,18 +57,16 @@ class NotificationServiceTest {
                 1, new BigDecimal("999.99"), Instant.now()
         );
 
-        doNothing().when(emailService).sendOrderConfirmation(event);
-        when(notificationRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        claimsEveryEvent();
+        when(emailService.sendOrderConfirmationAsync(event)).thenReturn(CompletableFuture.completedFuture(null));
 
         notificationService.handleOrderPlaced(event);
 
-        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
-        verify(notificationRepository).save(captor.capture());
+        Notification recorded = recorded();
 
-        Notification saved = captor.getValue();
-        assertThat(saved.getStatus()).isEqualTo(Notification.DeliveryStatus.SENT);
-        assertThat(saved.getType()).isEqualTo(Notification.NotificationType.ORDER_PLACED);
-        assertThat(saved.getRecipientEmail()).isEqualTo("alice@example.com");
+                assertThat(recorded.getStatus()).isEqualTo(Notification.DeliveryStatus.SENT);
+        assertThat(recorded.getType()).isEqualTo(Notification.NotificationType.ORDER_PLACED);
+        assertThat(recorded.getRecipientEmail()).isEqualTo("alice@example.com");
     }
 
     @Test
@@ -59,17 +76,80 @@ class NotificationServiceTest {
                 2, new BigDecimal("29.99"), Instant.now()
         );
 
-        doThrow(new RuntimeException("SMTP error")).when(emailService).sendOrderConfirmation(event);
-        when(notificationRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        claimsEveryEvent();
+        when(emailService.sendOrderConfirmationAsync(event))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("SMTP error")));
 
         notificationService.handleOrderPlaced(event);
 
-        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
-        verify(notificationRepository).save(captor.capture());
+        Notification recorded = recorded();
+
+                assertThat(recorded.getStatus()).isEqualTo(Notification.DeliveryStatus.FAILED);
+        assertThat(recorded.getErrorMessage()).isEqualTo("SMTP error");
+    }
+
+    @Test
+    void handleOrderPlaced_transientFailureBeforeFinalAttempt_rethrowsWithoutRecording() {
+        OrderPlacedEvent event = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop",
+                1, new BigDecimal("999.99"), Instant.now()
+        );
+        claimsEveryEvent();
+        MailSendException failure = new MailSendException("421 Service not available");
+        when(emailService.sendOrderConfirmationAsync(event)).thenReturn(CompletableFuture.failedFuture(failure));
+
+        assertThatThrownBy(() -> notificationService.handleOrderPlaced(event, false)).isSameAs(failure);
 
-        Notification saved = captor.getValue();
-        assertThat(saved.getStatus()).isEqualTo(Notification.DeliveryStatus.FAILED);
-        assertThat(saved.getErrorMessage()).isEqualTo("SMTP error");
+        verify(notificationRepository, never()).updateDeliveries(any());
+        verify(eventDeduplicator).release(argThat(notification -> notification.getOrderId().equals(event.orderId())));
+        verify(eventDeduplicator, never()).markProcessed(any(EventKey.class));
+    }
+
+    @Test
+    void handleOrderPlaced_transientFailureOnFinalAttempt_savesNotificationAsFailed() {
+        OrderPlacedEvent event = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop",
+                1, new BigDecimal("999.99"), Instant.now()
+        );
+        claimsEveryEvent();
+        when(emailService.sendOrderConfirmationAsync(event))
+                .thenReturn(CompletableFuture.failedFuture(new MailSendException("421 Service not available")));
+
+        notificationService.handleOrderPlaced(event, true);
+
+        Notification recorded = recorded();
+        assertThat(recorded.getStatus()).isEqualTo(Notification.DeliveryStatus.FAILED);
+    }
+
+    @Test
+    void handleOrderPlaced_alreadyProcessed_skipsEmailAndSave() {
+        OrderPlacedEvent event = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop",
+                1, new BigDecimal("999.99"), Instant.now()
+        );
+
+        when(eventDeduplicator.claim(any())).thenReturn(Optional.empty());
+
+        notificationService.handleOrderPlaced(event);
+
+        verifyNoInteractions(emailService, notificationRepository);
+        verify(notificationMetrics).countDuplicate("ORDER_PLACED");
+    }
+
+    @Test
+    void handleOrderPlaced_inProgressElsewhere_failsForRetryBeforeFinalAttempt() {
+        OrderPlacedEvent event = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop",
+                1, new BigDecimal("999.99"), Instant.now()
+        );
+        DeliveryInProgressException inProgress = new DeliveryInProgressException("being delivered");
+        when(eventDeduplicator.claim(any())).thenThrow(inProgress);
+
+        assertThatThrownBy(() -> notificationService.handleOrderPlaced(event, false)).isSameAs(inProgress);
+        notificationService.handleOrderPlaced(event, true);
+
+        verifyNoInteractions(emailService, notificationRepository);
+        verify(notificationMetrics).countDuplicate("ORDER_PLACED");
     }
 
     @Test
@@ -78,15 +158,246 @@ class NotificationServiceTest {
                 UUID.randomUUID(), "bob@example.com", "Headphones", Instant.now()
         );
 
-        doNothing().when(emailService).sendOrderCancellation(event);
-        when(notificationRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        claimsEveryEvent();
+        when(emailService.sendOrderCancellationAsync(event)).thenReturn(CompletableFuture.completedFuture(null));
 
         notificationService.handleOrderCancelled(event);
 
-        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
-        verify(notificationRepository).save(captor.capture());
+        Notification recorded = recorded();
+
+        assertThat(recorded.getType()).isEqualTo(Notification.NotificationType.ORDER_CANCELLED);
+        assertThat(recorded.getStatus()).isEqualTo(Notification.DeliveryStatus.SENT);
+    }
+
+    @Test
+    void handleOrderPlacedAsync_returnsBeforeMailCompletesAndRecordsWhenItDoes() {
+        OrderPlacedEvent event = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop",
+                1, new BigDecimal("999.99"), Instant.now()
+        );
+        claimsEveryEvent();
+        CompletableFuture<Void> sending = new CompletableFuture<>();
+        when(emailService.sendOrderConfirmationAsync(event)).thenReturn(sending);
+
+        CompletableFuture<Void> handled = notificationService.handleOrderPlacedAsync(event, false);
+
+        assertThat(handled).isNotDone();
+        verify(notificationRepository, never()).updateDeliveries(any());
+
+        sending.complete(null);
+
+        assertThat(handled).isCompleted();
+        Notification recorded = recorded();
+        assertThat(recorded.getStatus()).isEqualTo(Notification.DeliveryStatus.SENT);
+    }
+
+    @Test
+    void handleEvents_sendsAllMailInOneSessionAndSavesInOneBatch() {
+        OrderPlacedEvent placed = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop",
+                1, new BigDecimal("999.99"), Instant.now()
+        );
+        OrderCancelledEvent cancelled = new OrderCancelledEvent(
+                UUID.randomUUID(), "bob@example.com", "Headphones", Instant.now()
+        );
+        SimpleMailMessage confirmation = new SimpleMailMessage();
+        confirmation.setTo("alice@example.com");
+        SimpleMailMessage cancellation = new SimpleMailMessage();
+        cancellation.setTo("bob@example.com");
+
+        when(emailService.confirmationMessage(placed)).thenReturn(confirmation);
+        when(emailService.cancellationMessage(cancelled)).thenReturn(cancellation);
+        claimsEveryEvent();
+        when(emailService.sendAll(List.of(confirmation, cancellation)))
+                .thenReturn(Map.of(cancellation, new RuntimeException("Mailbox unavailable")));
+
+        notificationService.handleEvents(List.of(placed, cancelled));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).updateDeliveries(captor.capture());
+
+        List<Notification> saved = captor.getValue();
+        assertThat(saved).hasSize(2);
+        assertThat(saved.get(0).getStatus()).isEqualTo(Notification.DeliveryStatus.SENT);
+        assertThat(saved.get(1).getType()).isEqualTo(Notification.NotificationType.ORDER_CANCELLED);
+        assertThat(saved.get(1).getStatus()).isEqualTo(Notification.DeliveryStatus.FAILED);
+        assertThat(saved.get(1).getErrorMessage()).isEqualTo("Mailbox unavailable");
+    }
+
+    @Test
+    void handleEvents_skipsProcessedAndRepeatedEvents() {
+        OrderPlacedEvent placed = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop",
+                1, new BigDecimal("999.99"), Instant.now()
+        );
+        OrderCancelledEvent alreadySent = new OrderCancelledEvent(
+                UUID.randomUUID(), "bob@example.com", "Headphones", Instant.now()
+        );
+        SimpleMailMessage confirmation = new SimpleMailMessage();
+        confirmation.setTo("alice@example.com");
+
+        when(emailService.confirmationMessage(placed)).thenReturn(confirmation);
+        when(eventDeduplicator.claimAll(any())).thenAnswer(inv -> inv.<List<Notification>>getArgument(0).stream()
+                .filter(notification -> notification.getOrderId().equals(placed.orderId()))
+                .toList());
+        when(emailService.sendAll(List.of(confirmation))).thenReturn(Map.of());
+
+        notificationService.handleEvents(List.of(placed, alreadySent, placed));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).updateDeliveries(captor.capture());
+        assertThat(captor.getValue()).singleElement()
+                .extracting(Notification::getOrderId).isEqualTo(placed.orderId());
+        verify(notificationMetrics, times(2)).countDuplicate(anyString());
+    }
+
+    @Test
+    void handleDigest_sendsOneEmailAndRecordsEveryCoveredEvent() {
+        OrderPlacedEvent placed = new OrderPlacedEvent(
+                UUID.randomUUID(), "buyer@example.com", "Laptop",
+                1, new BigDecimal("999.99"), Instant.now()
+        );
+        OrderCancelledEvent cancelled = new OrderCancelledEvent(
+                placed.orderId(), "buyer@example.com", "Laptop", Instant.now()
+        );
+        SimpleMailMessage digest = new SimpleMailMessage();
+        digest.setTo("buyer@example.com");
+
+        claimsEveryEvent();
+        when(emailService.digestMessage("buyer@example.com", List.of(placed, cancelled))).thenReturn(digest);
+        when(emailService.sendAll(List.of(digest))).thenReturn(Map.of());
+
+        notificationService.handleDigest("buyer@example.com", List.of(placed, cancelled));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).updateDeliveries(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(Notification::getType, Notification::getStatus)
+                .containsExactly(
+                        tuple(Notification.NotificationType.ORDER_PLACED, Notification.DeliveryStatus.SENT),
+                        tuple(Notification.NotificationType.ORDER_CANCELLED, Notification.DeliveryStatus.SENT));
+        verify(emailService, never()).confirmationMessage(any());
+    }
+
+    @Test
+    void replay_previouslyFailed_resendsAndMarksSent() {
+        OrderPlacedEvent event = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop",
+                1, new BigDecimal("999.99"), Instant.now()
+        );
+        Notification failed = new Notification();
+        failed.setOrderId(event.orderId());
+        failed.setType(Notification.NotificationType.ORDER_PLACED);
+        failed.setStatus(Notification.DeliveryStatus.PENDING);
+        when(eventDeduplicator.claimForReplay(any())).thenReturn(Optional.of(failed));
+
+        assertThat(notificationService.replay(event)).isEqualTo(NotificationService.ReplayResult.DELIVERED);
+
+        verify(emailService).sendOrderConfirmation(event);
+        verify(notificationRepository).updateDeliveries(List.of(failed));
+        assertThat(failed.getStatus()).isEqualTo(Notification.DeliveryStatus.SENT);
+    }
+
+    @Test
+    void replay_alreadySent_skipsEmail() {
+        OrderCancelledEvent event = new OrderCancelledEvent(
+                UUID.randomUUID(), "bob@example.com", "Headphones", Instant.now()
+        );
+        Notification sent = new Notification();
+        sent.setStatus(Notification.DeliveryStatus.SENT);
+        when(eventDeduplicator.claimForReplay(any())).thenReturn(Optional.empty());
+        when(notificationRepository.findByOrderIdAndType(event.orderId(), Notification.NotificationType.ORDER_CANCELLED))
+                .thenReturn(Optional.of(sent));
+
+        assertThat(notificationService.replay(event)).isEqualTo(NotificationService.ReplayResult.ALREADY_SENT);
+
+        verifyNoInteractions(emailService);
+        verify(notificationRepository, never()).updateDeliveries(any());
+    }
+
+    @Test
+    void replay_claimedByAnotherDelivery_skipsEmail() {
+        OrderCancelledEvent event = new OrderCancelledEvent(
+                UUID.randomUUID(), "bob@example.com", "Headphones", Instant.now()
+        );
+        Notification pending = new Notification();
+        pending.setStatus(Notification.DeliveryStatus.PENDING);
+        when(eventDeduplicator.claimForReplay(any())).thenReturn(Optional.empty());
+        when(notificationRepository.findByOrderIdAndType(event.orderId(), Notification.NotificationType.ORDER_CANCELLED))
+                .thenReturn(Optional.of(pending));
+
+        assertThat(notificationService.replay(event)).isEqualTo(NotificationService.ReplayResult.IN_PROGRESS);
+
+        verifyNoInteractions(emailService);
+        verify(notificationRepository, never()).updateDeliveries(any());
+    }
+
+    @Test
+    void replay_transientFailure_recordsFailedAndRethrows() {
+        OrderPlacedEvent event = new OrderPlacedEvent(
+                UUID.randomUUID(), "alice@example.com", "Laptop",
+                1, new BigDecimal("999.99"), Instant.now()
+        );
+        when(eventDeduplicator.claimForReplay(any())).thenAnswer(inv -> Optional.of(inv.getArgument(0)));
+        MailSendException failure = new MailSendException("421 Service not available");
+        doThrow(failure).when(emailService).sendOrderConfirmation(event);
+
+        assertThatThrownBy(() -> notificationService.replay(event)).isSameAs(failure);
+
+        Notification recorded = recorded();
+        assertThat(recorded.getStatus()).isEqualTo(Notification.DeliveryStatus.FAILED);
+    }
+
+    @Test
+    void getNotifications_fullPage_returnsCursorOfLastItem() {
+        NotificationFilter filter = new NotificationFilter(Notification.DeliveryStatus.SENT, null, null);
+        Notification newest = notification(Instant.parse("2026-01-02T00:00:00Z"));
+        Notification older = notification(Instant.parse("2026-01-01T00:00:00Z"));
+        Notification extra = notification(Instant.parse("2025-12-31T00:00:00Z"));
+
+        when(notificationRepository.findPage(filter, null, 3)).thenReturn(List.of(newest, older, extra));
+
+        NotificationPage page = notificationService.getNotifications(filter, null, 2);
+
+        assertThat(page.items()).containsExactly(newest, older);
+        assertThat(NotificationCursor.decode(page.nextCursor()))
+                .isEqualTo(new NotificationCursor(older.getCreatedAt(), older.getId()));
+    }
+
+    @Test
+    void getNotifications_withCursor_resumesAfterItAndEndsOnShortPage() {
+        NotificationFilter filter = new NotificationFilter(null, null, null);
+        NotificationCursor cursor = new NotificationCursor(Instant.parse("2026-01-01T00:00:00Z"), UUID.randomUUID());
+        Notification last = notification(Instant.parse("2025-12-31T00:00:00Z"));
+
+        when(notificationRepository.findPage(filter, cursor, 51)).thenReturn(List.of(last));
+
+        NotificationPage page = notificationService.getNotifications(filter, cursor.encode(), 50);
+
+        assertThat(page.items()).containsExactly(last);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    private void claimsEveryEvent() {
+        lenient().when(eventDeduplicator.claim(any())).thenAnswer(inv -> Optional.of(inv.getArgument(0)));
+        lenient().when(eventDeduplicator.claimAll(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private static Notification notification(Instant createdAt) {
+        Notification notification = new Notification();
+        notification.setId(UUID.randomUUID());
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
 
-        assertThat(captor.getValue().getType()).isEqualTo(Notification.NotificationType.ORDER_CANCELLED);
-        assertThat(captor.getValue().getStatus()).isEqualTo(Notification.DeliveryStatus.SENT);
+    // The one notification whose outcome was written
+    private Notification recorded() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).updateDeliveries(captor.capture());
+        return captor.getValue().getFirst();
     }
 }
@@ -0,0 +1,101 @@
+package com.eventflow.notificationservice.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SmtpTransportPoolTest {
+
+    private final Session session = FakeTransport.session();
+    private SmtpTransportPool pool;
+
+    @BeforeEach
+    void setUp() {
+        FakeTransport.reset();
+        pool = new SmtpTransportPool(session, FakeTransport.PROTOCOL, "localhost", 25, null, null, 2, Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void borrow_reusesReleasedConnection() throws Exception {
+        Transport first = pool.borrow();
+        pool.release(first, true);
+
+        assertThat(pool.borrow()).isSameAs(first);
+        assertThat(FakeTransport.opened).hasSize(1);
+    }
+
+    @Test
+    void borrow_exhaustedPool_timesOutUntilAConnectionIsReleased() throws Exception {
+        Transport first = pool.borrow();
+        pool.borrow();
+
+        assertThatThrownBy(pool::borrow)
+                .isInstanceOf(MessagingException.class)
+                .hasMessageContaining("free within");
+
+        pool.release(first, true);
+        assertThat(pool.borrow()).isSameAs(first);
+    }
+
+    @Test
+    void borrow_evictsBrokenIdleConnection() throws Exception {
+        FakeTransport broken = (FakeTransport) pool.borrow();
+        pool.release(broken, true);
+        broken.broken = true;
+
+        Transport replacement = pool.borrow();
+
+        assertThat(replacement).isNotSameAs(broken);
+        assertThat(broken.closed).isTrue();
+        assertThat(FakeTransport.opened).hasSize(2);
+    }
+
+    @Test
+    void release_notReusable_closesConnectionAndFreesPermit() throws Exception {
+        FakeTransport failed = (FakeTransport) pool.borrow();
+        pool.borrow();
+
+        pool.release(failed, false);
+
+        assertThat(failed.closed).isTrue();
+        assertThat(pool.borrow()).isNotSameAs(failed);
+    }
+
+    @Test
+    void close_closesIdleConnectionsAndThoseReturnedAfterwards() throws Exception {
+        FakeTransport idle = (FakeTransport) pool.borrow();
+        FakeTransport borrowed = (FakeTransport) pool.borrow();
+        pool.release(idle, true);
+
+        pool.close();
+
+        assertThat(idle.closed).isTrue();
+        assertThat(borrowed.closed).isFalse();
+        pool.release(borrowed, true);
+        assertThat(borrowed.closed).isTrue();
+    }
+
+    @Test
+    void borrow_afterClose_failsWithoutHoldingAPermit() {
+        pool.close();
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(pool::borrow)
+                    .isInstanceOf(MessagingException.class)
+                    .hasMessageContaining("closed");
+        }
+        assertThat(FakeTransport.opened).isEmpty();
+    }
+}
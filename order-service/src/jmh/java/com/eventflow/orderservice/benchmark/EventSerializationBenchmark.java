@@ -0,0 +1,78 @@
+package com.eventflow.orderservice.benchmark;
+
+import com.eventflow.contracts.EventRegistry;
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip of both order events through the Kafka {@link JsonSerializer}/{@link JsonDeserializer}
+ * pair, configured with the {@link EventRegistry} type mappings the services use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EventSerializationBenchmark {
+
+    private static final String TOPIC = "orders";
+    private static final String TYPE_MAPPINGS = EventRegistry.typeMappings();
+
+    private JsonSerializer<Object> serializer;
+    private JsonDeserializer<Object> deserializer;
+    private OrderPlacedEvent placed;
+    private OrderCancelledEvent cancelled;
+    private byte[] placedBytes;
+    private RecordHeaders placedHeaders;
+
+    @Setup
+    public void setUp() {
+        serializer = new JsonSerializer<>();
+        serializer.configure(Map.of(JsonSerializer.TYPE_MAPPINGS, TYPE_MAPPINGS), false);
+        deserializer = new JsonDeserializer<>();
+        // Headers are reused across invocations, so the deserializer must leave them in place
+        deserializer.configure(Map.of(
+                JsonDeserializer.TYPE_MAPPINGS, TYPE_MAPPINGS,
+                JsonDeserializer.TRUSTED_PACKAGES, "com.eventflow.*",
+                JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false), false);
+
+        UUID orderId = UUID.randomUUID();
+        placed = OrderPlacedEvent.of(orderId, "alice@example.com", "Mechanical Keyboard", 2, new BigDecimal("259.98"));
+        cancelled = OrderCancelledEvent.of(orderId, "alice@example.com", "Mechanical Keyboard");
+
+        placedHeaders = new RecordHeaders();
+        placedBytes = serializer.serialize(TOPIC, placedHeaders, placed);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderPlaced() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), placed);
+    }
+
+    @Benchmark
+    public Object deserializeOrderPlaced() {
+        return deserializer.deserialize(TOPIC, placedHeaders, placedBytes);
+    }
+
+    @Benchmark
+    public Object roundTripOrderPlaced() {
+        RecordHeaders headers = new RecordHeaders();
+        return deserializer.deserialize(TOPIC, headers, serializer.serialize(TOPIC, headers, placed));
+    }
+
+    @Benchmark
+    public Object roundTripOrderCancelled() {
+        RecordHeaders headers = new RecordHeaders();
+        return deserializer.deserialize(TOPIC, headers, serializer.serialize(TOPIC, headers, cancelled));
+    }
+}
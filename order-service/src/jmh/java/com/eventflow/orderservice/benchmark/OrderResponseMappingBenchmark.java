@@ -0,0 +1,35 @@
+package com.eventflow.orderservice.benchmark;
+
+import com.eventflow.orderservice.dto.OrderResponse;
+import com.eventflow.orderservice.model.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderResponseMappingBenchmark {
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setCustomerEmail("alice@example.com");
+        order.setProductName("Mechanical Keyboard");
+        order.setQuantity(2);
+        order.setTotalPrice(new BigDecimal("259.98"));
+    }
+
+    @Benchmark
+    public OrderResponse from() {
+        return OrderResponse.from(order);
+    }
+}
@@ -0,0 +1,132 @@
+package com.eventflow.orderservice.benchmark;
+
+import com.eventflow.contracts.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts into an orders-shaped table keyed by random (v4) or time-ordered (v7) UUIDs, on top of
+ * {@code prefill} existing rows, with JDBC batching as the application does it. The score is rows
+ * per second; primary key index size and fill are printed when each trial ends.
+ *
+ * <p>Needs a PostgreSQL database: {@code docker compose up -d postgres}, or point
+ * {@code BENCH_JDBC_URL}/{@code BENCH_JDBC_USER}/{@code BENCH_JDBC_PASSWORD} elsewhere. Run only
+ * this one with {@code -Djmh.args="PrimaryKeyInsertBenchmark"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimaryKeyInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String INSERT = "INSERT INTO pk_bench (id, customer_email, product_name, quantity, "
+            + "total_price, status, created_at) VALUES (?, ?, ?, ?, ?, 'PLACED', ?)";
+
+    @Param({"v4", "v7"})
+    public String scheme;
+
+    @Param({"2000000"})
+    public int prefill;
+
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                env("BENCH_JDBC_URL", "jdbc:postgresql://localhost:5432/orders_db?reWriteBatchedInserts=true"),
+                env("BENCH_JDBC_USER", "eventflow"),
+                env("BENCH_JDBC_PASSWORD", "eventflow"));
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS pk_bench");
+            ddl.execute("""
+                    CREATE TABLE pk_bench (
+                        id             UUID           PRIMARY KEY,
+                        customer_email VARCHAR(255)   NOT NULL,
+                        product_name   VARCHAR(255)   NOT NULL,
+                        quantity       INTEGER        NOT NULL,
+                        total_price    NUMERIC(12, 2) NOT NULL,
+                        status         VARCHAR(20)    NOT NULL,
+                        created_at     TIMESTAMPTZ    NOT NULL
+                    )""");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(INSERT);
+        for (int rows = 0; rows < prefill; rows += BATCH_SIZE) {
+            insertBatch();
+        }
+        try (Statement vacuum = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            vacuum.execute("VACUUM ANALYZE pk_bench");
+            connection.setAutoCommit(false);
+        }
+        report("after prefill");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, nextId());
+            insert.setString(2, "customer" + (i % 1000) + "@example.com");
+            insert.setString(3, "Mechanical Keyboard");
+            insert.setInt(4, 1);
+            insert.setBigDecimal(5, new BigDecimal("129.99"));
+            insert.setTimestamp(6, now);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        report("after measurement");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE pk_bench");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    private UUID nextId() {
+        return "v7".equals(scheme) ? UuidV7.next() : UUID.randomUUID();
+    }
+
+    // Bytes per row of the index shows fragmentation: random keys leave leaves half full after splits
+    private void report(String when) throws SQLException {
+        try (Statement query = connection.createStatement();
+             ResultSet result = query.executeQuery("""
+                     SELECT count(*), pg_relation_size('pk_bench'), pg_relation_size('pk_bench_pkey')
+                     FROM pk_bench""")) {
+            result.next();
+            long rows = result.getLong(1);
+            long tableBytes = result.getLong(2);
+            long indexBytes = result.getLong(3);
+            System.out.printf("%n[%s %s] rows=%d table=%.1f MB pk_index=%.1f MB (%.1f bytes/row)%n",
+                    scheme, when, rows, tableBytes / 1048576.0, indexBytes / 1048576.0,
+                    rows == 0 ? 0.0 : (double) indexBytes / rows);
+        }
+        connection.commit();
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
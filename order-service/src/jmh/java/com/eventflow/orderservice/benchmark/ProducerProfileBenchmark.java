@@ -0,0 +1,106 @@
+package com.eventflow.orderservice.benchmark;
+
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.orderservice.config.ProducerProfile;
+import com.eventflow.orderservice.event.OrderEventSerializer;
+import com.eventflow.orderservice.metrics.OrderMetrics;
+import com.eventflow.orderservice.service.InFlightSends;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends order events to an embedded broker the way the outbox relay does: a round of
+ * {@value #ROUND} async sends, each taking an in-flight permit released on acknowledgement, one
+ * flush, then a wait for every acknowledgement. {@code events} scores events per second;
+ * {@code round} samples how long a round takes, which bounds the send-to-ack latency of each of
+ * its events, and JMH reports its p50, p99 and p99.9.
+ *
+ * <p>The broker runs in the benchmark JVM, so absolute numbers flatter every profile; compare
+ * them with each other. {@code -Djmh.args="ProducerProfileBenchmark"} runs only this one.
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProducerProfileBenchmark {
+
+    private static final String TOPIC = "orders-bench";
+    // outbox.relay.batch-size
+    private static final int ROUND = 500;
+
+    @Param({"latency", "throughput", "compact"})
+    public String profile;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private DefaultKafkaProducerFactory<String, Object> producerFactory;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private InFlightSends inFlightSends;
+    private OrderPlacedEvent[] events;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        broker = new EmbeddedKafkaKraftBroker(1, 3, TOPIC);
+        broker.afterPropertiesSet();
+
+        ProducerProfile producerProfile = ProducerProfile.of(profile);
+        Map<String, Object> configs = new HashMap<>(producerProfile.producerConfigs());
+        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        producerFactory = new DefaultKafkaProducerFactory<>(configs, new StringSerializer(), new OrderEventSerializer());
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        inFlightSends = new InFlightSends(producerProfile, 0, 30_000, ROUND,
+                new OrderMetrics(new SimpleMeterRegistry()));
+
+        // Distinct keys spread over the partitions like real order ids
+        events = new OrderPlacedEvent[1024];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = OrderPlacedEvent.of(UUID.randomUUID(), "customer" + i + "@example.com",
+                    "Mechanical Keyboard", 1 + i % 3, new BigDecimal("129.99"));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(ROUND)
+    public void events() throws Exception {
+        relayRound();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void round() throws Exception {
+        relayRound();
+    }
+
+    private void relayRound() throws Exception {
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[ROUND];
+        for (int i = 0; i < ROUND; i++) {
+            OrderPlacedEvent event = events[next++ & (events.length - 1)];
+            inFlightSends.acquire();
+            sends[i] = kafkaTemplate.send(TOPIC, event.orderId().toString(), event)
+                    .whenComplete((result, ex) -> inFlightSends.release());
+        }
+        kafkaTemplate.flush();
+        CompletableFuture.allOf(sends).get(30, TimeUnit.SECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        producerFactory.destroy();
+        broker.destroy();
+    }
+}
@@ -1,24 +1,57 @@
 package com.eventflow.orderservice.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
+@Slf4j
 public class KafkaProducerConfig {
 
     @Value("${kafka.topic.orders}")
     private String ordersTopic;
 
+    // Used when the topic is created. KafkaAdmin would add partitions at startup if this were raised
+    // later, skipping the consumer drain — grow an existing topic through /actuator/orderstopic.
+    @Value("${kafka.topic.orders-partitions:3}")
+    private int ordersPartitions;
+
     @Value("${kafka.topic.orders-dlt}")
     private String ordersDltTopic;
 
+    @Bean
+    public ProducerProfile producerProfile(@Value("${kafka.producer.profile:throughput}") String profile) {
+        return ProducerProfile.of(profile);
+    }
+
+    // Fills in the profile's settings on the auto-configured producer factory, leaving any
+    // set explicitly in spring.kafka.producer alone
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer producerProfileCustomizer(ProducerProfile producerProfile) {
+        return producerFactory -> {
+            Map<String, Object> explicit = producerFactory.getConfigurationProperties();
+            Map<String, Object> defaults = new HashMap<>();
+            producerProfile.producerConfigs().forEach((key, value) -> {
+                if (!explicit.containsKey(key)) {
+                    defaults.put(key, value);
+                }
+            });
+            producerFactory.updateConfigs(defaults);
+            log.info("Kafka producer profile {}: {}", producerProfile, defaults);
+        };
+    }
+
     @Bean
     public NewTopic ordersTopic() {
         return TopicBuilder.name(ordersTopic)
-                .partitions(3)
+                .partitions(ordersPartitions)
                 .replicas(1)
                 .build();
     }
@@ -0,0 +1,29 @@
+package com.eventflow.orderservice.consumer;
+
+import com.eventflow.orderservice.service.CustomerOrderSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds order events into the customer summary. Unlike the cache consumer this is one group
+ * shared by all instances, reading from the earliest offset, so a new deployment builds the
+ * summary from whatever the topic still retains and each event is applied once per group.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.customer-summary.enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerOrderSummaryProjector {
+
+    private final CustomerOrderSummaryService summaryService;
+
+    @KafkaListener(
+            topics = "${kafka.topic.orders}",
+            groupId = "order-customer-summary",
+            properties = "auto.offset.reset=earliest"
+    )
+    public void onEvent(Object rawEvent) {
+        summaryService.apply(rawEvent);
+    }
+}
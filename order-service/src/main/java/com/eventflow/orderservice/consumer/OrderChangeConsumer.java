@@ -0,0 +1,46 @@
+package com.eventflow.orderservice.consumer;
+
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.orderservice.dto.OrderStatusEvent;
+import com.eventflow.orderservice.model.Order;
+import com.eventflow.orderservice.service.OrderCache;
+import com.eventflow.orderservice.service.OrderStatusStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells this instance about order changes made anywhere: keeps {@link OrderCache} coherent
+ * across instances and feeds {@link OrderStatusStream} subscribers. Every instance needs every
+ * event on the {@code orders} topic, so each one assigns itself all partitions, without a consumer
+ * group, and commits nothing; only new events matter, hence latest.
+ *
+ * <p>The partitions are read from the broker at startup. An instance that was running when
+ * partitions were added through {@code /actuator/orderstopic} misses the new ones until it
+ * restarts; until then its cache entries for those orders expire after {@code order.cache.ttl}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderChangeConsumer {
+
+    private final OrderCache orderCache;
+    private final OrderStatusStream orderStatusStream;
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(
+                    topic = "${kafka.topic.orders}",
+                    partitions = "#{@ordersTopicAdmin.partitionIds()}"
+            ),
+            properties = {"enable.auto.commit=false", "auto.offset.reset=latest"}
+    )
+    public void onEvent(Object rawEvent) {
+        if (rawEvent instanceof OrderCancelledEvent event) {
+            log.debug("Invalidating cached order {} after cancellation", event.orderId());
+            orderCache.invalidateUnlessStatus(event.orderId(), Order.OrderStatus.CANCELLED.name());
+        }
+        OrderStatusEvent.from(rawEvent).ifPresent(orderStatusStream::publish);
+    }
+}
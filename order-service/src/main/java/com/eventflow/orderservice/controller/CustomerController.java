@@ -0,0 +1,34 @@
+package com.eventflow.orderservice.controller;
+
+import com.eventflow.orderservice.dto.CustomerOrdersResponse;
+import com.eventflow.orderservice.service.CustomerOrderSummaryService;
+import com.eventflow.orderservice.service.OrderStatusStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/customers")
+@RequiredArgsConstructor
+public class CustomerController {
+
+    private final CustomerOrderSummaryService summaryService;
+    private final OrderStatusStream orderStatusStream;
+
+    // Eventually consistent: an order shows up once the projection has read its event
+    @GetMapping("/{email}/orders")
+    public ResponseEntity<CustomerOrdersResponse> getCustomerOrders(@PathVariable String email) {
+        return ResponseEntity.ok(summaryService.getSummary(email));
+    }
+
+    // Server-sent events for every order of the customer placed or cancelled from now on
+    @GetMapping(value = "/{email}/order-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCustomerOrderEvents(@PathVariable String email) {
+        return orderStatusStream.subscribeToCustomer(email);
+    }
+}
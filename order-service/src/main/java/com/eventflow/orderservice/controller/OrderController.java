@@ -1,15 +1,33 @@
 package com.eventflow.orderservice.controller;
 
+import com.eventflow.orderservice.dto.BatchOrderResponse;
+import com.eventflow.orderservice.dto.BatchOrderResult;
 import com.eventflow.orderservice.dto.CreateOrderRequest;
+import com.eventflow.orderservice.dto.OrderAcceptedResponse;
 import com.eventflow.orderservice.dto.OrderResponse;
+import com.eventflow.orderservice.dto.OrderStatusEvent;
+import com.eventflow.orderservice.exception.BatchTooLargeException;
+import com.eventflow.orderservice.service.OrderIntake;
 import com.eventflow.orderservice.service.OrderService;
+import com.eventflow.orderservice.service.OrderStatusStream;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -17,12 +35,66 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService orderService;
+    private final Validator validator;
+    private final OrderIntake orderIntake;
+    private final OrderStatusStream orderStatusStream;
+
+    @Value("${order.batch.max-size:1000}")
+    private int maxBatchSize;
 
     @PostMapping
     public ResponseEntity<OrderResponse> placeOrder(@Valid @RequestBody CreateOrderRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(orderService.placeOrder(request));
     }
 
+    /**
+     * Accepted mode, opted into with {@code Prefer: respond-async}: the order is queued and
+     * acknowledged with its id before it is written. {@code GET} the Location until it stops
+     * returning 404. A full queue answers 503 with {@code Retry-After}.
+     */
+    @PostMapping(headers = "Prefer=respond-async")
+    public ResponseEntity<OrderAcceptedResponse> acceptOrder(@Valid @RequestBody CreateOrderRequest request) {
+        UUID id = orderIntake.accept(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/" + id))
+                .header("Preference-Applied", "respond-async")
+                .body(OrderAcceptedResponse.of(id));
+    }
+
+    /**
+     * Validates every element on its own: invalid orders are reported back, valid ones are
+     * placed together in a single transaction.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchOrderResponse> placeOrders(@RequestBody List<CreateOrderRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new BatchTooLargeException(requests.size(), maxBatchSize);
+        }
+
+        BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        List<CreateOrderRequest> validRequests = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(requests.get(i));
+            if (violations.isEmpty()) {
+                validIndexes.add(i);
+                validRequests.add(requests.get(i));
+            } else {
+                results[i] = BatchOrderResult.rejected(i, violations.stream().collect(Collectors.toMap(
+                        violation -> violation.getPropertyPath().toString(), ConstraintViolation::getMessage,
+                        (existing, replacement) -> existing)));
+            }
+        }
+
+        List<OrderResponse> placed = validRequests.isEmpty() ? List.of() : orderService.placeOrders(validRequests);
+        for (int i = 0; i < placed.size(); i++) {
+            results[validIndexes.get(i)] = BatchOrderResult.created(validIndexes.get(i), placed.get(i));
+        }
+
+        return ResponseEntity.ok(new BatchOrderResponse(
+                placed.size(), requests.size() - placed.size(), Arrays.asList(results)));
+    }
+
     @PostMapping("/{id}/cancel")
     public ResponseEntity<OrderResponse> cancelOrder(@PathVariable UUID id) {
         return ResponseEntity.ok(orderService.cancelOrder(id));
@@ -32,4 +104,13 @@ public class OrderController {
     public ResponseEntity<OrderResponse> getOrder(@PathVariable UUID id) {
         return ResponseEntity.ok(orderService.getOrder(id));
     }
+
+    /**
+     * Server-sent events for one order: its current status, then each transition. Replaces
+     * polling {@code GET /{id}}.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(@PathVariable UUID id) {
+        return orderStatusStream.subscribeToOrder(id, () -> OrderStatusEvent.snapshot(orderService.getOrder(id)));
+    }
 }
@@ -0,0 +1,36 @@
+package com.eventflow.orderservice.controller;
+
+import com.eventflow.orderservice.dto.TopicPartitionsResponse;
+import com.eventflow.orderservice.service.OrdersTopicAdmin;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/orderstopic} shows the partition count, consumer lag and the latest growth;
+ * {@code POST /actuator/orderstopic} with {@code {"partitions": 6}} starts growing the topic.
+ */
+@Component
+@Endpoint(id = "orderstopic")
+@RequiredArgsConstructor
+public class OrdersTopicEndpoint {
+
+    private final OrdersTopicAdmin ordersTopicAdmin;
+
+    @ReadOperation
+    public TopicPartitionsResponse partitions() {
+        return ordersTopicAdmin.describe();
+    }
+
+    @WriteOperation
+    public TopicPartitionsResponse increasePartitions(int partitions) {
+        try {
+            return ordersTopicAdmin.increasePartitions(partitions);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.eventflow.orderservice.dto;
+
+import java.util.List;
+
+public record BatchOrderResponse(
+        int created,
+        int rejected,
+        List<BatchOrderResult> results
+) {}
@@ -0,0 +1,26 @@
+package com.eventflow.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+// Outcome for one element of a batch request; index is its position in the request array
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchOrderResult(
+        int index,
+        Status status,
+        OrderResponse order,
+        Map<String, String> errors
+) {
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    public static BatchOrderResult created(int index, OrderResponse order) {
+        return new BatchOrderResult(index, Status.CREATED, order, null);
+    }
+
+    public static BatchOrderResult rejected(int index, Map<String, String> errors) {
+        return new BatchOrderResult(index, Status.REJECTED, null, errors);
+    }
+}
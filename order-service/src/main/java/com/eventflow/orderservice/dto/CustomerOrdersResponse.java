@@ -0,0 +1,38 @@
+package com.eventflow.orderservice.dto;
+
+import com.eventflow.orderservice.model.CustomerOrderSummary;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A customer's order history in aggregate. {@code totalSpent} excludes cancelled orders;
+ * {@code recentOrderIds} is newest first and includes them.
+ */
+public record CustomerOrdersResponse(
+        String customerEmail,
+        long ordersPlaced,
+        long ordersCancelled,
+        long activeOrders,
+        BigDecimal totalSpent,
+        List<UUID> recentOrderIds,
+        Instant lastOrderAt
+) {
+    public static CustomerOrdersResponse from(CustomerOrderSummary summary) {
+        return new CustomerOrdersResponse(
+                summary.getCustomerEmail(),
+                summary.getOrdersPlaced(),
+                summary.getOrdersCancelled(),
+                summary.getOrdersPlaced() - summary.getOrdersCancelled(),
+                summary.getTotalPlaced().subtract(summary.getTotalCancelled()),
+                summary.getRecentOrderIds(),
+                summary.getLastOrderAt()
+        );
+    }
+
+    public static CustomerOrdersResponse empty(String customerEmail) {
+        return new CustomerOrdersResponse(customerEmail, 0, 0, 0, BigDecimal.ZERO, List.of(), null);
+    }
+}
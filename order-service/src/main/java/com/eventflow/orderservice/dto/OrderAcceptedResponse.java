@@ -0,0 +1,10 @@
+package com.eventflow.orderservice.dto;
+
+import java.util.UUID;
+
+public record OrderAcceptedResponse(UUID id, String status) {
+
+    public static OrderAcceptedResponse of(UUID id) {
+        return new OrderAcceptedResponse(id, "ACCEPTED");
+    }
+}
@@ -0,0 +1,36 @@
+package com.eventflow.orderservice.dto;
+
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.orderservice.model.Order;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * One order status transition as pushed to stream subscribers. Statuses only move forward,
+ * PLACED then CANCELLED, so a client can keep the latest it has seen.
+ */
+public record OrderStatusEvent(
+        UUID orderId,
+        String customerEmail,
+        String status,
+        Instant occurredAt
+) {
+    public static Optional<OrderStatusEvent> from(Object event) {
+        return switch (event) {
+            case OrderPlacedEvent placed -> Optional.of(new OrderStatusEvent(
+                    placed.orderId(), placed.customerEmail(), Order.OrderStatus.PLACED.name(), placed.occurredAt()));
+            case OrderCancelledEvent cancelled -> Optional.of(new OrderStatusEvent(
+                    cancelled.orderId(), cancelled.customerEmail(), Order.OrderStatus.CANCELLED.name(),
+                    cancelled.occurredAt()));
+            default -> Optional.empty();
+        };
+    }
+
+    /** The current status of an order, sent first to a new subscriber of that order. */
+    public static OrderStatusEvent snapshot(OrderResponse order) {
+        return new OrderStatusEvent(order.id(), order.customerEmail(), order.status(), Instant.now());
+    }
+}
@@ -0,0 +1,22 @@
+package com.eventflow.orderservice.dto;
+
+import java.time.Instant;
+
+/** The latest partition increase of a topic; {@code finishedAt} and {@code error} are null while it runs. */
+public record TopicGrowth(int fromPartitions, int toPartitions, State state,
+                          Instant startedAt, Instant finishedAt, String error) {
+
+    public enum State { RUNNING, DONE, FAILED }
+
+    public static TopicGrowth running(int fromPartitions, int toPartitions) {
+        return new TopicGrowth(fromPartitions, toPartitions, State.RUNNING, Instant.now(), null, null);
+    }
+
+    public TopicGrowth done() {
+        return new TopicGrowth(fromPartitions, toPartitions, State.DONE, startedAt, Instant.now(), null);
+    }
+
+    public TopicGrowth failed(String error) {
+        return new TopicGrowth(fromPartitions, toPartitions, State.FAILED, startedAt, Instant.now(), error);
+    }
+}
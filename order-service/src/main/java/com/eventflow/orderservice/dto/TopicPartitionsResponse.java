@@ -0,0 +1,10 @@
+package com.eventflow.orderservice.dto;
+
+import java.util.Map;
+
+/**
+ * Partition count of a topic, the records each consumer group still has to read on it, and the
+ * latest partition increase this instance started — null if none.
+ */
+public record TopicPartitionsResponse(String topic, int partitions, Map<String, Long> consumerLag,
+                                      TopicGrowth growth) {}
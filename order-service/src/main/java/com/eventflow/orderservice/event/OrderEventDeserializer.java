@@ -0,0 +1,53 @@
+package com.eventflow.orderservice.event;
+
+import com.eventflow.contracts.BinaryEventCodec;
+import com.eventflow.contracts.EventRegistry;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads either encoding of the order events: {@link BinaryEventCodec} when the record carries
+ * the binary content-type header, JSON with type headers otherwise, resolved through the
+ * {@link EventRegistry} type ids unless {@code spring.json.type.mapping} is configured.
+ */
+public class OrderEventDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Map<String, Object> jsonConfigs = new HashMap<>(configs);
+        jsonConfigs.putIfAbsent(JsonDeserializer.TYPE_MAPPINGS, EventRegistry.typeMappings());
+        jsonDeserializer.configure(jsonConfigs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null || !isBinary(headers)) {
+            return jsonDeserializer.deserialize(topic, headers, data);
+        }
+        return BinaryEventCodec.decode(data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    static boolean isBinary(Headers headers) {
+        Header contentType = headers.lastHeader(BinaryEventCodec.CONTENT_TYPE_HEADER);
+        return contentType != null && BinaryEventCodec.BINARY_CONTENT_TYPE
+                .equals(new String(contentType.value(), StandardCharsets.UTF_8));
+    }
+}
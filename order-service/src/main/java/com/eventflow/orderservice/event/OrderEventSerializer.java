@@ -0,0 +1,67 @@
+package com.eventflow.orderservice.event;
+
+import com.eventflow.contracts.BinaryEventCodec;
+import com.eventflow.contracts.EventRegistry;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Value serializer for the {@code orders} topic. Writes JSON by default, typed with the
+ * {@link EventRegistry} type ids unless {@code spring.json.type.mapping} is configured. With
+ * {@value #ENCODING_CONFIG}={@code binary} it writes {@link BinaryEventCodec} records tagged with
+ * a content-type header, in the format version set by {@value #BINARY_FORMAT_CONFIG} (the
+ * current one by default). Switch producers to binary only once every consumer runs
+ * {@link OrderEventDeserializer}, and to a newer format only once every consumer reads it.
+ */
+public class OrderEventSerializer implements Serializer<Object> {
+
+    public static final String ENCODING_CONFIG = "eventflow.event.encoding";
+    public static final String BINARY_FORMAT_CONFIG = "eventflow.event.binary-format";
+
+    private static final byte[] BINARY_CONTENT_TYPE =
+            BinaryEventCodec.BINARY_CONTENT_TYPE.getBytes(StandardCharsets.UTF_8);
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private boolean binary;
+    private int binaryFormat;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Map<String, Object> jsonConfigs = new HashMap<>(configs);
+        jsonConfigs.putIfAbsent(JsonSerializer.TYPE_MAPPINGS, EventRegistry.typeMappings());
+        jsonSerializer.configure(jsonConfigs, isKey);
+        binary = "binary".equalsIgnoreCase(String.valueOf(configs.get(ENCODING_CONFIG)));
+        Object format = configs.get(BINARY_FORMAT_CONFIG);
+        binaryFormat = switch (format == null ? "" : String.valueOf(format).strip()) {
+            case "" -> BinaryEventCodec.FORMAT_VERSION;
+            case "1" -> BinaryEventCodec.LEGACY_FORMAT_VERSION;
+            case "2" -> BinaryEventCodec.FORMAT_VERSION;
+            default -> throw new ConfigException(BINARY_FORMAT_CONFIG, format, "must be 1 or 2");
+        };
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (!binary || data == null) {
+            return jsonSerializer.serialize(topic, headers, data);
+        }
+        headers.add(BinaryEventCodec.CONTENT_TYPE_HEADER, BINARY_CONTENT_TYPE);
+        return BinaryEventCodec.encode(data, binaryFormat);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
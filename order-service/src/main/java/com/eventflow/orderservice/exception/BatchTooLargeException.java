@@ -0,0 +1,7 @@
+package com.eventflow.orderservice.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(int size, int maxSize) {
+        super("Batch of " + size + " orders exceeds the limit of " + maxSize);
+    }
+}
@@ -0,0 +1,14 @@
+package com.eventflow.orderservice.exception;
+
+import lombok.Getter;
+
+@Getter
+public class OrderIntakeFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public OrderIntakeFullException(int capacity, long retryAfterSeconds) {
+        super("Order intake queue is full (" + capacity + " pending orders)");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventflow.orderservice.exception;
+
+public class StreamFullException extends RuntimeException {
+    public StreamFullException(int maxSubscribers) {
+        super("Order status stream is at its limit of " + maxSubscribers + " subscribers");
+    }
+}
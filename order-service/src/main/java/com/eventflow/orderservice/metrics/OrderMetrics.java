@@ -0,0 +1,131 @@
+package com.eventflow.orderservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Timers for the producer half of the order → notification pipeline. All of them publish
+ * percentile histograms, so p50/p99 can be computed in Prometheus across instances.
+ */
+@Component
+public class OrderMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Times a database write; {@code operation} is place, cancel or batch. */
+    public <T> T timePersist(String operation, Supplier<T> write) {
+        return Timer.builder("eventflow.order.persist")
+                .description("Time to write orders and their outbox rows")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(write);
+    }
+
+    public void gaugeIntakeQueue(Collection<?> queue) {
+        Gauge.builder("eventflow.order.intake.queue", queue, Collection::size)
+                .description("Accepted orders waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /** Orders written per group-commit transaction of the intake writer. */
+    public void recordGroupCommit(int batchSize) {
+        DistributionSummary.builder("eventflow.order.intake.batch")
+                .description("Orders per group-commit transaction")
+                .register(meterRegistry)
+                .record(batchSize);
+    }
+
+    /** {@code outcome} is rejected (queue full, 503) or dropped (accepted but not writable). */
+    public void countIntake(String outcome) {
+        Counter.builder("eventflow.order.intake")
+                .description("Accepted-mode orders that did not make it into the database")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /** Broker acknowledgement latency of one send, measured from {@code startNanos}. */
+    public void recordSend(String eventType, long startNanos, boolean success) {
+        Timer.builder("eventflow.kafka.send")
+                .description("Kafka send latency until broker acknowledgement")
+                .tag("event", eventType)
+                .tag("result", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    public void gaugeInFlightSends(Semaphore permits, int limit) {
+        Gauge.builder("eventflow.kafka.send.in.flight", permits, p -> limit - p.availablePermits())
+                .description("Kafka sends awaiting broker acknowledgement")
+                .register(meterRegistry);
+        Gauge.builder("eventflow.kafka.send.in.flight.limit", () -> limit)
+                .description("Kafka sends allowed to await acknowledgement at once")
+                .register(meterRegistry);
+    }
+
+    /** Time a send waited for an in-flight permit; near zero unless the broker falls behind. */
+    public void recordSendPermitWait(long startNanos) {
+        Timer.builder("eventflow.kafka.send.permit.wait")
+                .description("Time a Kafka send waited for an in-flight permit")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    public void countSendRejected() {
+        Counter.builder("eventflow.kafka.send.rejected")
+                .description("Kafka sends abandoned after waiting too long for an in-flight permit")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void gaugeStreamSubscribers(AtomicInteger subscribers) {
+        Gauge.builder("eventflow.order.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Open order status streams on this instance")
+                .register(meterRegistry);
+    }
+
+    /** A stream subscriber disconnected because its buffer was full. */
+    public void countStreamEviction() {
+        Counter.builder("eventflow.order.stream.evicted")
+                .description("Order status subscribers disconnected for falling behind")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /** An outbox event that exhausted {@code outbox.relay.max-attempts} and is no longer sent. */
+    public void countOutboxParked(String eventType) {
+        Counter.builder("eventflow.outbox.parked")
+                .description("Outbox events parked after too many failed sends")
+                .tag("event", eventType)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /** Time an event spent in the outbox between the order commit and the broker ack. */
+    public void recordOutboxDelay(String eventType, Instant createdAt) {
+        Timer.builder("eventflow.outbox.delay")
+                .description("Time from outbox insert to broker acknowledgement")
+                .tag("event", eventType)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.between(createdAt, Instant.now()));
+    }
+}
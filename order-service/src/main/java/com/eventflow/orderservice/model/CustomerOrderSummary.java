@@ -0,0 +1,46 @@
+package com.eventflow.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-customer order totals, projected from order events. Read-only here: rows are written by
+ * the upserts in {@link com.eventflow.orderservice.repository.CustomerOrderSummaryRepository}.
+ */
+@Entity
+@Immutable
+@Table(name = "customer_order_summaries")
+@Getter
+@NoArgsConstructor
+public class CustomerOrderSummary {
+
+    // Lower-cased
+    @Id
+    private String customerEmail;
+
+    private long ordersPlaced;
+
+    private long ordersCancelled;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal totalPlaced;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal totalCancelled;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private List<UUID> recentOrderIds;
+
+    private Instant lastOrderAt;
+
+    private Instant updatedAt;
+}
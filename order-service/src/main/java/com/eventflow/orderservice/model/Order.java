@@ -1,9 +1,12 @@
 package com.eventflow.orderservice.model;
 
+import com.eventflow.contracts.UuidV7;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -14,11 +17,12 @@ import java.util.UUID;
 @Getter
 @Setter
 @NoArgsConstructor
-public class Order {
+public class Order implements Persistable<UUID> {
 
+    // Assigned up front so an accepted order can be acknowledged with its id before it is written.
+    // Time-ordered, so inserts append to the primary key index.
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private UUID id;
+    private UUID id = UuidV7.next();
 
     @Column(nullable = false)
     private String customerEmail;
@@ -41,6 +45,24 @@ public class Order {
 
     private Instant updatedAt;
 
+    // With an assigned id Spring Data cannot tell new from detached; without this every save
+    // would be a merge, i.e. a SELECT before each INSERT
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
+
     @PreUpdate
     void onUpdate() {
         updatedAt = Instant.now();
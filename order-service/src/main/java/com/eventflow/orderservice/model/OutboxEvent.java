@@ -0,0 +1,52 @@
+package com.eventflow.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An event waiting to be relayed to Kafka. Rows are written in the same transaction as the
+ * order change and deleted by {@code OutboxRelay} once the broker has acknowledged them. A row
+ * that keeps failing is parked: it stays in the table, with its last error, but is no longer sent.
+ */
+@Entity
+@Table(name = "order_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_id")
+    @SequenceGenerator(name = "order_outbox_id", sequenceName = "order_outbox_id_seq", allocationSize = 1)
+    private Long id;
+
+    // Kafka record key — keeps all events for one order on one partition
+    @Column(nullable = false)
+    private UUID aggregateId;
+
+    @Column(nullable = false, length = 50)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    // Failed sends so far
+    @Column(nullable = false)
+    private int attempts;
+
+    // Not claimable before this: a relay is sending the row, or it waits to be retried
+    private Instant claimedUntil;
+
+    private Instant parkedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+}
@@ -0,0 +1,55 @@
+package com.eventflow.orderservice.repository;
+
+import com.eventflow.orderservice.model.CustomerOrderSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public interface CustomerOrderSummaryRepository extends JpaRepository<CustomerOrderSummary, String> {
+
+    // One statement per event: the item insert is the idempotency check, and the summary is
+    // only touched when it inserted a row. Returns 0 for an order that was already applied.
+    @Modifying
+    @Query(value = """
+            WITH item AS (
+                INSERT INTO customer_order_summary_items (order_id, customer_email, total_price)
+                VALUES (:orderId, :email, :totalPrice)
+                ON CONFLICT (order_id) DO NOTHING
+                RETURNING order_id, customer_email, total_price
+            )
+            INSERT INTO customer_order_summaries AS s (customer_email, orders_placed, orders_cancelled,
+                    total_placed, total_cancelled, recent_order_ids, last_order_at, updated_at)
+            SELECT customer_email, 1, 0, total_price, 0, ARRAY[order_id], :placedAt, now() FROM item
+            ON CONFLICT (customer_email) DO UPDATE SET
+                orders_placed = s.orders_placed + 1,
+                total_placed = s.total_placed + EXCLUDED.total_placed,
+                recent_order_ids = (EXCLUDED.recent_order_ids || s.recent_order_ids)[1:CAST(:recentLimit AS integer)],
+                last_order_at = GREATEST(s.last_order_at, EXCLUDED.last_order_at),
+                updated_at = now()
+            """, nativeQuery = true)
+    int applyPlaced(@Param("orderId") UUID orderId, @Param("email") String email,
+                    @Param("totalPrice") BigDecimal totalPrice, @Param("placedAt") Instant placedAt,
+                    @Param("recentLimit") int recentLimit);
+
+    // Only an order that was placed and not yet cancelled counts, so redeliveries are no-ops
+    @Modifying
+    @Query(value = """
+            WITH item AS (
+                UPDATE customer_order_summary_items SET cancelled = true
+                WHERE order_id = :orderId AND NOT cancelled
+                RETURNING customer_email, total_price
+            )
+            UPDATE customer_order_summaries s SET
+                orders_cancelled = s.orders_cancelled + 1,
+                total_cancelled = s.total_cancelled + item.total_price,
+                updated_at = now()
+            FROM item
+            WHERE s.customer_email = item.customer_email
+            """, nativeQuery = true)
+    int applyCancelled(@Param("orderId") UUID orderId);
+}
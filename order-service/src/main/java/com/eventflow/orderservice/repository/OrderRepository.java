@@ -2,7 +2,23 @@ package com.eventflow.orderservice.repository;
 
 import com.eventflow.orderservice.model.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.UUID;
 
-public interface OrderRepository extends JpaRepository<Order, UUID> {}
+public interface OrderRepository extends JpaRepository<Order, UUID> {
+
+    // The status check and the write are one statement, so of two concurrent cancels only one
+    // matches the row; the other waits for the row lock and then updates nothing.
+    default int cancelIfPlaced(UUID id, Instant now) {
+        return updateStatusIf(id, Order.OrderStatus.PLACED, Order.OrderStatus.CANCELLED, now);
+    }
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to, o.updatedAt = :now WHERE o.id = :id AND o.status = :from")
+    int updateStatusIf(@Param("id") UUID id, @Param("from") Order.OrderStatus from,
+                       @Param("to") Order.OrderStatus to, @Param("now") Instant now);
+}
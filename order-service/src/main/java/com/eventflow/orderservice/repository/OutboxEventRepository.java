@@ -0,0 +1,51 @@
+package com.eventflow.orderservice.repository;
+
+import com.eventflow.orderservice.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Unclaimed rows that are the oldest pending event of their order, in id order. At most one
+     * event per order is in flight, so a later event can never overtake an earlier one.
+     */
+    @Query("""
+            SELECT o FROM OutboxEvent o
+            WHERE o.parkedAt IS NULL
+              AND (o.claimedUntil IS NULL OR o.claimedUntil < :now)
+              AND NOT EXISTS (SELECT 1 FROM OutboxEvent e
+                              WHERE e.aggregateId = o.aggregateId AND e.parkedAt IS NULL AND e.id < o.id)
+            ORDER BY o.id
+            """)
+    List<OutboxEvent> findClaimable(@Param("now") Instant now, Pageable page);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.claimedUntil = :until WHERE o.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("until") Instant until);
+
+    /** Counts a failed send; {@code parkedAt} is null while the row has attempts left. */
+    @Modifying
+    @Query("""
+            UPDATE OutboxEvent o
+            SET o.attempts = o.attempts + 1, o.lastError = :error, o.claimedUntil = :retryAt, o.parkedAt = :parkedAt
+            WHERE o.id = :id
+            """)
+    int recordFailure(@Param("id") Long id, @Param("error") String error,
+                      @Param("retryAt") Instant retryAt, @Param("parkedAt") Instant parkedAt);
+
+    /** Whether a relay may still be sending, or is about to retry, an outbox row. */
+    boolean existsByParkedAtIsNullAndClaimedUntilAfter(Instant now);
+
+    // Transaction-scoped lock so only one relay instance claims rows at a time, and so
+    // OrdersTopicAdmin can pause claiming while it changes the topic.
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+}
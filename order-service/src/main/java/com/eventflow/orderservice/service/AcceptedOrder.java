@@ -0,0 +1,8 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.orderservice.dto.CreateOrderRequest;
+
+import java.util.UUID;
+
+/** An order acknowledged to the client under a pre-allocated id and waiting in {@link OrderIntake}. */
+public record AcceptedOrder(UUID id, CreateOrderRequest request) {}
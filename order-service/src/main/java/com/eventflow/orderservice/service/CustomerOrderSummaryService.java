@@ -0,0 +1,64 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.orderservice.dto.CustomerOrdersResponse;
+import com.eventflow.orderservice.repository.CustomerOrderSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+
+/**
+ * Maintains and serves the per-customer order summary. Updates are incremental, one upsert per
+ * event, so a read never aggregates over {@code orders}. The summary trails the orders table by
+ * the consumer lag on the {@code orders} topic.
+ */
+@Service
+@Slf4j
+public class CustomerOrderSummaryService {
+
+    private final CustomerOrderSummaryRepository summaryRepository;
+    private final int recentOrders;
+
+    public CustomerOrderSummaryService(CustomerOrderSummaryRepository summaryRepository,
+                                       @Value("${order.customer-summary.recent-orders:20}") int recentOrders) {
+        this.summaryRepository = summaryRepository;
+        this.recentOrders = recentOrders;
+    }
+
+    @Transactional
+    public void apply(Object event) {
+        switch (event) {
+            case OrderPlacedEvent placed -> {
+                int applied = summaryRepository.applyPlaced(placed.orderId(), normalize(placed.customerEmail()),
+                        placed.totalPrice(), placed.occurredAt(), recentOrders);
+                if (applied == 0) {
+                    log.debug("Order {} already in the customer summary", placed.orderId());
+                }
+            }
+            case OrderCancelledEvent cancelled -> {
+                int applied = summaryRepository.applyCancelled(cancelled.orderId());
+                if (applied == 0) {
+                    // Redelivery, or the placement predates the projection
+                    log.debug("Cancellation of order {} not applied to the customer summary", cancelled.orderId());
+                }
+            }
+            default -> log.warn("Unknown event type received: {}", event.getClass().getName());
+        }
+    }
+
+    // Not @Transactional: a single primary-key read
+    public CustomerOrdersResponse getSummary(String customerEmail) {
+        String email = normalize(customerEmail);
+        return summaryRepository.findById(email)
+                .map(CustomerOrdersResponse::from)
+                .orElseGet(() -> CustomerOrdersResponse.empty(email));
+    }
+
+    static String normalize(String customerEmail) {
+        return customerEmail.trim().toLowerCase(Locale.ROOT);
+    }
+}
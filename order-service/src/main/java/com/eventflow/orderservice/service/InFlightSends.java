@@ -0,0 +1,59 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.orderservice.config.ProducerProfile;
+import com.eventflow.orderservice.metrics.OrderMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Bounds the Kafka sends awaiting acknowledgement. Without it a slow broker is felt only when
+ * the producer's buffer.memory is full, after which every send blocks for up to max.block.ms
+ * with no indication why; here the wait is bounded, timed and counted. Take a permit before
+ * {@code send} and release it when the send completes, successfully or not.
+ *
+ * <p>The outbox relay waits for every send of a round before claiming the next, so a limit of
+ * {@code outbox.relay.batch-size} or more is never reached; such a limit is warned about.
+ */
+@Component
+@Slf4j
+public class InFlightSends {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final OrderMetrics orderMetrics;
+
+    public InFlightSends(ProducerProfile producerProfile,
+                         @Value("${kafka.producer.max-in-flight-sends:0}") int maxInFlightSends,
+                         @Value("${kafka.producer.in-flight-timeout-ms:30000}") long acquireTimeoutMs,
+                         @Value("${outbox.relay.batch-size:500}") int relayBatchSize,
+                         OrderMetrics orderMetrics) {
+        int limit = maxInFlightSends > 0 ? maxInFlightSends : producerProfile.maxInFlightSends();
+        if (limit >= relayBatchSize) {
+            log.warn("{} in-flight Kafka sends allowed, but the outbox relay sends at most {} at a time;"
+                    + " the limit will never apply", limit, relayBatchSize);
+        }
+        this.permits = new Semaphore(limit);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.orderMetrics = orderMetrics;
+        orderMetrics.gaugeInFlightSends(permits, limit);
+    }
+
+    /** @throws TimeoutException if no permit frees up within {@code kafka.producer.in-flight-timeout-ms} */
+    public void acquire() throws InterruptedException, TimeoutException {
+        long startNanos = System.nanoTime();
+        if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+            orderMetrics.countSendRejected();
+            throw new TimeoutException("No Kafka send permit within " + acquireTimeoutMs + " ms");
+        }
+        orderMetrics.recordSendPermitWait(startNanos);
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
@@ -0,0 +1,91 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.orderservice.dto.OrderResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicted cache of {@link OrderResponse} by order id. Writes made inside a
+ * transaction are applied only after it commits, so a rolled-back order never becomes visible.
+ * Hit/miss/eviction counts are published as {@code cache.*} meters tagged {@code cache=orders}.
+ *
+ * <p>Entries are futures so a miss never runs the database load inside the cache's
+ * {@code ConcurrentHashMap.compute} — a monitor that would pin the carrier of a virtual request
+ * thread for the whole query. Concurrent misses for one id still share a single load.
+ */
+@Component
+public class OrderCache {
+
+    private final AsyncCache<UUID, OrderResponse> cache;
+
+    public OrderCache(@Value("${order.cache.max-size:100000}") long maxSize,
+                      @Value("${order.cache.ttl:10m}") Duration ttl,
+                      MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orders");
+    }
+
+    /** Returns the cached order, loading (and caching) it on a miss. Loader exceptions are not cached. */
+    public OrderResponse get(UUID orderId, Function<UUID, OrderResponse> loader) {
+        CompletableFuture<OrderResponse> load = new CompletableFuture<>();
+        CompletableFuture<OrderResponse> entry = cache.get(orderId, (id, executor) -> load);
+        if (entry == load) {
+            // This caller won the miss: load on its own thread, outside the map lock
+            try {
+                load.complete(loader.apply(orderId));
+            } catch (RuntimeException ex) {
+                load.completeExceptionally(ex); // failed futures are evicted by the cache
+                throw ex;
+            }
+        }
+        try {
+            return entry.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    public void putAfterCommit(OrderResponse order) {
+        afterCommit(() -> cache.put(order.id(), CompletableFuture.completedFuture(order)));
+    }
+
+    /**
+     * Drops the entry unless it already shows {@code status}. That way an instance receiving its
+     * own event keeps the entry it just wrote, while other instances discard their stale copy.
+     * A load still in flight is dropped too, since it may have read the row before the change.
+     */
+    public void invalidateUnlessStatus(UUID orderId, String status) {
+        cache.asMap().computeIfPresent(orderId, (id, cached) ->
+                cached.isDone() && !cached.isCompletedExceptionally() && status.equals(cached.join().status())
+                        ? cached : null);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
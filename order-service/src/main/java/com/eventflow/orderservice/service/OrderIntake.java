@@ -0,0 +1,147 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.contracts.UuidV7;
+import com.eventflow.orderservice.dto.CreateOrderRequest;
+import com.eventflow.orderservice.exception.OrderIntakeFullException;
+import com.eventflow.orderservice.metrics.OrderMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue behind the accepted (202) mode of {@code POST /api/orders}. A single writer thread
+ * drains it with group commit: everything that queued up while one transaction was committing
+ * goes into the next, so a burst of requests costs a handful of transactions and one pooled
+ * connection instead of one each.
+ *
+ * <p>An accepted order is not durable until its batch commits — orders still queued when the
+ * process dies are lost. On a graceful shutdown the queue is drained before the datasource closes.
+ */
+@Component
+@Slf4j
+public class OrderIntake implements SmartLifecycle {
+
+    private static final int WRITE_ATTEMPTS = 3;
+    private static final long WRITE_BACKOFF_MS = 500;
+
+    private final OrderService orderService;
+    private final OrderMetrics orderMetrics;
+    private final BlockingQueue<AcceptedOrder> queue;
+    private final int capacity;
+    private final int maxBatchSize;
+    private final long retryAfterSeconds;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderIntake(OrderService orderService,
+                       OrderMetrics orderMetrics,
+                       @Value("${order.intake.queue-capacity:10000}") int capacity,
+                       @Value("${order.intake.max-batch-size:500}") int maxBatchSize,
+                       @Value("${order.intake.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.orderService = orderService;
+        this.orderMetrics = orderMetrics;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.maxBatchSize = maxBatchSize;
+        this.retryAfterSeconds = retryAfterSeconds;
+        orderMetrics.gaugeIntakeQueue(queue);
+    }
+
+    /**
+     * Queues a validated order and returns the id it will be stored under.
+     *
+     * @throws OrderIntakeFullException if the queue is full or the service is shutting down
+     */
+    public UUID accept(CreateOrderRequest request) {
+        AcceptedOrder order = new AcceptedOrder(UuidV7.next(), request);
+        if (!running || !queue.offer(order)) {
+            orderMetrics.countIntake("rejected");
+            throw new OrderIntakeFullException(capacity, retryAfterSeconds);
+        }
+        return order.id();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("order-intake-writer").start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void drain() {
+        List<AcceptedOrder> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AcceptedOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                // A copy: the buffer is cleared for the next round, the service may hold on to the list
+                write(List.copyOf(batch));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                log.warn("Order intake writer interrupted with {} orders still queued", queue.size());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AcceptedOrder> batch) throws InterruptedException {
+        // Retrying stalls the writer on purpose: the queue fills and callers get 503s
+        for (int attempt = 1; attempt <= WRITE_ATTEMPTS; attempt++) {
+            try {
+                orderService.placeAcceptedOrders(batch);
+                orderMetrics.recordGroupCommit(batch.size());
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Group commit of {} accepted orders failed (attempt {}/{}): {}",
+                        batch.size(), attempt, WRITE_ATTEMPTS, ex.getMessage());
+                if (attempt < WRITE_ATTEMPTS) {
+                    Thread.sleep(WRITE_BACKOFF_MS * attempt);
+                }
+            }
+        }
+
+        // Still failing: isolate the orders that cannot be written so the rest get through
+        for (AcceptedOrder order : batch) {
+            try {
+                orderService.placeAcceptedOrders(List.of(order));
+                orderMetrics.recordGroupCommit(1);
+            } catch (RuntimeException ex) {
+                log.error("Dropping accepted order {} for customer {}: {}",
+                        order.id(), order.request().customerEmail(), ex.getMessage());
+                orderMetrics.countIntake("dropped");
+            }
+        }
+    }
+}
@@ -1,19 +1,23 @@
 package com.eventflow.orderservice.service;
 
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
 import com.eventflow.orderservice.dto.CreateOrderRequest;
 import com.eventflow.orderservice.dto.OrderResponse;
-import com.eventflow.orderservice.event.OrderCancelledEvent;
-import com.eventflow.orderservice.event.OrderPlacedEvent;
 import com.eventflow.orderservice.exception.OrderNotFoundException;
+import com.eventflow.orderservice.metrics.OrderMetrics;
 import com.eventflow.orderservice.model.Order;
 import com.eventflow.orderservice.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -22,20 +26,15 @@ import java.util.UUID;
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-
-    @Value("${kafka.topic.orders}")
-    private String ordersTopic;
+    private final OutboxService outboxService;
+    private final OrderCache orderCache;
+    private final OrderMetrics orderMetrics;
 
     @Transactional
     public OrderResponse placeOrder(CreateOrderRequest request) {
-        Order order = new Order();
-        order.setCustomerEmail(request.customerEmail());
-        order.setProductName(request.productName());
-        order.setQuantity(request.quantity());
-        order.setTotalPrice(request.totalPrice());
+        Order order = newOrder(request);
 
-        Order saved = orderRepository.save(order);
+        Order saved = orderMetrics.timePersist("place", () -> orderRepository.save(order));
         log.info("Order {} persisted for customer {}", saved.getId(), saved.getCustomerEmail());
 
         OrderPlacedEvent event = OrderPlacedEvent.of(
@@ -43,51 +42,101 @@ public class OrderService {
                 saved.getProductName(), saved.getQuantity(), saved.getTotalPrice()
         );
 
-        kafkaTemplate.send(ordersTopic, saved.getId().toString(), event)
-                .whenComplete((result, ex) -> {
-                    if (ex != null) {
-                        log.error("Failed to publish OrderPlacedEvent for order {}: {}", saved.getId(), ex.getMessage());
-                    } else {
-                        log.info("OrderPlacedEvent published for order {} to partition {}",
-                                saved.getId(), result.getRecordMetadata().partition());
-                    }
-                });
-
-        return OrderResponse.from(saved);
+        // Published by OutboxRelay once this transaction commits
+        outboxService.append(saved.getId(), event);
+
+        OrderResponse response = OrderResponse.from(saved);
+        orderCache.putAfterCommit(response);
+        return response;
     }
 
+    /**
+     * Persists already-validated orders in one transaction. Orders and their outbox rows are
+     * written with JDBC batch inserts; the relay then publishes the events with one producer flush.
+     */
     @Transactional
-    public OrderResponse cancelOrder(UUID orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException(orderId));
+    public List<OrderResponse> placeOrders(List<CreateOrderRequest> requests) {
+        List<Order> orders = new ArrayList<>(requests.size());
+        for (CreateOrderRequest request : requests) {
+            orders.add(newOrder(request));
+        }
+        return saveAll(orders);
+    }
+
+    /** Group-commit path for {@link OrderIntake}: same as {@link #placeOrders}, keeping the pre-allocated ids. */
+    @Transactional
+    public List<OrderResponse> placeAcceptedOrders(List<AcceptedOrder> accepted) {
+        List<Order> orders = new ArrayList<>(accepted.size());
+        for (AcceptedOrder acceptedOrder : accepted) {
+            Order order = newOrder(acceptedOrder.request());
+            order.setId(acceptedOrder.id());
+            orders.add(order);
+        }
+        return saveAll(orders);
+    }
 
-        if (order.getStatus() == Order.OrderStatus.CANCELLED) {
+    private List<OrderResponse> saveAll(List<Order> orders) {
+        List<Order> saved = orderMetrics.timePersist("batch", () -> orderRepository.saveAll(orders));
+        log.info("{} orders persisted in batch", saved.size());
+
+        Map<UUID, OrderPlacedEvent> events = new LinkedHashMap<>();
+        List<OrderResponse> responses = new ArrayList<>(saved.size());
+        for (Order order : saved) {
+            events.put(order.getId(), OrderPlacedEvent.of(
+                    order.getId(), order.getCustomerEmail(),
+                    order.getProductName(), order.getQuantity(), order.getTotalPrice()
+            ));
+            OrderResponse response = OrderResponse.from(order);
+            orderCache.putAfterCommit(response);
+            responses.add(response);
+        }
+        outboxService.appendAll(events);
+
+        return responses;
+    }
+
+    /**
+     * Cancels with a conditional update instead of read-check-save, so concurrent cancels of one
+     * order produce exactly one {@link OrderCancelledEvent}; the losers get the same 409 as a
+     * repeated cancel. The read afterwards sees our own write, the row being locked until commit.
+     */
+    @Transactional
+    public OrderResponse cancelOrder(UUID orderId) {
+        int cancelled = orderMetrics.timePersist("cancel", () -> orderRepository.cancelIfPlaced(orderId, Instant.now()));
+        if (cancelled == 0) {
+            if (!orderRepository.existsById(orderId)) {
+                throw new OrderNotFoundException(orderId);
+            }
             throw new IllegalStateException("Order " + orderId + " is already cancelled");
         }
 
-        order.setStatus(Order.OrderStatus.CANCELLED);
-        Order saved = orderRepository.save(order);
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
 
         OrderCancelledEvent event = OrderCancelledEvent.of(
-                saved.getId(), saved.getCustomerEmail(), saved.getProductName()
+                order.getId(), order.getCustomerEmail(), order.getProductName()
         );
 
-        kafkaTemplate.send(ordersTopic, saved.getId().toString(), event)
-                .whenComplete((result, ex) -> {
-                    if (ex != null) {
-                        log.error("Failed to publish OrderCancelledEvent for order {}: {}", saved.getId(), ex.getMessage());
-                    } else {
-                        log.info("OrderCancelledEvent published for order {}", saved.getId());
-                    }
-                });
+        outboxService.append(order.getId(), event);
 
-        return OrderResponse.from(saved);
+        OrderResponse response = OrderResponse.from(order);
+        orderCache.putAfterCommit(response);
+        return response;
     }
 
-    @Transactional(readOnly = true)
+    private static Order newOrder(CreateOrderRequest request) {
+        Order order = new Order();
+        order.setCustomerEmail(request.customerEmail());
+        order.setProductName(request.productName());
+        order.setQuantity(request.quantity());
+        order.setTotalPrice(request.totalPrice());
+        return order;
+    }
+
+    // Not @Transactional: a cache hit must not check out a database connection
     public OrderResponse getOrder(UUID orderId) {
-        return orderRepository.findById(orderId)
+        return orderCache.get(orderId, id -> orderRepository.findById(id)
                 .map(OrderResponse::from)
-                .orElseThrow(() -> new OrderNotFoundException(orderId));
+                .orElseThrow(() -> new OrderNotFoundException(id)));
     }
 }
@@ -0,0 +1,219 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.orderservice.dto.OrderStatusEvent;
+import com.eventflow.orderservice.exception.StreamFullException;
+import com.eventflow.orderservice.metrics.OrderMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pushes order status transitions to server-sent event subscribers, per order or per customer.
+ *
+ * <p>{@link #publish} runs on the Kafka listener thread and never writes to a connection. It
+ * only offers the event to each matching subscriber's bounded buffer, without waiting. Each
+ * subscriber has its own virtual thread that writes the buffer out. A subscriber whose buffer is
+ * full has fallen {@code buffer-size} events behind; it is disconnected rather than allowed to
+ * hold up the listener or grow without bound. The client reconnects and reads the current status.
+ * Heartbeat comments go through the same buffers, so dead connections are found even on
+ * quiet orders.
+ */
+@Component
+@Slf4j
+public class OrderStatusStream implements DisposableBean {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final OrderMetrics orderMetrics;
+    // Order ids (UUID) and lower-cased customer emails (String) to their subscribers
+    private final Map<Object, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public OrderStatusStream(@Value("${order.stream.buffer-size:64}") int bufferSize,
+                             @Value("${order.stream.max-subscribers:10000}") int maxSubscribers,
+                             @Value("${order.stream.timeout:30m}") Duration timeout,
+                             OrderMetrics orderMetrics) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.orderMetrics = orderMetrics;
+        orderMetrics.gaugeStreamSubscribers(subscriberCount);
+    }
+
+    /**
+     * Transitions of one order, starting with its current status from {@code snapshot}. The
+     * snapshot is read after subscribing, so no transition falls between the two; one published
+     * meanwhile may arrive just before the snapshot repeats it, with the same event id.
+     */
+    public SseEmitter subscribeToOrder(UUID orderId, Supplier<OrderStatusEvent> snapshot) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = subscribe(orderId, item -> write(emitter, item), emitter::complete);
+        OrderStatusEvent current;
+        try {
+            current = snapshot.get();
+        } catch (RuntimeException ex) {
+            unsubscribe(orderId, subscription);
+            throw ex;
+        }
+        emitter.onCompletion(() -> unsubscribe(orderId, subscription));
+        emitter.onTimeout(() -> unsubscribe(orderId, subscription));
+        emitter.onError(ex -> unsubscribe(orderId, subscription));
+        offer(orderId, subscription, current);
+        return emitter;
+    }
+
+    /** Transitions of every order the customer places from now on. */
+    public SseEmitter subscribeToCustomer(String customerEmail) {
+        String key = normalize(customerEmail);
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = subscribe(key, item -> write(emitter, item), emitter::complete);
+        emitter.onCompletion(() -> unsubscribe(key, subscription));
+        emitter.onTimeout(() -> unsubscribe(key, subscription));
+        emitter.onError(ex -> unsubscribe(key, subscription));
+        return emitter;
+    }
+
+    public void publish(OrderStatusEvent event) {
+        deliver(event.orderId(), event);
+        deliver(normalize(event.customerEmail()), event);
+    }
+
+    @Scheduled(fixedRateString = "${order.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscriptions.forEach((key, subscribers) -> subscribers.forEach(
+                subscription -> offer(key, subscription, HEARTBEAT)));
+    }
+
+    Subscription subscribe(Object key, Writer writer, Runnable onEvict) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new StreamFullException(maxSubscribers);
+        }
+        Subscription subscription = new Subscription(new ArrayBlockingQueue<>(bufferSize), writer, onEvict);
+        subscriptions.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscription);
+        writers.execute(() -> subscription.drain(() -> unsubscribe(key, subscription)));
+        return subscription;
+    }
+
+    void unsubscribe(Object key, Subscription subscription) {
+        if (!subscription.close()) {
+            return;
+        }
+        subscriptions.computeIfPresent(key, (k, subscribers) -> {
+            subscribers.remove(subscription);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void deliver(Object key, OrderStatusEvent event) {
+        Set<Subscription> subscribers = subscriptions.get(key);
+        if (subscribers != null) {
+            subscribers.forEach(subscription -> offer(key, subscription, event));
+        }
+    }
+
+    // Never blocks: publish runs on the shared listener thread and heartbeat on the scheduler
+    private void offer(Object key, Subscription subscription, Object item) {
+        if (!subscription.queue.offer(item)) {
+            log.info("Disconnecting stream subscriber of {}: {} events behind", key, bufferSize);
+            orderMetrics.countStreamEviction();
+            unsubscribe(key, subscription);
+            subscription.onEvict.run();
+        }
+    }
+
+    private static void write(SseEmitter emitter, Object item) throws IOException {
+        if (item == HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        } else if (item instanceof OrderStatusEvent event) {
+            emitter.send(SseEmitter.event()
+                    .id(event.orderId() + ":" + event.status())
+                    .name("order-status")
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private static String normalize(String customerEmail) {
+        return customerEmail.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void destroy() {
+        writers.shutdownNow();
+    }
+
+    @FunctionalInterface
+    interface Writer {
+        void write(Object item) throws IOException;
+    }
+
+    static final class Subscription {
+
+        private final BlockingQueue<Object> queue;
+        private final Writer writer;
+        private final Runnable onEvict;
+        private final AtomicInteger state = new AtomicInteger(); // 0 open, 1 closed
+        private volatile Thread writerThread;
+
+        private Subscription(BlockingQueue<Object> queue, Writer writer, Runnable onEvict) {
+            this.queue = queue;
+            this.writer = writer;
+            this.onEvict = onEvict;
+        }
+
+        // Writes buffered items until closed or the connection fails
+        private void drain(Runnable onFailure) {
+            // Published before the state check, so close() either sees the thread or drain sees closed
+            writerThread = Thread.currentThread();
+            try {
+                while (state.get() == 0) {
+                    writer.write(queue.take());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException ex) {
+                // Client went away; the emitter reports it too, closing twice is harmless
+                onFailure.run();
+            }
+        }
+
+        /** @return whether this call closed it */
+        private boolean close() {
+            if (!state.compareAndSet(0, 1)) {
+                return false;
+            }
+            Thread thread = writerThread;
+            if (thread != null) {
+                thread.interrupt();
+            }
+            return true;
+        }
+    }
+}
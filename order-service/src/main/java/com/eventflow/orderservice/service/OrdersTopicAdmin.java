@@ -0,0 +1,261 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.orderservice.dto.TopicGrowth;
+import com.eventflow.orderservice.dto.TopicPartitionsResponse;
+import com.eventflow.orderservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.NewPartitions;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Adds partitions to the {@code orders} topic without breaking per-order ordering. Events are
+ * keyed by order id, and adding partitions changes where an id hashes to — an order's next event
+ * could be read from a new partition before its previous one is read from the old partition.
+ *
+ * <p>So the operation holds the outbox relay lock throughout, which stops the relay on every
+ * instance. It waits until the consumer groups have read everything already on the topic, adds
+ * the partitions, and keeps the relay stopped until every producer has refreshed its metadata
+ * ({@code metadata.max.age.ms}) and hashes keys over the new count.
+ *
+ * <p>That takes minutes, so it runs in the background, one at a time, and {@link #describe()}
+ * reports how it went. The lock is taken at session level on a connection of its own rather than
+ * one from the pool, so no transaction or pooled connection is held meanwhile, and Postgres frees
+ * the lock if the instance dies mid-way.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrdersTopicAdmin implements DisposableBean {
+
+    private static final long ADMIN_TIMEOUT_SECONDS = 10;
+    private static final long POLL_INTERVAL_MS = 500;
+
+    private final KafkaAdmin kafkaAdmin;
+    private final ProducerFactory<String, Object> producerFactory;
+    private final OutboxEventRepository outboxEventRepository;
+    private final DataSourceProperties dataSourceProperties;
+    private final ExecutorService grower = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("orders-topic-grow").factory());
+    private final AtomicReference<TopicGrowth> latestGrowth = new AtomicReference<>();
+
+    @Value("${kafka.topic.orders}")
+    private String ordersTopic;
+
+    @Value("${kafka.topic.orders-partitions:3}")
+    private int configuredPartitions;
+
+    @Value("${kafka.topic.orders-consumer-groups:notification-consumers,order-customer-summary}")
+    private List<String> consumerGroups;
+
+    @Value("${kafka.topic.grow-drain-timeout:2m}")
+    private Duration drainTimeout;
+
+    @Value("${spring.kafka.producer.properties.metadata.max.age.ms:300000}")
+    private long metadataMaxAgeMs;
+
+    public TopicPartitionsResponse describe() {
+        try (Admin admin = Admin.create(kafkaAdmin.getConfigurationProperties())) {
+            return describe(admin);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while describing " + ordersTopic, ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new IllegalStateException("Could not describe " + ordersTopic + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Partitions of the topic once startup is done: the broker's count, or
+     * {@code kafka.topic.orders-partitions} if higher, as KafkaAdmin creates or grows the topic to that.
+     */
+    public List<Integer> partitionIds() {
+        int count;
+        try (Admin admin = Admin.create(kafkaAdmin.getConfigurationProperties())) {
+            count = Math.max(partitionCount(admin), configuredPartitions);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while describing " + ordersTopic, ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            log.warn("Could not describe {}, assuming {} partitions: {}", ordersTopic, configuredPartitions,
+                    ex.getMessage());
+            count = configuredPartitions;
+        }
+        return IntStream.range(0, count).boxed().toList();
+    }
+
+    /**
+     * Starts growing the topic to {@code partitions} partitions and returns at once; the growth
+     * takes up to the drain timeout plus the metadata refresh interval. Kafka cannot remove
+     * partitions, so the count may only grow.
+     */
+    public TopicPartitionsResponse increasePartitions(int partitions) {
+        try (Admin admin = Admin.create(kafkaAdmin.getConfigurationProperties())) {
+            int current = partitionCount(admin);
+            if (partitions <= current) {
+                throw new IllegalArgumentException("Topic " + ordersTopic + " already has " + current
+                        + " partitions; partitions can only be added");
+            }
+            TopicGrowth previous = latestGrowth.get();
+            TopicGrowth growth = TopicGrowth.running(current, partitions);
+            if ((previous != null && previous.state() == TopicGrowth.State.RUNNING)
+                    || !latestGrowth.compareAndSet(previous, growth)) {
+                throw new IllegalArgumentException("Topic " + ordersTopic + " is already being grown");
+            }
+            grower.execute(() -> latestGrowth.set(run(growth)));
+            return describe(admin);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while growing " + ordersTopic, ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new IllegalStateException("Could not grow " + ordersTopic + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    private TopicGrowth run(TopicGrowth growth) {
+        try {
+            grow(growth.fromPartitions(), growth.toPartitions());
+            return growth.done();
+        } catch (RuntimeException ex) {
+            log.error("Could not grow {} to {} partitions: {}", ordersTopic, growth.toPartitions(), ex.getMessage(), ex);
+            return growth.failed(ex.getMessage());
+        }
+    }
+
+    private void grow(int current, int partitions) {
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        // Closing the connection ends its session, which releases the relay lock however this exits
+        try (Admin admin = Admin.create(kafkaAdmin.getConfigurationProperties());
+             Connection relayLock = dedicatedConnection()) {
+            while (!tryAdvisoryLock(relayLock)) {
+                awaitNextPoll(deadline, "the outbox relay to pause");
+            }
+            // Claimed rows may still be on their way to the broker, or are about to be retried
+            while (outboxEventRepository.existsByParkedAtIsNullAndClaimedUntilAfter(Instant.now())) {
+                awaitNextPoll(deadline, "in-flight outbox events to settle");
+            }
+            log.info("Outbox relay paused; waiting for {} to catch up on {}", consumerGroups, ordersTopic);
+
+            Map<String, Long> lag;
+            while ((lag = consumerLag(admin)).values().stream().anyMatch(records -> records > 0)) {
+                awaitNextPoll(deadline, "consumer groups to catch up, lag " + lag);
+            }
+
+            admin.createPartitions(Map.of(ordersTopic, NewPartitions.increaseTo(partitions)))
+                    .all().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            // This instance's producer picks up the new count at once; the others within metadata.max.age.ms
+            producerFactory.reset();
+            log.info("Grew {} from {} to {} partitions; relay resumes in {} ms",
+                    ordersTopic, current, partitions, metadataMaxAgeMs);
+            Thread.sleep(metadataMaxAgeMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while growing " + ordersTopic, ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new IllegalStateException("Could not add partitions to " + ordersTopic + ": " + ex.getMessage(), ex);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not take the outbox relay lock: " + ex.getMessage(), ex);
+        }
+    }
+
+    private Connection dedicatedConnection() throws SQLException {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build()
+                .getConnection();
+    }
+
+    // Session-level, so it conflicts with the relay's transaction-scoped lock on the same key
+    private static boolean tryAdvisoryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, OutboxRelay.RELAY_LOCK_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private void awaitNextPoll(long deadline, String waitingFor) throws InterruptedException {
+        if (System.nanoTime() > deadline) {
+            throw new IllegalStateException("Gave up waiting for " + waitingFor + " after " + drainTimeout
+                    + "; " + ordersTopic + " was not changed");
+        }
+        Thread.sleep(POLL_INTERVAL_MS);
+    }
+
+    private TopicPartitionsResponse describe(Admin admin) throws InterruptedException, ExecutionException, TimeoutException {
+        return new TopicPartitionsResponse(ordersTopic, partitionCount(admin), consumerLag(admin), latestGrowth.get());
+    }
+
+    private int partitionCount(Admin admin) throws InterruptedException, ExecutionException, TimeoutException {
+        return admin.describeTopics(List.of(ordersTopic)).allTopicNames()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .get(ordersTopic).partitions().size();
+    }
+
+    private Map<String, Long> consumerLag(Admin admin) throws InterruptedException, ExecutionException, TimeoutException {
+        List<TopicPartition> partitions = admin.describeTopics(List.of(ordersTopic)).allTopicNames()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .get(ordersTopic).partitions().stream()
+                .map(info -> new TopicPartition(ordersTopic, info.partition()))
+                .toList();
+        Map<TopicPartition, ListOffsetsResultInfo> earliest = listOffsets(admin, partitions, OffsetSpec.earliest());
+        Map<TopicPartition, ListOffsetsResultInfo> latest = listOffsets(admin, partitions, OffsetSpec.latest());
+
+        Map<String, Long> lag = new LinkedHashMap<>();
+        for (String group : consumerGroups) {
+            Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(group)
+                    .partitionsToOffsetAndMetadata().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            long records = 0;
+            for (TopicPartition partition : partitions) {
+                // Never committed means the group has read nothing that is still retained
+                OffsetAndMetadata offset = committed.get(partition);
+                long position = offset != null ? offset.offset() : earliest.get(partition).offset();
+                records += Math.max(0, latest.get(partition).offset() - position);
+            }
+            lag.put(group, records);
+        }
+        return lag;
+    }
+
+    private static Map<TopicPartition, ListOffsetsResultInfo> listOffsets(Admin admin, List<TopicPartition> partitions,
+                                                                          OffsetSpec spec)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return admin.listOffsets(partitions.stream().collect(Collectors.toMap(partition -> partition, partition -> spec)))
+                .all().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        grower.shutdownNow();
+    }
+}
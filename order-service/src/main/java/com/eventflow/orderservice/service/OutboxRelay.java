@@ -0,0 +1,194 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.orderservice.metrics.OrderMetrics;
+import com.eventflow.orderservice.model.OutboxEvent;
+import com.eventflow.orderservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains {@code order_outbox} to Kafka in batches — delivery is at-least-once. Each round claims
+ * the oldest pending event of up to {@code batch-size} orders in a short transaction, sends them
+ * asynchronously with one flush, and settles the results in a second transaction, so neither a
+ * transaction nor the relay lock is held while waiting for the broker.
+ *
+ * <p>Only an order's oldest pending event is ever in flight, so its events reach the broker in
+ * order. A failed event is retried after {@code retry-backoff-ms}, holding back the order's later
+ * events; after {@code max-attempts} failures it is parked with its error and the rest go out.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    static final long RELAY_LOCK_KEY = 0x6f7264657273L; // "orders"
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxService outboxService;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final InFlightSends inFlightSends;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderMetrics orderMetrics;
+
+    @Value("${kafka.topic.orders}")
+    private String ordersTopic;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    // Must exceed send-timeout-ms, or another instance may resend a batch that is still in flight
+    @Value("${outbox.relay.claim-timeout-ms:60000}")
+    private long claimTimeoutMs;
+
+    @Value("${outbox.relay.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    /** Claims, sends and settles one batch; returns the number of events the broker acknowledged. */
+    int relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claim());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent outboxEvent : batch) {
+            CompletableFuture<SendResult<String, Object>> send = send(outboxEvent);
+            if (send == null) {
+                break;
+            }
+            sends.add(send);
+        }
+        kafkaTemplate.flush();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<Long> published = new ArrayList<>(sends.size());
+        Map<OutboxEvent, String> failed = new LinkedHashMap<>();
+        for (int i = 0; i < sends.size(); i++) {
+            OutboxEvent outboxEvent = batch.get(i);
+            String error = awaitSend(outboxEvent, sends.get(i), deadline);
+            if (error == null) {
+                published.add(outboxEvent.getId());
+            } else {
+                failed.put(outboxEvent, error);
+            }
+        }
+        List<Long> unsent = batch.subList(sends.size(), batch.size()).stream().map(OutboxEvent::getId).toList();
+
+        transactionTemplate.executeWithoutResult(status -> settle(published, failed, unsent));
+        log.debug("Relayed {} of {} outbox events to {}", published.size(), batch.size(), ordersTopic);
+        return published.size();
+    }
+
+    private List<OutboxEvent> claim() {
+        if (!outboxEventRepository.tryAdvisoryLock(RELAY_LOCK_KEY)) {
+            return List.of();
+        }
+        Instant now = Instant.now();
+        List<OutboxEvent> batch = outboxEventRepository.findClaimable(now, PageRequest.of(0, batchSize));
+        if (!batch.isEmpty()) {
+            outboxEventRepository.claim(batch.stream().map(OutboxEvent::getId).toList(),
+                    now.plusMillis(claimTimeoutMs));
+        }
+        return batch;
+    }
+
+    private void settle(List<Long> published, Map<OutboxEvent, String> failed, List<Long> unsent) {
+        outboxEventRepository.deleteAllByIdInBatch(published);
+        if (!unsent.isEmpty()) {
+            outboxEventRepository.claim(unsent, null);
+        }
+        Instant now = Instant.now();
+        failed.forEach((outboxEvent, error) -> {
+            int attempts = outboxEvent.getAttempts() + 1;
+            if (attempts < maxAttempts) {
+                outboxEventRepository.recordFailure(outboxEvent.getId(), error, now.plusMillis(retryBackoffMs), null);
+                return;
+            }
+            outboxEventRepository.recordFailure(outboxEvent.getId(), error, null, now);
+            orderMetrics.countOutboxParked(outboxEvent.getEventType());
+            log.error("Parked outbox event {} ({}) for order {} after {} failed sends: {}",
+                    outboxEvent.getId(), outboxEvent.getEventType(), outboxEvent.getAggregateId(), attempts, error);
+        });
+    }
+
+    // Null when no in-flight permit frees up in time; the rest of the batch is then left unsent
+    private CompletableFuture<SendResult<String, Object>> send(OutboxEvent outboxEvent) {
+        long startNanos = System.nanoTime();
+        try {
+            inFlightSends.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (TimeoutException ex) {
+            return null;
+        }
+        try {
+            return kafkaTemplate.send(ordersTopic, outboxEvent.getAggregateId().toString(),
+                            outboxService.deserialize(outboxEvent))
+                    .whenComplete((result, ex) -> {
+                        inFlightSends.release();
+                        orderMetrics.recordSend(outboxEvent.getEventType(), startNanos, ex == null);
+                        if (ex == null) {
+                            orderMetrics.recordOutboxDelay(outboxEvent.getEventType(), outboxEvent.getCreatedAt());
+                        }
+                    });
+        } catch (Exception ex) {
+            inFlightSends.release();
+            orderMetrics.recordSend(outboxEvent.getEventType(), startNanos, false);
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    // Null once the broker acknowledged the event, otherwise why it was not
+    private String awaitSend(OutboxEvent outboxEvent, CompletableFuture<SendResult<String, Object>> send,
+                             long deadline) {
+        String error;
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            error = "Interrupted while awaiting the broker";
+        } catch (ExecutionException ex) {
+            error = ex.getCause().toString();
+        } catch (TimeoutException ex) {
+            error = "No broker acknowledgement within " + sendTimeoutMs + " ms";
+        }
+        log.error("Failed to publish outbox event {} ({}) for order {}: {}",
+                outboxEvent.getId(), outboxEvent.getEventType(), outboxEvent.getAggregateId(), error);
+        return error;
+    }
+}
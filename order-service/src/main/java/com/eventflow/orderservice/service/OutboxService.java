@@ -0,0 +1,62 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.contracts.EventRegistry;
+import com.eventflow.orderservice.model.OutboxEvent;
+import com.eventflow.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes domain events to the {@code order_outbox} table as part of the caller's transaction.
+ * Type names are the {@link EventRegistry} type ids, the same tokens the JSON type headers carry.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(UUID aggregateId, Object event) {
+        outboxEventRepository.save(toOutboxEvent(aggregateId, event));
+    }
+
+    // Keys are aggregate ids, values the events; insertion order is relay order
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(Map<UUID, ?> eventsByAggregateId) {
+        List<OutboxEvent> outboxEvents = new ArrayList<>(eventsByAggregateId.size());
+        eventsByAggregateId.forEach((aggregateId, event) -> outboxEvents.add(toOutboxEvent(aggregateId, event)));
+        outboxEventRepository.saveAll(outboxEvents);
+    }
+
+    Object deserialize(OutboxEvent outboxEvent) throws JsonProcessingException {
+        return objectMapper.readValue(outboxEvent.getPayload(),
+                EventRegistry.byTypeId(outboxEvent.getEventType()).javaType());
+    }
+
+    private OutboxEvent toOutboxEvent(UUID aggregateId, Object event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setEventType(EventRegistry.typeOf(event).typeId());
+        outboxEvent.setPayload(serialize(event));
+        return outboxEvent;
+    }
+
+    private String serialize(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Could not serialize " + event.getClass().getSimpleName(), ex);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+CREATE TABLE order_outbox (
+    id           BIGSERIAL    PRIMARY KEY,
+    aggregate_id UUID         NOT NULL,
+    event_type   VARCHAR(50)  NOT NULL,
+    payload      TEXT         NOT NULL,
+    created_at   TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
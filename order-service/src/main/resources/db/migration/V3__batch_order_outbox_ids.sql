@@ -0,0 +1,3 @@
+-- Hibernate's pooled optimizer reserves 50 ids per sequence call, so outbox rows can be
+-- JDBC-batched (IDENTITY forces one INSERT ... RETURNING per row).
+ALTER SEQUENCE order_outbox_id_seq INCREMENT BY 50;
@@ -0,0 +1,22 @@
+-- Read model for GET /api/customers/{email}/orders, maintained from the orders topic by
+-- CustomerOrderSummaryProjector. One row per customer, so a lookup is a primary-key read.
+CREATE TABLE customer_order_summaries (
+    customer_email   VARCHAR(255)   PRIMARY KEY,
+    orders_placed    BIGINT         NOT NULL,
+    orders_cancelled BIGINT         NOT NULL,
+    total_placed     NUMERIC(14, 2) NOT NULL,
+    total_cancelled  NUMERIC(14, 2) NOT NULL,
+    -- Most recent first, capped at order.customer-summary.recent-orders
+    recent_order_ids UUID[]         NOT NULL,
+    last_order_at    TIMESTAMPTZ    NOT NULL,
+    updated_at       TIMESTAMPTZ    NOT NULL
+);
+
+-- Orders the projection has applied: makes redelivered events no-ops and remembers each
+-- order's price for when it is cancelled, without reading the orders table.
+CREATE TABLE customer_order_summary_items (
+    order_id       UUID           PRIMARY KEY,
+    customer_email VARCHAR(255)   NOT NULL,
+    total_price    NUMERIC(12, 2) NOT NULL,
+    cancelled      BOOLEAN        NOT NULL DEFAULT false
+);
@@ -0,0 +1,3 @@
+-- Ids are time-ordered UUIDv7s assigned by the application (UuidV7); a random database default
+-- would only hide a missing id and scatter inserts across the primary key index.
+ALTER TABLE orders ALTER COLUMN id DROP DEFAULT;
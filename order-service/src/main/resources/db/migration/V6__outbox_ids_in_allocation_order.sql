@@ -0,0 +1,4 @@
+-- OutboxRelay publishes in id order. Ids preallocated in blocks of 50 per instance are not in
+-- insertion order across instances, so every id is taken from the sequence when it is assigned.
+-- The INSERTs are still JDBC-batched; only the nextval calls are per row.
+ALTER SEQUENCE order_outbox_id_seq INCREMENT BY 1;
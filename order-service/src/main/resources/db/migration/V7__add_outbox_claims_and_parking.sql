@@ -0,0 +1,10 @@
+-- The relay claims rows for the length of a send instead of holding a lock across it, retries
+-- failed rows after a backoff, and parks rows that exhaust outbox.relay.max-attempts.
+ALTER TABLE order_outbox
+    ADD COLUMN attempts      INT         NOT NULL DEFAULT 0,
+    ADD COLUMN claimed_until TIMESTAMPTZ,
+    ADD COLUMN parked_at     TIMESTAMPTZ,
+    ADD COLUMN last_error    TEXT;
+
+-- Finds the oldest pending event of an order, which is the only one the relay may send
+CREATE INDEX idx_order_outbox_aggregate ON order_outbox (aggregate_id, id) WHERE parked_at IS NULL;
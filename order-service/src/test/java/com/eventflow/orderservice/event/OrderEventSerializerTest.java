@@ -0,0 +1,81 @@
+package com.eventflow.orderservice.event;
+
+import com.eventflow.contracts.BinaryEventCodec;
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OrderEventSerializerTest {
+
+    @Test
+    void binaryEncoding_isNegotiatedThroughContentTypeHeader() {
+        OrderEventSerializer serializer = configuredSerializer("binary");
+        OrderPlacedEvent event = OrderPlacedEvent.of(UUID.randomUUID(), "alice@example.com", "Laptop",
+                1, new BigDecimal("999.99"));
+
+        RecordHeaders headers = new RecordHeaders();
+        byte[] data = serializer.serialize("orders", headers, event);
+
+        assertThat(OrderEventDeserializer.isBinary(headers)).isTrue();
+        assertThat(BinaryEventCodec.decode(data)).isEqualTo(event);
+        assertThat(configuredDeserializer().deserialize("orders", headers, data)).isEqualTo(event);
+    }
+
+    @Test
+    void binaryFormat_canBeHeldAtTheLegacyVersionDuringRollout() {
+        OrderEventSerializer serializer = new OrderEventSerializer();
+        serializer.configure(Map.of(OrderEventSerializer.ENCODING_CONFIG, "binary",
+                OrderEventSerializer.BINARY_FORMAT_CONFIG, "1"), false);
+        OrderCancelledEvent event = OrderCancelledEvent.of(UUID.randomUUID(), "bob@example.com", "Phone");
+
+        RecordHeaders headers = new RecordHeaders();
+        byte[] data = serializer.serialize("orders", headers, event);
+
+        assertThat(data[0]).isEqualTo(BinaryEventCodec.LEGACY_FORMAT_VERSION);
+        assertThat(configuredDeserializer().deserialize("orders", headers, data)).isEqualTo(event);
+    }
+
+    @Test
+    void binaryFormat_unknownVersion_isRejected() {
+        OrderEventSerializer serializer = new OrderEventSerializer();
+
+        assertThatThrownBy(() -> serializer.configure(Map.of(OrderEventSerializer.BINARY_FORMAT_CONFIG, "3"), false))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining(OrderEventSerializer.BINARY_FORMAT_CONFIG);
+    }
+
+    @Test
+    void jsonEncoding_isTypedWithRegistryTypeIds() {
+        OrderEventSerializer serializer = configuredSerializer("json");
+        OrderCancelledEvent event = OrderCancelledEvent.of(UUID.randomUUID(), "bob@example.com", "Phone");
+
+        RecordHeaders headers = new RecordHeaders();
+        byte[] data = serializer.serialize("orders", headers, event);
+
+        assertThat(OrderEventDeserializer.isBinary(headers)).isFalse();
+        assertThat(new String(headers.lastHeader("__TypeId__").value(), StandardCharsets.UTF_8))
+                .isEqualTo("orderCancelled");
+        assertThat(configuredDeserializer().deserialize("orders", headers, data)).isEqualTo(event);
+    }
+
+    private static OrderEventSerializer configuredSerializer(String encoding) {
+        OrderEventSerializer serializer = new OrderEventSerializer();
+        serializer.configure(Map.of(OrderEventSerializer.ENCODING_CONFIG, encoding), false);
+        return serializer;
+    }
+
+    private static OrderEventDeserializer configuredDeserializer() {
+        OrderEventDeserializer deserializer = new OrderEventDeserializer();
+        deserializer.configure(Map.of("spring.json.trusted.packages", "com.eventflow.*"), false);
+        return deserializer;
+    }
+}
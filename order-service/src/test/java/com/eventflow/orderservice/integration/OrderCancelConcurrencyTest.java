@@ -0,0 +1,111 @@
+package com.eventflow.orderservice.integration;
+
+import com.eventflow.orderservice.dto.CreateOrderRequest;
+import com.eventflow.orderservice.dto.OrderResponse;
+import com.eventflow.orderservice.model.Order;
+import com.eventflow.orderservice.model.OutboxEvent;
+import com.eventflow.orderservice.repository.OrderRepository;
+import com.eventflow.orderservice.repository.OutboxEventRepository;
+import com.eventflow.orderservice.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Races many cancels of the same orders through the service and checks that each order is
+ * cancelled, and its {@code orderCancelled} outbox row written, exactly once.
+ *
+ * <p>The database is in-memory H2 in PostgreSQL mode, with the schema generated from the
+ * entities rather than the Flyway migrations. H2's row locking is not Postgres's, so this covers
+ * the guarded update and the service's handling of the losers, not Postgres's own concurrency.
+ */
+@SpringBootTest
+@EmbeddedKafka(partitions = 1, topics = {"orders"})
+@TestPropertySource(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.datasource.url=jdbc:h2:mem:canceldb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@ActiveProfiles("test")
+@DirtiesContext
+class OrderCancelConcurrencyTest {
+
+    private static final int ORDERS = 20;
+    private static final int CANCELS_PER_ORDER = 8;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void concurrentCancels_emitExactlyOneEventPerOrder() throws Exception {
+        List<UUID> orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            OrderResponse order = orderService.placeOrder(new CreateOrderRequest(
+                    "race" + i + "@example.com", "Widget", 1, new BigDecimal("9.99")));
+            orderIds.add(order.id());
+        }
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> attempts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (UUID orderId : orderIds) {
+                for (int i = 0; i < CANCELS_PER_ORDER; i++) {
+                    attempts.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            orderService.cancelOrder(orderId);
+                            succeeded.incrementAndGet();
+                        } catch (IllegalStateException ex) {
+                            conflicted.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> attempt : attempts) {
+                attempt.get();
+            }
+        }
+
+        assertThat(succeeded).hasValue(ORDERS);
+        assertThat(conflicted).hasValue(ORDERS * (CANCELS_PER_ORDER - 1));
+
+        Map<UUID, Long> cancelEvents = outboxEventRepository.findAll().stream()
+                .filter(event -> event.getEventType().equals("orderCancelled"))
+                .collect(Collectors.groupingBy(OutboxEvent::getAggregateId, Collectors.counting()));
+        assertThat(cancelEvents).hasSize(ORDERS);
+        assertThat(cancelEvents.values()).containsOnly(1L);
+        assertThat(orderRepository.findAllById(orderIds))
+                .extracting(Order::getStatus)
+                .containsOnly(Order.OrderStatus.CANCELLED);
+    }
+}
@@ -1,7 +1,7 @@
 package com.eventflow.orderservice.integration;
 
+import com.eventflow.contracts.OrderPlacedEvent;
 import com.eventflow.orderservice.dto.CreateOrderRequest;
-import com.eventflow.orderservice.event.OrderPlacedEvent;
 import com.eventflow.orderservice.model.Order;
 import com.eventflow.orderservice.repository.OrderRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
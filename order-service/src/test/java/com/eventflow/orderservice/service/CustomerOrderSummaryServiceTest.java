@@ -0,0 +1,66 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
+import com.eventflow.orderservice.dto.CustomerOrdersResponse;
+import com.eventflow.orderservice.repository.CustomerOrderSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerOrderSummaryServiceTest {
+
+    @Mock
+    private CustomerOrderSummaryRepository summaryRepository;
+
+    private CustomerOrderSummaryService summaryService;
+
+    @BeforeEach
+    void setUp() {
+        summaryService = new CustomerOrderSummaryService(summaryRepository, 20);
+    }
+
+    @Test
+    void apply_orderPlaced_upsertsUnderNormalizedEmail() {
+        OrderPlacedEvent event = OrderPlacedEvent.of(
+                UUID.randomUUID(), " Alice@Example.com", "Laptop", 1, new BigDecimal("999.99"));
+
+        summaryService.apply(event);
+
+        verify(summaryRepository).applyPlaced(event.orderId(), "alice@example.com",
+                new BigDecimal("999.99"), event.occurredAt(), 20);
+    }
+
+    @Test
+    void apply_orderCancelled_appliesByOrderId() {
+        OrderCancelledEvent event = OrderCancelledEvent.of(UUID.randomUUID(), "alice@example.com", "Laptop");
+
+        summaryService.apply(event);
+
+        verify(summaryRepository).applyCancelled(event.orderId());
+        verify(summaryRepository, never()).applyPlaced(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getSummary_unknownCustomer_returnsEmptySummary() {
+        when(summaryRepository.findById("bob@example.com")).thenReturn(Optional.empty());
+
+        CustomerOrdersResponse response = summaryService.getSummary("Bob@Example.com");
+
+        assertThat(response.customerEmail()).isEqualTo("bob@example.com");
+        assertThat(response.ordersPlaced()).isZero();
+        assertThat(response.totalSpent()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(response.recentOrderIds()).isEmpty();
+    }
+}
@@ -0,0 +1,110 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.orderservice.dto.OrderResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OrderCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderCache orderCache = new OrderCache(100, Duration.ofMinutes(10), meterRegistry);
+
+    @Test
+    void get_loadsOnceThenServesFromCache() {
+        OrderResponse order = order(UUID.randomUUID(), "PLACED");
+        AtomicInteger loads = new AtomicInteger();
+
+        orderCache.get(order.id(), id -> { loads.incrementAndGet(); return order; });
+        OrderResponse cached = orderCache.get(order.id(), id -> { loads.incrementAndGet(); return order; });
+
+        assertThat(cached).isEqualTo(order);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "orders").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_failedLoadIsNotCached() {
+        OrderResponse order = order(UUID.randomUUID(), "PLACED");
+
+        assertThatThrownBy(() -> orderCache.get(order.id(), id -> { throw new IllegalStateException("db down"); }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("db down");
+
+        assertThat(orderCache.get(order.id(), id -> order)).isEqualTo(order);
+    }
+
+    @Test
+    void get_concurrentMissesShareOneLoad() throws Exception {
+        OrderResponse order = order(UUID.randomUUID(), "PLACED");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<OrderResponse> first = executor.submit(() -> orderCache.get(order.id(), id -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                awaitUninterruptibly(release);
+                return order;
+            }));
+            loading.await();
+            Future<OrderResponse> second = executor.submit(() -> orderCache.get(order.id(), id -> {
+                loads.incrementAndGet();
+                return order;
+            }));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(order);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(order);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidateUnlessStatus_keepsEntryAlreadyInThatStatus() {
+        OrderResponse cancelled = order(UUID.randomUUID(), "CANCELLED");
+        orderCache.putAfterCommit(cancelled); // no transaction active: applied immediately
+
+        orderCache.invalidateUnlessStatus(cancelled.id(), "CANCELLED");
+
+        assertThat(orderCache.get(cancelled.id(), id -> fail("should be cached"))).isEqualTo(cancelled);
+    }
+
+    @Test
+    void invalidateUnlessStatus_dropsStaleEntry() {
+        OrderResponse placed = order(UUID.randomUUID(), "PLACED");
+        OrderResponse reloaded = order(placed.id(), "CANCELLED");
+        orderCache.putAfterCommit(placed);
+
+        orderCache.invalidateUnlessStatus(placed.id(), "CANCELLED");
+
+        assertThat(orderCache.get(placed.id(), id -> reloaded)).isEqualTo(reloaded);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static OrderResponse order(UUID id, String status) {
+        return new OrderResponse(id, "alice@example.com", "Laptop", 1,
+                new BigDecimal("999.99"), status, Instant.now());
+    }
+}
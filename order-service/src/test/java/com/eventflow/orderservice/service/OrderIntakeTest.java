@@ -0,0 +1,91 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.orderservice.dto.CreateOrderRequest;
+import com.eventflow.orderservice.exception.OrderIntakeFullException;
+import com.eventflow.orderservice.metrics.OrderMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrderIntake orderIntake;
+
+    @BeforeEach
+    void setUp() {
+        orderIntake = new OrderIntake(orderService, new OrderMetrics(meterRegistry), 3, 500, 2);
+        // Accept without starting the writer thread; tests drain on their own thread
+        ReflectionTestUtils.setField(orderIntake, "running", true);
+    }
+
+    @Test
+    void accept_queueFull_rejectsWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            orderIntake.accept(request("alice@example.com"));
+        }
+
+        assertThatThrownBy(() -> orderIntake.accept(request("bob@example.com")))
+                .isInstanceOf(OrderIntakeFullException.class)
+                .extracting("retryAfterSeconds").isEqualTo(2L);
+        assertThat(meterRegistry.get("eventflow.order.intake").tag("outcome", "rejected").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drain_writesEverythingQueuedInOneTransaction() {
+        UUID first = orderIntake.accept(request("alice@example.com"));
+        UUID second = orderIntake.accept(request("bob@example.com"));
+        ReflectionTestUtils.setField(orderIntake, "running", false);
+
+        orderIntake.drain();
+
+        ArgumentCaptor<List<AcceptedOrder>> captor = ArgumentCaptor.forClass(List.class);
+        verify(orderService).placeAcceptedOrders(captor.capture());
+        assertThat(captor.getValue()).extracting(AcceptedOrder::id).containsExactly(first, second);
+    }
+
+    @Test
+    void drain_batchKeepsFailing_writesOrdersOneByOneAndDropsTheBadOne() {
+        UUID good = orderIntake.accept(request("alice@example.com"));
+        UUID bad = orderIntake.accept(request("bob@example.com"));
+        ReflectionTestUtils.setField(orderIntake, "running", false);
+
+        when(orderService.placeAcceptedOrders(anyList())).thenAnswer(inv -> {
+            List<AcceptedOrder> batch = inv.getArgument(0);
+            if (batch.stream().anyMatch(order -> order.id().equals(bad))) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return List.of();
+        });
+
+        orderIntake.drain();
+
+        verify(orderService).placeAcceptedOrders(argThat(batch -> batch.size() == 1 && batch.get(0).id().equals(good)));
+        assertThat(meterRegistry.get("eventflow.order.intake").tag("outcome", "dropped").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private static CreateOrderRequest request(String email) {
+        return new CreateOrderRequest(email, "Laptop", 1, new BigDecimal("999.99"));
+    }
+}
@@ -1,26 +1,28 @@
 package com.eventflow.orderservice.service;
 
+import com.eventflow.contracts.OrderCancelledEvent;
+import com.eventflow.contracts.OrderPlacedEvent;
 import com.eventflow.orderservice.dto.CreateOrderRequest;
 import com.eventflow.orderservice.dto.OrderResponse;
-import com.eventflow.orderservice.event.OrderCancelledEvent;
-import com.eventflow.orderservice.event.OrderPlacedEvent;
 import com.eventflow.orderservice.exception.OrderNotFoundException;
+import com.eventflow.orderservice.metrics.OrderMetrics;
 import com.eventflow.orderservice.model.Order;
 import com.eventflow.orderservice.repository.OrderRepository;
-import org.junit.jupiter.api.BeforeEach;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,18 +35,21 @@ class OrderServiceTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private OutboxService outboxService;
+
+    @Mock
+    private OrderCache orderCache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
 
     @InjectMocks
     private OrderService orderService;
 
-    @BeforeEach
-    void setUp() {
-        ReflectionTestUtils.setField(orderService, "ordersTopic", "orders");
-    }
-
     @Test
-    void placeOrder_persistsOrderAndPublishesEvent() {
+    void placeOrder_persistsOrderAndAppendsEventToOutbox() {
         // Arrange
         CreateOrderRequest request = new CreateOrderRequest(
                 "alice@example.com", "Laptop", 1, new BigDecimal("999.99"));
@@ -57,7 +62,6 @@ class OrderServiceTest {
         savedOrder.setTotalPrice(request.totalPrice());
 
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         OrderResponse response = orderService.placeOrder(request);
@@ -67,29 +71,70 @@ class OrderServiceTest {
         assertThat(response.status()).isEqualTo("PLACED");
 
         ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
-        verify(kafkaTemplate).send(eq("orders"), eq(savedOrder.getId().toString()), eventCaptor.capture());
+        verify(outboxService).append(eq(savedOrder.getId()), eventCaptor.capture());
         assertThat(eventCaptor.getValue()).isInstanceOf(OrderPlacedEvent.class);
 
         OrderPlacedEvent event = (OrderPlacedEvent) eventCaptor.getValue();
         assertThat(event.customerEmail()).isEqualTo("alice@example.com");
         assertThat(event.productName()).isEqualTo("Laptop");
+        verify(orderCache).putAfterCommit(response);
+        assertThat(meterRegistry.get("eventflow.order.persist").tag("operation", "place").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void placeOrders_savesAllInOneCallAndAppendsEventsInOrder() {
+        List<CreateOrderRequest> requests = List.of(
+                new CreateOrderRequest("alice@example.com", "Laptop", 1, new BigDecimal("999.99")),
+                new CreateOrderRequest("bob@example.com", "Phone", 2, new BigDecimal("599.00")));
+
+        when(orderRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Order> orders = inv.getArgument(0);
+            orders.forEach(order -> order.setId(UUID.randomUUID()));
+            return orders;
+        });
+
+        List<OrderResponse> responses = orderService.placeOrders(requests);
+
+        assertThat(responses).extracting(OrderResponse::customerEmail)
+                .containsExactly("alice@example.com", "bob@example.com");
+
+        ArgumentCaptor<Map<UUID, OrderPlacedEvent>> eventsCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(outboxService).appendAll(eventsCaptor.capture());
+        assertThat(eventsCaptor.getValue().keySet())
+                .containsExactly(responses.get(0).id(), responses.get(1).id());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void placeAcceptedOrders_keepsPreAllocatedIds() {
+        UUID id = UUID.randomUUID();
+        AcceptedOrder accepted = new AcceptedOrder(id,
+                new CreateOrderRequest("alice@example.com", "Laptop", 1, new BigDecimal("999.99")));
+
+        when(orderRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<OrderResponse> responses = orderService.placeAcceptedOrders(List.of(accepted));
+
+        assertThat(responses).extracting(OrderResponse::id).containsExactly(id);
+        verify(outboxService).appendAll(argThat(events -> events.containsKey(id)));
     }
 
     @Test
-    void cancelOrder_updatesStatusAndPublishesCancelEvent() {
+    void cancelOrder_updatesStatusAndAppendsCancelEventToOutbox() {
         // Arrange
         UUID orderId = UUID.randomUUID();
-        Order existingOrder = new Order();
-        existingOrder.setId(orderId);
-        existingOrder.setCustomerEmail("bob@example.com");
-        existingOrder.setProductName("Phone");
-        existingOrder.setQuantity(2);
-        existingOrder.setTotalPrice(new BigDecimal("599.00"));
-        existingOrder.setStatus(Order.OrderStatus.PLACED);
-
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
-        when(orderRepository.save(any(Order.class))).thenReturn(existingOrder);
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        Order cancelledOrder = new Order();
+        cancelledOrder.setId(orderId);
+        cancelledOrder.setCustomerEmail("bob@example.com");
+        cancelledOrder.setProductName("Phone");
+        cancelledOrder.setQuantity(2);
+        cancelledOrder.setTotalPrice(new BigDecimal("599.00"));
+        cancelledOrder.setStatus(Order.OrderStatus.CANCELLED);
+
+        when(orderRepository.cancelIfPlaced(eq(orderId), any())).thenReturn(1);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(cancelledOrder));
 
         // Act
         OrderResponse response = orderService.cancelOrder(orderId);
@@ -98,27 +143,39 @@ class OrderServiceTest {
         assertThat(response.status()).isEqualTo("CANCELLED");
 
         ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
-        verify(kafkaTemplate).send(eq("orders"), eq(orderId.toString()), eventCaptor.capture());
+        verify(outboxService).append(eq(orderId), eventCaptor.capture());
         assertThat(eventCaptor.getValue()).isInstanceOf(OrderCancelledEvent.class);
+        verify(orderCache).putAfterCommit(response);
+        verify(orderRepository, never()).save(any());
     }
 
     @Test
     void cancelOrder_alreadyCancelled_throwsIllegalStateException() {
         UUID orderId = UUID.randomUUID();
-        Order order = new Order();
-        order.setId(orderId);
-        order.setStatus(Order.OrderStatus.CANCELLED);
-
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.cancelIfPlaced(eq(orderId), any())).thenReturn(0);
+        when(orderRepository.existsById(orderId)).thenReturn(true);
 
         assertThatThrownBy(() -> orderService.cancelOrder(orderId))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("already cancelled");
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void cancelOrder_unknownOrder_throwsOrderNotFoundException() {
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.cancelIfPlaced(eq(orderId), any())).thenReturn(0);
+        when(orderRepository.existsById(orderId)).thenReturn(false);
+
+        assertThatThrownBy(() -> orderService.cancelOrder(orderId))
+                .isInstanceOf(OrderNotFoundException.class);
     }
 
     @Test
     void getOrder_notFound_throwsOrderNotFoundException() {
         UUID missingId = UUID.randomUUID();
+        when(orderCache.get(eq(missingId), any())).thenAnswer(inv ->
+                inv.<Function<UUID, OrderResponse>>getArgument(1).apply(missingId));
         when(orderRepository.findById(missingId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.getOrder(missingId))
@@ -0,0 +1,126 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.orderservice.dto.OrderStatusEvent;
+import com.eventflow.orderservice.exception.StreamFullException;
+import com.eventflow.orderservice.metrics.OrderMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OrderStatusStreamTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderStatusStream stream =
+            new OrderStatusStream(4, 3, Duration.ofMinutes(1), new OrderMetrics(meterRegistry));
+
+    @AfterEach
+    void tearDown() {
+        stream.destroy();
+    }
+
+    @Test
+    void publish_reachesOrderAndCustomerSubscribersInOrder() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        BlockingQueue<Object> byOrder = new LinkedBlockingQueue<>();
+        BlockingQueue<Object> byCustomer = new LinkedBlockingQueue<>();
+        BlockingQueue<Object> otherOrder = new LinkedBlockingQueue<>();
+        stream.subscribe(orderId, byOrder::add, () -> {});
+        stream.subscribe("alice@example.com", byCustomer::add, () -> {});
+        stream.subscribe(UUID.randomUUID(), otherOrder::add, () -> {});
+
+        OrderStatusEvent placed = event(orderId, "Alice@Example.com", "PLACED");
+        OrderStatusEvent cancelled = event(orderId, "Alice@Example.com", "CANCELLED");
+        stream.publish(placed);
+        stream.publish(cancelled);
+
+        assertThat(List.of(take(byOrder), take(byOrder))).containsExactly(placed, cancelled);
+        assertThat(List.of(take(byCustomer), take(byCustomer))).containsExactly(placed, cancelled);
+        assertThat(otherOrder.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void publish_slowSubscriber_isEvictedWithoutHoldingUpOthers() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch stuck = new CountDownLatch(1);
+        AtomicBoolean evicted = new AtomicBoolean();
+        BlockingQueue<Object> fast = new LinkedBlockingQueue<>();
+        stream.subscribe(orderId, item -> {
+            writing.countDown();
+            try {
+                stuck.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, () -> evicted.set(true));
+        stream.subscribe(orderId, fast::add, () -> {});
+
+        // Both writers running, the slow one blocked on the first event
+        stream.publish(event(orderId, "bob@example.com", "PLACED"));
+        assertThat(take(fast)).isNotNull();
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Four fit in the slow buffer, the fifth does not; the fast one keeps up throughout
+        for (int i = 0; i < 5; i++) {
+            stream.publish(event(orderId, "bob@example.com", "PLACED"));
+            assertThat(take(fast)).isNotNull();
+        }
+
+        assertThat(evicted).isTrue();
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("eventflow.order.stream.evicted").counter().count()).isEqualTo(1.0);
+        stuck.countDown();
+    }
+
+    @Test
+    void subscribeToOrder_snapshotFails_freesTheSlot() {
+        UUID orderId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> stream.subscribeToOrder(orderId, () -> {
+            throw new IllegalStateException("no such order");
+        })).hasMessage("no such order");
+        assertThat(stream.subscriberCount()).isZero();
+    }
+
+    @Test
+    void subscribe_beyondLimit_isRejected() {
+        for (int i = 0; i < 3; i++) {
+            stream.subscribe(UUID.randomUUID(), item -> {}, () -> {});
+        }
+
+        assertThatThrownBy(() -> stream.subscribe(UUID.randomUUID(), item -> {}, () -> {}))
+                .isInstanceOf(StreamFullException.class);
+        assertThat(stream.subscriberCount()).isEqualTo(3);
+    }
+
+    @Test
+    void unsubscribe_freesTheSlot() {
+        UUID orderId = UUID.randomUUID();
+        OrderStatusStream.Subscription subscription = stream.subscribe(orderId, item -> {}, () -> {});
+
+        stream.unsubscribe(orderId, subscription);
+        stream.unsubscribe(orderId, subscription);
+
+        assertThat(stream.subscriberCount()).isZero();
+    }
+
+    private static OrderStatusEvent event(UUID orderId, String email, String status) {
+        return new OrderStatusEvent(orderId, email, status, Instant.now());
+    }
+
+    private static Object take(BlockingQueue<Object> queue) throws InterruptedException {
+        return queue.poll(5, TimeUnit.SECONDS);
+    }
+}
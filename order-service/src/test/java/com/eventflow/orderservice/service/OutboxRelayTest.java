@@ -0,0 +1,169 @@
+package com.eventflow.orderservice.service;
+
+import com.eventflow.orderservice.metrics.OrderMetrics;
+import com.eventflow.orderservice.model.OutboxEvent;
+import com.eventflow.orderservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private InFlightSends inFlightSends;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OrderMetrics orderMetrics;
+
+    @InjectMocks
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxRelay, "ordersTopic", "orders");
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 10);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(outboxRelay, "claimTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(outboxRelay, "retryBackoffMs", 500L);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 3);
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void relayBatch_claimsSendsFlushesOnceAndDeletesAcknowledgedRows() throws Exception {
+        OutboxEvent first = outboxEvent(1L, UUID.randomUUID(), 0);
+        OutboxEvent second = outboxEvent(2L, UUID.randomUUID(), 0);
+
+        when(outboxEventRepository.tryAdvisoryLock(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findClaimable(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(outboxService.deserialize(any())).thenReturn("event");
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        int relayed = outboxRelay.relayBatch();
+
+        assertThat(relayed).isEqualTo(2);
+        verify(outboxEventRepository).claim(eq(List.of(1L, 2L)), any(Instant.class));
+        verify(kafkaTemplate).send("orders", first.getAggregateId().toString(), "event");
+        verify(kafkaTemplate).send("orders", second.getAggregateId().toString(), "event");
+        verify(kafkaTemplate).flush();
+        verify(inFlightSends, times(2)).release();
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository, never()).recordFailure(any(), any(), any(), any());
+    }
+
+    @Test
+    void relayBatch_noSendPermit_releasesClaimWithoutCountingAnAttempt() throws Exception {
+        OutboxEvent event = outboxEvent(1L, UUID.randomUUID(), 0);
+
+        when(outboxEventRepository.tryAdvisoryLock(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findClaimable(any(Instant.class), any(Pageable.class))).thenReturn(List.of(event));
+        doThrow(new TimeoutException("No Kafka send permit")).when(inFlightSends).acquire();
+
+        int relayed = outboxRelay.relayBatch();
+
+        assertThat(relayed).isZero();
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+        verify(inFlightSends, never()).release();
+        verify(outboxEventRepository).claim(List.of(1L), null);
+        verify(outboxEventRepository, never()).recordFailure(any(), any(), any(), any());
+    }
+
+    @Test
+    void relayBatch_failedSend_isRetriedAfterBackoffWhileOthersAreDeleted() throws Exception {
+        OutboxEvent failed = outboxEvent(1L, UUID.randomUUID(), 0);
+        OutboxEvent healthy = outboxEvent(2L, UUID.randomUUID(), 0);
+
+        when(outboxEventRepository.tryAdvisoryLock(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findClaimable(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(failed, healthy));
+        when(outboxService.deserialize(any())).thenReturn("event");
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        Instant before = Instant.now();
+        int relayed = outboxRelay.relayBatch();
+
+        assertThat(relayed).isEqualTo(1);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(2L));
+        verify(outboxEventRepository).recordFailure(eq(1L), contains("broker down"),
+                argThat(retryAt -> !retryAt.isBefore(before.plusMillis(500))), isNull());
+        verify(orderMetrics, never()).countOutboxParked(any());
+    }
+
+    @Test
+    void relayBatch_failedSendOnLastAttempt_parksEvent() throws Exception {
+        OutboxEvent poison = outboxEvent(1L, UUID.randomUUID(), 2);
+
+        when(outboxEventRepository.tryAdvisoryLock(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findClaimable(any(Instant.class), any(Pageable.class))).thenReturn(List.of(poison));
+        when(outboxService.deserialize(any())).thenReturn("event");
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("record too large")));
+
+        int relayed = outboxRelay.relayBatch();
+
+        assertThat(relayed).isZero();
+        verify(outboxEventRepository).recordFailure(eq(1L), contains("record too large"), isNull(), any(Instant.class));
+        verify(orderMetrics).countOutboxParked("orderPlaced");
+    }
+
+    @Test
+    void relayBatch_lockHeldByAnotherInstance_claimsAndSendsNothing() {
+        when(outboxEventRepository.tryAdvisoryLock(anyLong())).thenReturn(false);
+
+        assertThat(outboxRelay.relayBatch()).isZero();
+        verify(outboxEventRepository, never()).findClaimable(any(), any());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private static OutboxEvent outboxEvent(Long id, UUID aggregateId, int attempts) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setId(id);
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setEventType("orderPlaced");
+        outboxEvent.setPayload("{}");
+        outboxEvent.setAttempts(attempts);
+        return outboxEvent;
+    }
+}